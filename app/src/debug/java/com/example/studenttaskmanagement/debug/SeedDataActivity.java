@@ -0,0 +1,114 @@
+package com.example.studenttaskmanagement.debug;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.seed.SyntheticDataGenerator;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Debug-build screen that fills the database with synthetic data.
+ *
+ * Started from adb with optional extras {@code tasks}, {@code sessions}, {@code users} and
+ * {@code seed}; when {@code tasks} is given the data is generated immediately.
+ */
+public class SeedDataActivity extends AppCompatActivity {
+
+    private static final String TAG = "SeedDataActivity";
+
+    public static final String EXTRA_TASKS = "tasks";
+    public static final String EXTRA_SESSIONS = "sessions";
+    public static final String EXTRA_USERS = "users";
+    public static final String EXTRA_SEED = "seed";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private TextView textStatus;
+    private boolean running = false;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        LinearLayout root = new LinearLayout(this);
+        root.setOrientation(LinearLayout.VERTICAL);
+        int padding = (int) (16 * getResources().getDisplayMetrics().density);
+        root.setPadding(padding, padding, padding, padding);
+
+        textStatus = new TextView(this);
+        textStatus.setText("Adds synthetic rows to the current database.");
+        root.addView(textStatus);
+
+        addPresetButton(root, "1k tasks / 10k sessions", 1_000, 10_000);
+        addPresetButton(root, "10k tasks / 100k sessions", 10_000, 100_000);
+        addPresetButton(root, "100k tasks / 1M sessions", 100_000, 1_000_000);
+
+        setContentView(root);
+
+        if (getIntent().hasExtra(EXTRA_TASKS)) {
+            int tasks = getIntent().getIntExtra(EXTRA_TASKS, 0);
+            int sessions = getIntent().getIntExtra(EXTRA_SESSIONS, tasks * 10);
+            int users = getIntent().getIntExtra(EXTRA_USERS, 0);
+            long seed = getIntent().getLongExtra(EXTRA_SEED, 42L);
+            generate(new SyntheticDataGenerator.Spec(users, tasks, sessions, 0.25D), seed);
+        }
+    }
+
+    private void addPresetButton(LinearLayout root, String label, int tasks, int sessions) {
+        Button button = new Button(this);
+        button.setText(label);
+        button.setOnClickListener(v -> generate(SyntheticDataGenerator.Spec.of(tasks, sessions), 42L));
+        root.addView(button, new LinearLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT
+        ));
+    }
+
+    private void generate(SyntheticDataGenerator.Spec spec, long seed) {
+        if (running) return;
+        running = true;
+        textStatus.setText("Generating...");
+
+        executor.execute(() -> {
+            String message;
+            try {
+                SyntheticDataGenerator.Result result = new SyntheticDataGenerator(seed).generate(
+                        AppDatabaseHelper.getInstance(getApplicationContext()).getWritableDatabase(),
+                        spec,
+                        System.currentTimeMillis()
+                );
+                message = "Inserted " + result;
+                Log.i(TAG, message);
+            } catch (Exception e) {
+                Log.e(TAG, "Seeding failed", e);
+                message = "Seeding failed: " + e.getMessage();
+            }
+
+            String finalMessage = message;
+            mainHandler.post(() -> {
+                running = false;
+                if (!isFinishing() && !isDestroyed()) {
+                    textStatus.setText(finalMessage);
+                }
+            });
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        executor.shutdown();
+    }
+}
@@ -16,7 +16,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studenttaskmanagement.R;
 import com.example.studenttaskmanagement.auth.SessionManager;
-import com.example.studenttaskmanagement.database.dao.PriorityDao;
+import com.example.studenttaskmanagement.database.dao.ReferenceDataCache;
 import com.example.studenttaskmanagement.database.dao.TaskDao;
 import com.example.studenttaskmanagement.database.dao.TaskNotificationDao;
 import com.example.studenttaskmanagement.model.Priority;
@@ -55,7 +55,6 @@ public class AddTaskActivity extends AppCompatActivity {
     private Button buttonSaveTask;
 
     private TaskDao taskDao;
-    private PriorityDao priorityDao;
     private TaskNotificationDao taskNotificationDao;
     private SessionManager sessionManager;
     private List<Priority> priorities;
@@ -80,7 +79,6 @@ public class AddTaskActivity extends AppCompatActivity {
         }
 
         taskDao = new TaskDao(this);
-        priorityDao = new PriorityDao(this);
         taskNotificationDao = new TaskNotificationDao(this);
         sessionManager = new SessionManager(this);
 
@@ -102,7 +100,7 @@ public class AddTaskActivity extends AppCompatActivity {
 
 
     private void setupPrioritySpinner() {
-        priorities = priorityDao.getAllPriorities();
+        priorities = ReferenceDataCache.get(this).getPriorities();
 
         String[] labels;
         if (priorities == null || priorities.isEmpty()) {
@@ -14,7 +14,7 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studenttaskmanagement.R;
-import com.example.studenttaskmanagement.database.dao.PriorityDao;
+import com.example.studenttaskmanagement.database.dao.ReferenceDataCache;
 import com.example.studenttaskmanagement.database.dao.TaskDao;
 import com.example.studenttaskmanagement.database.dao.TaskNotificationDao;
 import com.example.studenttaskmanagement.model.Priority;
@@ -52,7 +52,6 @@ public class EditTaskActivity extends AppCompatActivity {
     private MaterialButton buttonUpdateTask;
 
     private TaskDao taskDao;
-    private PriorityDao priorityDao;
     private TaskNotificationDao taskNotificationDao;
     private long taskId = -1L;
     private Task currentTask;
@@ -78,7 +77,6 @@ public class EditTaskActivity extends AppCompatActivity {
         }
 
         taskDao = new TaskDao(this);
-        priorityDao = new PriorityDao(this);
         taskNotificationDao = new TaskNotificationDao(this);
 
         bindViews();
@@ -113,7 +111,7 @@ public class EditTaskActivity extends AppCompatActivity {
 
 
     private void setupPrioritySpinner() {
-        priorities = priorityDao.getAllPriorities();
+        priorities = ReferenceDataCache.get(this).getPriorities();
 
         String[] labels;
         if (priorities == null || priorities.isEmpty()) {
@@ -6,6 +6,7 @@ import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studenttaskmanagement.auth.SessionManager;
+import com.example.studenttaskmanagement.startup.AppStartup;
 
 public class LauncherActivity extends AppCompatActivity {
 
@@ -13,6 +14,9 @@ public class LauncherActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
+        // Open the database while the next activity is being created.
+        AppStartup.getInstance().prewarmDatabase(this);
+
         SessionManager sessionManager = new SessionManager(this);
         Class<?> destination = sessionManager.isLoggedIn() ? MainActivity.class : LoginActivity.class;
 
@@ -2,8 +2,6 @@ package com.example.studenttaskmanagement.activities;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -21,19 +19,27 @@ import androidx.core.splashscreen.SplashScreen;
 
 import com.example.studenttaskmanagement.R;
 import com.example.studenttaskmanagement.auth.SessionManager;
+import com.example.studenttaskmanagement.database.ObservableQuery;
 import com.example.studenttaskmanagement.database.dao.StudySessionDao;
 import com.example.studenttaskmanagement.database.dao.TaskDao;
-import com.example.studenttaskmanagement.notifications.NotificationStartup;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
 import com.example.studenttaskmanagement.presentation.dashboard.DashboardKpiCard;
+import com.example.studenttaskmanagement.presentation.dashboard.DashboardSnapshotStore;
+import com.example.studenttaskmanagement.presentation.dashboard.DashboardTrend;
 import com.example.studenttaskmanagement.presentation.dashboard.DashboardUiState;
 import com.example.studenttaskmanagement.presentation.dashboard.DashboardViewModel;
 import com.example.studenttaskmanagement.presentation.dashboard.ProjectCompletionForecast;
+import com.example.studenttaskmanagement.presentation.dashboard.StudyHeatmap;
+import com.example.studenttaskmanagement.startup.AppStartup;
+import com.example.studenttaskmanagement.utils.WeekTimeUtils;
+import com.example.studenttaskmanagement.views.StudyHeatmapView;
+import com.example.studenttaskmanagement.views.TrendChartView;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
+import com.google.android.material.button.MaterialButtonToggleGroup;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Locale;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -51,29 +57,42 @@ public class MainActivity extends AppCompatActivity {
 
     private TextView textForecastCompletion;
     private TextView textForecastEta;
+    private TextView textForecastVelocity;
     private TextView textForecastRisk;
 
+    private MaterialButtonToggleGroup toggleTrendGranularity;
+    private TrendChartView chartTrendMinutes;
+    private TrendChartView chartTrendSessions;
+    private TrendChartView chartTrendCompletion;
+    private ObservableQuery<DashboardTrend> trendQuery;
+
+    private TextView textHeatmapSummary;
+    private StudyHeatmapView heatmapStudyActivity;
+
     private DashboardViewModel dashboardViewModel;
+    private DashboardSnapshotStore dashboardSnapshotStore;
     private SessionManager sessionManager;
 
-    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor();
-    private final Handler mainHandler = new Handler(Looper.getMainLooper());
-
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         SplashScreen.installSplashScreen(this);
         super.onCreate(savedInstanceState);
+        // Usually already started by LauncherActivity; covers launches straight into this screen.
+        AppStartup.getInstance().prewarmDatabase(this);
         setContentView(R.layout.activity_main);
 
-        NotificationStartup.initialize(getApplicationContext());
+        // Notification channel and WorkManager schedules are not needed for the first frame.
+        AppStartup.getInstance().runAfterFirstFrame(this);
         sessionManager = new SessionManager(this);
 
         bindViews();
         setupToolbar();
         setupActions();
 
-        showDashboardLoading("Loading dashboard...");
-        initDashboard();
+        showCachedDashboard();
+        observeDashboard();
+        observeTrend();
+        observeHeatmap();
     }
 
     private void bindViews() {
@@ -87,8 +106,19 @@ public class MainActivity extends AppCompatActivity {
 
         textForecastCompletion = findViewById(R.id.textForecastCompletion);
         textForecastEta = findViewById(R.id.textForecastEta);
+        textForecastVelocity = findViewById(R.id.textForecastVelocity);
         textForecastRisk = findViewById(R.id.textForecastRisk);
 
+        toggleTrendGranularity = findViewById(R.id.toggleTrendGranularity);
+        chartTrendMinutes = findViewById(R.id.chartTrendMinutes);
+        chartTrendSessions = findViewById(R.id.chartTrendSessions);
+        chartTrendCompletion = findViewById(R.id.chartTrendCompletion);
+        chartTrendMinutes.setValueFormat("%.0f min");
+        chartTrendCompletion.setValueFormat("%.0f%%");
+
+        textHeatmapSummary = findViewById(R.id.textHeatmapSummary);
+        heatmapStudyActivity = findViewById(R.id.heatmapStudyActivity);
+
         dashboardLabelViews = new TextView[]{
                 findViewById(R.id.textCard1Label),
                 findViewById(R.id.textCard2Label),
@@ -120,36 +150,94 @@ public class MainActivity extends AppCompatActivity {
         buttonSeeAllTasks.setOnClickListener(v -> startActivity(new Intent(this, TasksActivity.class)));
     }
 
-    private void initDashboard() {
-        dbExecutor.execute(() -> {
-            try {
-                dashboardViewModel = new DashboardViewModel(
-                        new StudySessionDao(getApplicationContext()),
-                        new TaskDao(getApplicationContext())
-                );
-                DashboardUiState dashboardUiState = dashboardViewModel.loadWeeklySummary(sessionManager.getLoggedInUserId());
-
-                mainHandler.post(() -> {
-                    renderDashboardState(dashboardUiState);
-                    setDebug("Dashboard loaded");
-                });
-            } catch (Throwable t) {
-                Log.e(TAG, "Dashboard load failed", t);
-                mainHandler.post(() -> {
-                    showDashboardError("Could not load weekly dashboard.");
-                    setDebug("Dashboard error: " + t.getClass().getSimpleName());
+    /**
+     * Renders the last saved dashboard for this week, if any, while the first real load runs.
+     */
+    private void showCachedDashboard() {
+        dashboardSnapshotStore = new DashboardSnapshotStore(getApplicationContext());
+        DashboardUiState cached = dashboardSnapshotStore.load(
+                sessionManager.getLoggedInUserId(),
+                WeekTimeUtils.getCurrentWeekRange().getStartMillis()
+        );
+        if (cached == null) {
+            showDashboardLoading("Loading dashboard...");
+            return;
+        }
+        renderDashboardState(cached);
+        AppStartup.getInstance().onDashboardShown();
+        setDebug("Dashboard restored from snapshot");
+    }
+
+    /**
+     * The weekly summary re-loads in the background whenever tasks or study sessions change,
+     * so returning from other screens does not need a manual refresh.
+     */
+    private void observeDashboard() {
+        dashboardViewModel = new DashboardViewModel(
+                new StudySessionDao(getApplicationContext()),
+                new TaskDao(getApplicationContext())
+        );
+        dashboardViewModel.observeWeeklySummary(sessionManager.getLoggedInUserId())
+                .observe(this, new ObservableQuery.Observer<DashboardUiState>() {
+                    @Override
+                    public void onChanged(DashboardUiState dashboardUiState) {
+                        renderDashboardState(dashboardUiState);
+                        AppStartup.getInstance().onDashboardShown();
+                        dashboardSnapshotStore.saveAsync(sessionManager.getLoggedInUserId(), dashboardUiState);
+                        setDebug("Dashboard loaded");
+                    }
+
+                    @Override
+                    public void onError(@NonNull Throwable t) {
+                        Log.e(TAG, "Dashboard load failed", t);
+                        showDashboardError("Could not load weekly dashboard.");
+                        setDebug("Dashboard error: " + t.getClass().getSimpleName());
+                    }
                 });
+    }
+
+    /**
+     * Loaded after the weekly summary (same query thread), so it never delays the first dashboard.
+     */
+    private void observeTrend() {
+        trendQuery = dashboardViewModel.observeTrend();
+        trendQuery.observe(this, new ObservableQuery.Observer<DashboardTrend>() {
+            @Override
+            public void onChanged(DashboardTrend trend) {
+                chartTrendMinutes.setData(trend.getFocusedMinutes(), trend.getLabels());
+                chartTrendSessions.setData(trend.getSessionCounts(), trend.getLabels());
+                chartTrendCompletion.setData(trend.getCompletionPercents(), trend.getLabels());
+            }
+
+            @Override
+            public void onError(@NonNull Throwable t) {
+                Log.e(TAG, "Trend load failed", t);
             }
         });
+
+        toggleTrendGranularity.addOnButtonCheckedListener((group, checkedId, isChecked) -> {
+            if (!isChecked) return;
+            dashboardViewModel.setTrendGranularity(checkedId == R.id.buttonTrendMonths
+                    ? DashboardTrend.Granularity.MONTHS
+                    : DashboardTrend.Granularity.WEEKS);
+            trendQuery.refresh();
+        });
     }
 
-    @Override
-    protected void onResume() {
-        super.onResume();
-        if (dashboardViewModel != null) {
-            showDashboardLoading("Refreshing dashboard...");
-            initDashboard();
-        }
+    private void observeHeatmap() {
+        dashboardViewModel.observeHeatmap().observe(this, new ObservableQuery.Observer<StudyHeatmap>() {
+            @Override
+            public void onChanged(StudyHeatmap heatmap) {
+                textHeatmapSummary.setText(String.format(Locale.getDefault(),
+                        "%d min over %d days in the last year", heatmap.getTotalMinutes(), heatmap.getActiveDays()));
+                heatmapStudyActivity.setData(heatmap.getDailyMinutes(), heatmap.getLeadingEmptyDays());
+            }
+
+            @Override
+            public void onError(@NonNull Throwable t) {
+                Log.e(TAG, "Heatmap load failed", t);
+            }
+        });
     }
 
     @Override
@@ -184,6 +272,7 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void logout() {
+        dashboardSnapshotStore.clear();
         sessionManager.logout();
         Intent intent = new Intent(this, LoginActivity.class);
         intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
@@ -220,13 +309,19 @@ public class MainActivity extends AppCompatActivity {
         if (forecast == null) {
             textForecastCompletion.setText("Current completion: --");
             textForecastEta.setText("Estimated completion date: --");
+            textForecastVelocity.setText("Velocity: --");
             textForecastRisk.setText("Risk: --");
             textForecastRisk.setTextColor(ContextCompat.getColor(this, android.R.color.darker_gray));
             return;
         }
 
         textForecastCompletion.setText("Current completion: " + forecast.getCompletionPercentText());
-        textForecastEta.setText("Estimated completion date: " + forecast.getEstimatedCompletionDateText());
+        String eta = "Estimated completion date: " + forecast.getEstimatedCompletionDateText();
+        if (forecast.getEstimatedRangeText() != null) {
+            eta += "\n(likely " + forecast.getEstimatedRangeText() + ")";
+        }
+        textForecastEta.setText(eta);
+        textForecastVelocity.setText("Velocity: " + forecast.getVelocityText());
 
         if (forecast.isAtRisk()) {
             textForecastRisk.setText("At risk");
@@ -295,12 +390,8 @@ public class MainActivity extends AppCompatActivity {
 
     private void setDebug(String msg) {
         Log.d(TAG, msg);
-        textDebug.setText(msg);
-    }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        dbExecutor.shutdown();
+        textDebug.setText(msg
+                + "\n" + AppStartup.getInstance().getSummary()
+                + "\n" + QueryMetrics.getInstance().getSummary());
     }
 }
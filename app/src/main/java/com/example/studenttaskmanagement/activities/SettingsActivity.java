@@ -3,8 +3,17 @@ package com.example.studenttaskmanagement.activities;
 import android.Manifest;
 import android.content.pm.PackageManager;
 import android.content.Intent;
+import android.database.Cursor;
+import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.OperationCanceledException;
+import android.provider.DocumentsContract;
+import android.provider.OpenableColumns;
+import android.util.Log;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.AdapterView;
@@ -16,26 +25,82 @@ import android.widget.Toast;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
 import com.example.studenttaskmanagement.R;
 import com.example.studenttaskmanagement.auth.SessionManager;
+import com.example.studenttaskmanagement.backup.DatabaseBackupManager;
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
 import com.example.studenttaskmanagement.notifications.NotificationPreferences;
 import com.example.studenttaskmanagement.notifications.NotificationStartup;
+import com.example.studenttaskmanagement.presentation.dashboard.DashboardSnapshotStore;
+import com.example.studenttaskmanagement.transfer.ImportCheckpointStore;
+import com.example.studenttaskmanagement.transfer.TaskDataExporter;
+import com.example.studenttaskmanagement.transfer.TaskDataImporter;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.materialswitch.MaterialSwitch;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class SettingsActivity extends AppCompatActivity {
 
+    private static final String TAG = "SettingsActivity";
+
     private MaterialSwitch switchTaskReminders;
     private Spinner spinnerDefaultLead;
     private TextView textReminderStatus;
     private MaterialButton buttonLogout;
+    private MaterialButton buttonExportData;
+    private MaterialButton buttonImportData;
+    private MaterialButton buttonBackupDatabase;
+    private MaterialButton buttonRestoreDatabase;
+    private MaterialButton buttonExportQueryMetrics;
+    private TextView textTransferStatus;
 
     private boolean isBinding = false;
 
+    private final ExecutorService transferExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private CancellationSignal transferCancellation;
+    private TaskDataImporter.ConflictStrategy pendingImportStrategy = TaskDataImporter.ConflictStrategy.KEEP_EXISTING;
+
+    private final ActivityResultLauncher<String> exportJsonLauncher =
+            registerForActivityResult(
+                    new ActivityResultContracts.CreateDocument(TaskDataExporter.Format.JSON.getMimeType()),
+                    uri -> startExport(uri, TaskDataExporter.Format.JSON)
+            );
+
+    private final ActivityResultLauncher<String> exportCsvLauncher =
+            registerForActivityResult(
+                    new ActivityResultContracts.CreateDocument(TaskDataExporter.Format.CSV.getMimeType()),
+                    uri -> startExport(uri, TaskDataExporter.Format.CSV)
+            );
+
+    private final ActivityResultLauncher<String> queryMetricsLauncher =
+            registerForActivityResult(
+                    new ActivityResultContracts.CreateDocument("text/plain"),
+                    this::exportQueryMetrics
+            );
+
+    private final ActivityResultLauncher<String[]> importLauncher =
+            registerForActivityResult(
+                    new ActivityResultContracts.OpenDocument(),
+                    this::startImport
+            );
+
     private final ActivityResultLauncher<String> notificationPermissionLauncher =
             registerForActivityResult(new ActivityResultContracts.RequestPermission(), isGranted -> {
                 if (isGranted) {
@@ -69,6 +134,12 @@ public class SettingsActivity extends AppCompatActivity {
         spinnerDefaultLead = findViewById(R.id.spinnerDefaultLead);
         textReminderStatus = findViewById(R.id.textReminderStatus);
         buttonLogout = findViewById(R.id.buttonLogout);
+        buttonExportData = findViewById(R.id.buttonExportData);
+        buttonImportData = findViewById(R.id.buttonImportData);
+        buttonBackupDatabase = findViewById(R.id.buttonBackupDatabase);
+        buttonRestoreDatabase = findViewById(R.id.buttonRestoreDatabase);
+        buttonExportQueryMetrics = findViewById(R.id.buttonExportQueryMetrics);
+        textTransferStatus = findViewById(R.id.textTransferStatus);
 
         setupLeadTimeSpinner();
         bindCurrentValues();
@@ -129,7 +200,36 @@ public class SettingsActivity extends AppCompatActivity {
         });
 
 
+        buttonExportData.setOnClickListener(v -> {
+            if (transferCancellation != null) {
+                transferCancellation.cancel();
+            } else {
+                showExportFormatDialog();
+            }
+        });
+
+        buttonImportData.setOnClickListener(v -> {
+            if (transferCancellation != null) {
+                transferCancellation.cancel();
+            } else {
+                showImportConflictDialog();
+            }
+        });
+
+        buttonBackupDatabase.setOnClickListener(v -> runBackupTask("Backing up...", () ->
+                "Backup saved: " + new DatabaseBackupManager(getApplicationContext()).backup()));
+
+        buttonRestoreDatabase.setOnClickListener(v -> transferExecutor.execute(() -> {
+            List<DatabaseBackupManager.Snapshot> snapshots =
+                    new DatabaseBackupManager(getApplicationContext()).listSnapshots();
+            mainHandler.post(() -> showRestoreDialog(snapshots));
+        }));
+
+        buttonExportQueryMetrics.setOnClickListener(v -> queryMetricsLauncher.launch(
+                "query-metrics-" + new SimpleDateFormat("yyyyMMdd-HHmm", Locale.US).format(new Date()) + ".txt"));
+
         buttonLogout.setOnClickListener(v -> {
+            new DashboardSnapshotStore(this).clear();
             new SessionManager(this).logout();
             Intent intent = new Intent(this, LoginActivity.class);
             intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
@@ -138,6 +238,233 @@ public class SettingsActivity extends AppCompatActivity {
         });
     }
 
+    private void showExportFormatDialog() {
+        String[] options = {"JSON", "CSV (ZIP)"};
+        new AlertDialog.Builder(this)
+                .setTitle("Export format")
+                .setItems(options, (dialog, which) -> {
+                    TaskDataExporter.Format format = which == 0 ? TaskDataExporter.Format.JSON : TaskDataExporter.Format.CSV;
+                    String fileName = "student-tasks-"
+                            + new SimpleDateFormat("yyyyMMdd-HHmm", Locale.US).format(new Date())
+                            + "." + format.getFileExtension();
+                    if (format == TaskDataExporter.Format.JSON) {
+                        exportJsonLauncher.launch(fileName);
+                    } else {
+                        exportCsvLauncher.launch(fileName);
+                    }
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void startExport(Uri uri, TaskDataExporter.Format format) {
+        if (uri == null || transferCancellation != null) return;
+
+        CancellationSignal cancellation = new CancellationSignal();
+        transferCancellation = cancellation;
+        buttonExportData.setText("Cancel export");
+        buttonImportData.setEnabled(false);
+        showTransferStatus("Exporting...");
+
+        long userId = new SessionManager(this).getLoggedInUserId();
+        transferExecutor.execute(() -> {
+            String message;
+            try (OutputStream output = getContentResolver().openOutputStream(uri)) {
+                if (output == null) throw new IOException("Cannot open " + uri);
+
+                TaskDataExporter.Result result = new TaskDataExporter(getApplicationContext()).export(
+                        output,
+                        format,
+                        userId,
+                        (rowsWritten, totalRows) -> mainHandler.post(() ->
+                                showTransferStatus("Exporting... " + rowsWritten + " / " + totalRows + " rows")),
+                        cancellation
+                );
+                message = "Exported " + result;
+            } catch (OperationCanceledException e) {
+                deletePartialDocument(uri);
+                message = "Export cancelled";
+            } catch (Exception e) {
+                Log.e(TAG, "Export failed", e);
+                deletePartialDocument(uri);
+                message = "Export failed: " + e.getMessage();
+            }
+
+            String finalMessage = message;
+            mainHandler.post(() -> {
+                transferCancellation = null;
+                buttonExportData.setText("Export tasks & sessions");
+                buttonImportData.setEnabled(true);
+                showTransferStatus(finalMessage);
+            });
+        });
+    }
+
+    private void showImportConflictDialog() {
+        String[] options = {"Keep my existing tasks", "Replace with imported tasks"};
+        new AlertDialog.Builder(this)
+                .setTitle("Tasks that already exist")
+                .setItems(options, (dialog, which) -> {
+                    pendingImportStrategy = which == 0
+                            ? TaskDataImporter.ConflictStrategy.KEEP_EXISTING
+                            : TaskDataImporter.ConflictStrategy.REPLACE_EXISTING;
+                    importLauncher.launch(new String[]{TaskDataExporter.Format.JSON.getMimeType()});
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void startImport(Uri uri) {
+        if (uri == null || transferCancellation != null) return;
+
+        CancellationSignal cancellation = new CancellationSignal();
+        transferCancellation = cancellation;
+        buttonImportData.setText("Cancel import");
+        buttonExportData.setEnabled(false);
+        showTransferStatus("Importing...");
+
+        long userId = new SessionManager(this).getLoggedInUserId();
+        TaskDataImporter.ConflictStrategy strategy = pendingImportStrategy;
+        transferExecutor.execute(() -> {
+            String message;
+            String sourceId = uri + ":" + queryDocumentSize(uri);
+            ImportCheckpointStore.Checkpoint checkpoint = new ImportCheckpointStore(this).load(sourceId, userId, strategy);
+            if (checkpoint != null) {
+                mainHandler.post(() -> showTransferStatus("Resuming import after " + checkpoint.getRowsProcessed() + " rows..."));
+            }
+
+            try (InputStream input = getContentResolver().openInputStream(uri)) {
+                if (input == null) throw new IOException("Cannot open " + uri);
+
+                TaskDataImporter.Result result = new TaskDataImporter(getApplicationContext()).importJson(
+                        input,
+                        sourceId,
+                        userId,
+                        strategy,
+                        rowsProcessed -> mainHandler.post(() ->
+                                showTransferStatus("Importing... " + rowsProcessed + " rows")),
+                        cancellation
+                );
+                message = "Imported: " + result;
+            } catch (OperationCanceledException e) {
+                message = "Import paused. Pick the same file again to resume.";
+            } catch (Exception e) {
+                Log.e(TAG, "Import failed", e);
+                message = "Import failed: " + e.getMessage();
+            }
+
+            String finalMessage = message;
+            mainHandler.post(() -> {
+                transferCancellation = null;
+                buttonImportData.setText("Import from JSON export");
+                buttonExportData.setEnabled(true);
+                showTransferStatus(finalMessage);
+            });
+        });
+    }
+
+    private void showRestoreDialog(List<DatabaseBackupManager.Snapshot> snapshots) {
+        if (isFinishing()) return;
+        if (snapshots.isEmpty()) {
+            showTransferStatus("No backups yet");
+            return;
+        }
+
+        String[] options = new String[snapshots.size()];
+        for (int i = 0; i < options.length; i++) {
+            options[i] = new SimpleDateFormat("MMM d, yyyy HH:mm", Locale.getDefault())
+                    .format(new Date(snapshots.get(i).getCreatedAtMillis()));
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Restore backup")
+                .setItems(options, (dialog, which) -> new AlertDialog.Builder(this)
+                        .setTitle("Replace all data?")
+                        .setMessage("Everything added since " + options[which] + " will be lost.")
+                        .setPositiveButton("Restore", (confirm, button) -> {
+                            DatabaseBackupManager.Snapshot snapshot = snapshots.get(which);
+                            runBackupTask("Restoring...", () -> {
+                                new DatabaseBackupManager(getApplicationContext()).restore(snapshot);
+                                return "Restored backup from " + options[which];
+                            });
+                        })
+                        .setNegativeButton("Cancel", null)
+                        .show())
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void exportQueryMetrics(Uri uri) {
+        if (uri == null) return;
+
+        transferExecutor.execute(() -> {
+            String message;
+            try (OutputStream out = getContentResolver().openOutputStream(uri)) {
+                if (out == null) throw new IOException("Cannot open " + uri);
+                String report = QueryMetrics.getInstance().buildReport(
+                        AppDatabaseHelper.getInstance(getApplicationContext()).getReadableDatabase());
+                out.write(report.getBytes(StandardCharsets.UTF_8));
+                message = "Query metrics exported";
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Query metrics export failed", e);
+                message = "Failed: " + e.getMessage();
+            }
+
+            String finalMessage = message;
+            mainHandler.post(() -> showTransferStatus(finalMessage));
+        });
+    }
+
+    private interface BackupTask {
+        String run() throws Exception;
+    }
+
+    private void runBackupTask(String progressMessage, BackupTask task) {
+        buttonBackupDatabase.setEnabled(false);
+        buttonRestoreDatabase.setEnabled(false);
+        showTransferStatus(progressMessage);
+
+        transferExecutor.execute(() -> {
+            String message;
+            try {
+                message = task.run();
+            } catch (Exception e) {
+                Log.e(TAG, "Backup task failed", e);
+                message = "Failed: " + e.getMessage();
+            }
+
+            String finalMessage = message;
+            mainHandler.post(() -> {
+                buttonBackupDatabase.setEnabled(true);
+                buttonRestoreDatabase.setEnabled(true);
+                showTransferStatus(finalMessage);
+            });
+        });
+    }
+
+    private long queryDocumentSize(Uri uri) {
+        try (Cursor cursor = getContentResolver().query(uri, new String[]{OpenableColumns.SIZE}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getLong(0);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Could not read document size", e);
+        }
+        return -1L;
+    }
+
+    private void deletePartialDocument(Uri uri) {
+        try {
+            DocumentsContract.deleteDocument(getContentResolver(), uri);
+        } catch (Exception e) {
+            Log.w(TAG, "Could not delete partial export", e);
+        }
+    }
+
+    private void showTransferStatus(String message) {
+        textTransferStatus.setVisibility(View.VISIBLE);
+        textTransferStatus.setText(message);
+    }
+
     private void requestPermissionIfNeededAndEnable() {
         if (Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU) {
             setReminderEnabledInternal(true);
@@ -180,6 +507,13 @@ public class SettingsActivity extends AppCompatActivity {
         return NotificationPreferences.LEAD_TIME_30_MIN;
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (transferCancellation != null) transferCancellation.cancel();
+        transferExecutor.shutdown();
+    }
+
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
@@ -57,7 +57,7 @@ public class StudySessionActivity extends AppCompatActivity {
         setupRecyclerView();
         setupActions();
 
-        refreshSessionData();
+        observeSessions();
         updateButtonsState();
     }
 
@@ -108,7 +108,6 @@ public class StudySessionActivity extends AppCompatActivity {
         if (sessionId != -1L) {
             activeSessionId = sessionId;
             Toast.makeText(this, "Study session started", Toast.LENGTH_SHORT).show();
-            refreshSessionData();
             updateButtonsState();
         } else {
             Toast.makeText(this, "Unable to start session", Toast.LENGTH_SHORT).show();
@@ -125,17 +124,23 @@ public class StudySessionActivity extends AppCompatActivity {
         if (updatedRows > 0) {
             activeSessionId = -1L;
             Toast.makeText(this, "Study session stopped", Toast.LENGTH_SHORT).show();
-            refreshSessionData();
             updateButtonsState();
         } else {
             Toast.makeText(this, "Unable to stop session", Toast.LENGTH_SHORT).show();
         }
     }
 
-    private void refreshSessionData() {
+    /**
+     * Session writes below notify the DAO change tracker, which re-runs this query in the
+     * background, so start/stop/delete do not need to reload the list themselves.
+     */
+    private void observeSessions() {
         if (taskId <= 0L) return;
 
-        List<StudySession> sessions = studySessionDao.getSessionsForTask(taskId);
+        studySessionDao.observeSessionsForTask(taskId).observe(this, this::renderSessions);
+    }
+
+    private void renderSessions(List<StudySession> sessions) {
         studySessionAdapter.setSessions(sessions);
 
         // Empty state toggle
@@ -157,6 +162,7 @@ public class StudySessionActivity extends AppCompatActivity {
 
         activeSessionId = runningSessionId;
         textViewTotalStudyTime.setText(formatTotalDuration(totalDurationMs));
+        updateButtonsState();
     }
 
 
@@ -181,7 +187,6 @@ public class StudySessionActivity extends AppCompatActivity {
                 activeSessionId = -1L;
             }
             Toast.makeText(this, "Study session deleted", Toast.LENGTH_SHORT).show();
-            refreshSessionData();
             updateButtonsState();
         } else {
             Toast.makeText(this, "Unable to delete session", Toast.LENGTH_SHORT).show();
@@ -5,6 +5,7 @@ import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.view.Menu;
 import android.view.MenuItem;
+import android.view.View;
 import android.widget.Toast;
 import android.widget.TextView;
 
@@ -13,6 +14,7 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.studenttaskmanagement.R;
+import com.example.studenttaskmanagement.database.dao.TaskArchiveDao;
 import com.example.studenttaskmanagement.database.dao.TaskDao;
 import com.example.studenttaskmanagement.database.dao.StudySessionDao;
 import com.example.studenttaskmanagement.model.Task;
@@ -45,8 +47,11 @@ public class TaskDetailActivity extends AppCompatActivity {
 
     private TaskDao taskDao;
     private StudySessionDao studySessionDao;
+    private TaskArchiveDao taskArchiveDao;
     private long taskId = -1L;
     private Task currentTask;
+    // True when the task was found only in the archive; it is then shown read-only.
+    private boolean isArchived;
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -63,6 +68,7 @@ public class TaskDetailActivity extends AppCompatActivity {
 
         taskDao = new TaskDao(this);
         studySessionDao = new StudySessionDao(this);
+        taskArchiveDao = new TaskArchiveDao(this);
 
         bindViews();
         readTaskId();
@@ -106,7 +112,13 @@ public class TaskDetailActivity extends AppCompatActivity {
     }
 
     private void setupActions() {
-        buttonEditTask.setOnClickListener(v -> openEditTask());
+        buttonEditTask.setOnClickListener(v -> {
+            if (isArchived) {
+                restoreArchivedTask();
+            } else {
+                openEditTask();
+            }
+        });
         buttonDeleteTask.setOnClickListener(v -> showDeleteConfirmation());
         buttonStudySessions.setOnClickListener(v -> openStudySessions());
     }
@@ -115,6 +127,12 @@ public class TaskDetailActivity extends AppCompatActivity {
         if (taskId <= 0L) return;
 
         currentTask = taskDao.getTaskById(taskId);
+        boolean archived = false;
+        if (currentTask == null) {
+            // Read-through for history: archived tasks are no longer in the tasks table.
+            currentTask = taskArchiveDao.getArchivedTaskById(taskId);
+            archived = currentTask != null;
+        }
         if (currentTask == null) {
             Toast.makeText(this, "Task not found", Toast.LENGTH_SHORT).show();
             finish();
@@ -125,11 +143,21 @@ public class TaskDetailActivity extends AppCompatActivity {
         textViewDescription.setText(nonNullText(currentTask.getDescription()));
         textViewDeadline.setText(nonNullText(currentTask.getDeadline()));
 
-        int completedSessions = studySessionDao.getCompletedSessionCountForTask(taskId);
+        int completedSessions = archived
+                ? taskArchiveDao.getArchivedCompletedSessionCountForTask(taskId)
+                : studySessionDao.getCompletedSessionCountForTask(taskId);
         textViewSessionCount.setText(formatSessionCount(completedSessions));
 
+        if (archived != isArchived) {
+            isArchived = archived;
+            buttonEditTask.setText(archived ? "Restore task" : "Edit Task");
+            buttonDeleteTask.setVisibility(archived ? View.GONE : View.VISIBLE);
+            buttonStudySessions.setVisibility(archived ? View.GONE : View.VISIBLE);
+            invalidateOptionsMenu();
+        }
+
         int status = currentTask.getStatus();
-        chipStatus.setText(TaskStatus.getLabel(status));
+        chipStatus.setText(archived ? "Archived" : TaskStatus.getLabel(status));
 
         // Small visual cue (safe + minimal)
         if (status == TaskStatus.COMPLETED) {
@@ -141,6 +169,15 @@ public class TaskDetailActivity extends AppCompatActivity {
         }
     }
 
+    private void restoreArchivedTask() {
+        if (taskArchiveDao.restoreTask(taskId)) {
+            Toast.makeText(this, "Task restored", Toast.LENGTH_SHORT).show();
+            loadTask();
+        } else {
+            Toast.makeText(this, "Unable to restore task", Toast.LENGTH_SHORT).show();
+        }
+    }
+
     private void openEditTask() {
         Intent intent = new Intent(this, EditTaskActivity.class);
         intent.putExtra(EXTRA_TASK_ID, taskId);
@@ -197,6 +234,13 @@ public class TaskDetailActivity extends AppCompatActivity {
         return true;
     }
 
+    @Override
+    public boolean onPrepareOptionsMenu(Menu menu) {
+        menu.findItem(R.id.menuEditTask).setVisible(!isArchived);
+        menu.findItem(R.id.menuDeleteTask).setVisible(!isArchived);
+        return super.onPrepareOptionsMenu(menu);
+    }
+
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         int itemId = item.getItemId();
@@ -13,18 +13,33 @@ import android.view.View;
 import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.view.ActionMode;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.studenttaskmanagement.R;
 import com.example.studenttaskmanagement.adapter.TaskAdapter;
 import com.example.studenttaskmanagement.auth.SessionManager;
+import com.example.studenttaskmanagement.database.ObservableQuery;
+import com.example.studenttaskmanagement.database.dao.BatchResult;
+import com.example.studenttaskmanagement.database.dao.ReferenceDataCache;
+import com.example.studenttaskmanagement.database.dao.TaskArchiveDao;
 import com.example.studenttaskmanagement.database.dao.TaskDao;
-import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
+import com.example.studenttaskmanagement.model.Priority;
+import com.example.studenttaskmanagement.notifications.NotificationStartup;
+import com.example.studenttaskmanagement.presentation.dashboard.DashboardSnapshotStore;
+import com.example.studenttaskmanagement.presentation.tasks.TaskListViewModel;
+import com.example.studenttaskmanagement.presentation.tasks.TaskRowFilter;
+import com.example.studenttaskmanagement.presentation.tasks.TaskRowModel;
+import com.example.studenttaskmanagement.presentation.tasks.TaskRowModelFactory;
+import com.example.studenttaskmanagement.utils.Tracer;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
@@ -32,6 +47,7 @@ import com.google.android.material.textfield.TextInputEditText;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -52,11 +68,13 @@ public class TasksActivity extends AppCompatActivity {
 
     private TaskAdapter taskAdapter;
     private TaskDao taskDao;
+    private TaskListViewModel taskListViewModel;
     private SessionManager sessionManager;
-    private final List<Task> allTasks = new ArrayList<>();
+    private final List<TaskRowModel> allRows = new ArrayList<>();
 
-    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService bulkExecutor = Executors.newSingleThreadExecutor();
     private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private ActionMode selectionMode;
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -72,7 +90,7 @@ public class TasksActivity extends AppCompatActivity {
         sessionManager = new SessionManager(this);
 
         showLoadingState("Loading tasks...");
-        initDaoAndLoad();
+        observeTasks();
     }
 
     private void bindViews() {
@@ -97,6 +115,7 @@ public class TasksActivity extends AppCompatActivity {
     private void setupRecycler() {
         recyclerViewTasks.setLayoutManager(new LinearLayoutManager(this));
         taskAdapter = new TaskAdapter(this, new ArrayList<>());
+        taskAdapter.setSelectionListener(this::onSelectionChanged);
         recyclerViewTasks.setAdapter(taskAdapter);
     }
 
@@ -118,94 +137,169 @@ public class TasksActivity extends AppCompatActivity {
         });
     }
 
-    private void initDaoAndLoad() {
-        dbExecutor.execute(() -> {
-            try {
-                taskDao = new TaskDao(getApplicationContext());
-                List<Task> tasks = taskDao.getAllTasks(sessionManager.getLoggedInUserId());
-                if (tasks == null) tasks = new ArrayList<>();
-
-                List<Task> finalTasks = tasks;
-                mainHandler.post(() -> {
-                    allTasks.clear();
-                    allTasks.addAll(finalTasks);
-                    String q = editTextSearch.getText() == null ? "" : editTextSearch.getText().toString();
-                    applyFilter(q);
-                    setDebug("Loaded tasks: " + allTasks.size());
-                });
-
-            } catch (Throwable t) {
+    /**
+     * Tasks are re-queried in the background whenever the tasks table changes,
+     * e.g. after returning from Add/Edit/Detail screens, so no manual reload is needed.
+     * Row models are built on the same background thread.
+     */
+    private void observeTasks() {
+        taskDao = new TaskDao(getApplicationContext());
+        taskListViewModel = new TaskListViewModel(
+                taskDao,
+                new TaskArchiveDao(getApplicationContext()),
+                new TaskRowModelFactory(getApplicationContext())
+        );
+        taskListViewModel.observeTaskRows(sessionManager.getLoggedInUserId()).observe(this, new ObservableQuery.Observer<List<TaskRowModel>>() {
+            @Override
+            public void onChanged(List<TaskRowModel> rows) {
+                allRows.clear();
+                if (rows != null) allRows.addAll(rows);
+
+                String q = editTextSearch.getText() == null ? "" : editTextSearch.getText().toString();
+                applyFilter(q);
+                setDebug("Loaded tasks: " + allRows.size());
+            }
+
+            @Override
+            public void onError(@NonNull Throwable t) {
                 Log.e(TAG, "DB load failed", t);
-                mainHandler.post(() -> {
-                    setDebug("DB error: " + t.getClass().getSimpleName() + " - " + t.getMessage());
-                    showEmptyState("Database error", "Could not load tasks.");
-                });
+                setDebug("DB error: " + t.getClass().getSimpleName() + " - " + t.getMessage());
+                showEmptyState("Database error", "Could not load tasks.");
             }
         });
     }
 
-    @Override
-    protected void onResume() {
-        super.onResume();
-        reloadTasksAsync();
+    private void applyFilter(@NonNull String rawQuery) {
+        Tracer.begin("TasksActivity.applyFilter");
+        try {
+            String query = TaskRowFilter.normalizeQuery(rawQuery);
+            List<TaskRowModel> filtered = TaskRowFilter.filter(allRows, query);
+
+            taskAdapter.setRows(filtered);
+
+            if (allRows.isEmpty() && query.isEmpty()) {
+                showEmptyState("No tasks yet", "Tap “Add Task” to create your first task.");
+            } else if (filtered.isEmpty()) {
+                showEmptyState("No results", "No tasks match your search.");
+            } else {
+                showListState();
+            }
+        } finally {
+            Tracer.end();
+        }
     }
 
-    private void reloadTasksAsync() {
-        if (taskDao == null) {
-            initDaoAndLoad();
+    private void onSelectionChanged(int selectedCount) {
+        if (selectedCount == 0) {
+            if (selectionMode != null) selectionMode.finish();
             return;
         }
+        if (selectionMode == null) {
+            selectionMode = startSupportActionMode(selectionCallback);
+        }
+        if (selectionMode != null) {
+            selectionMode.setTitle(selectedCount + " selected");
+        }
+    }
 
-        showLoadingState("Refreshing...");
-        dbExecutor.execute(() -> {
-            List<Task> tasks;
-            try {
-                tasks = taskDao.getAllTasks(sessionManager.getLoggedInUserId());
-                if (tasks == null) tasks = new ArrayList<>();
-            } catch (Throwable t) {
-                Log.e(TAG, "reloadTasksAsync failed", t);
-                tasks = new ArrayList<>();
-            }
-
-            List<Task> finalTasks = tasks;
-            mainHandler.post(() -> {
-                allTasks.clear();
-                allTasks.addAll(finalTasks);
+    private final ActionMode.Callback selectionCallback = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.menu_tasks_selection, menu);
+            return true;
+        }
 
-                String q = editTextSearch.getText() == null ? "" : editTextSearch.getText().toString();
-                applyFilter(q);
-                setDebug("Refreshed tasks: " + allTasks.size());
-            });
-        });
-    }
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
 
-    private void applyFilter(@NonNull String rawQuery) {
-        String query = rawQuery.trim().toLowerCase();
-        List<Task> filtered = new ArrayList<>();
-
-        if (query.isEmpty()) {
-            filtered.addAll(allTasks);
-        } else {
-            for (Task t : allTasks) {
-                String title = safeLower(t.getTitle());
-                String desc = safeLower(t.getDescription());
-                String deadline = safeLower(t.getDeadline());
-
-                if (title.contains(query) || desc.contains(query) || deadline.contains(query)) {
-                    filtered.add(t);
-                }
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            int id = item.getItemId();
+            if (id == R.id.menuBulkComplete) {
+                long[] ids = taskAdapter.getSelectedTaskIds();
+                runBulkAction("Completed", () -> taskDao.completeTasks(ids));
+                return true;
+            } else if (id == R.id.menuBulkPriority) {
+                showBulkPriorityDialog();
+                return true;
+            } else if (id == R.id.menuBulkDelete) {
+                confirmBulkDelete();
+                return true;
+            } else if (id == R.id.menuSelectAll) {
+                taskAdapter.selectAll();
+                return true;
             }
+            return false;
         }
 
-        taskAdapter.setTasks(filtered);
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            selectionMode = null;
+            taskAdapter.clearSelection();
+        }
+    };
+
+    private void showBulkPriorityDialog() {
+        List<Priority> priorities = ReferenceDataCache.get(this).getPriorities();
+        if (priorities.isEmpty()) return;
 
-        if (allTasks.isEmpty() && query.isEmpty()) {
-            showEmptyState("No tasks yet", "Tap “Add Task” to create your first task.");
-        } else if (filtered.isEmpty()) {
-            showEmptyState("No results", "No tasks match your search.");
-        } else {
-            showListState();
+        String[] labels = new String[priorities.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = priorities.get(i).getLabel();
         }
+
+        new AlertDialog.Builder(this)
+                .setTitle("Change priority")
+                .setItems(labels, (dialog, which) -> {
+                    long[] ids = taskAdapter.getSelectedTaskIds();
+                    long priorityId = priorities.get(which).getId();
+                    runBulkAction("Updated", () -> taskDao.updateTaskPriorities(ids, priorityId));
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void confirmBulkDelete() {
+        int count = taskAdapter.getSelectedCount();
+        new AlertDialog.Builder(this)
+                .setTitle("Delete Tasks")
+                .setMessage("Are you sure you want to delete " + count + (count == 1 ? " task?" : " tasks?"))
+                .setPositiveButton("Delete", (dialog, which) -> {
+                    long[] ids = taskAdapter.getSelectedTaskIds();
+                    runBulkAction("Deleted", () -> taskDao.deleteTasks(ids));
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private interface BulkAction {
+        BatchResult run();
+    }
+
+    /**
+     * Runs one batched DAO write off the main thread. The observed task list re-queries and
+     * diffs on its own; reminders are re-armed once for the whole batch.
+     */
+    private void runBulkAction(String verb, BulkAction action) {
+        if (selectionMode != null) selectionMode.finish();
+
+        bulkExecutor.execute(() -> {
+            try {
+                BatchResult result = action.run();
+                NotificationStartup.updateReminderWorkerSchedule(getApplicationContext());
+                Log.d(TAG, verb + " " + result);
+                mainHandler.post(() -> Toast.makeText(
+                        this,
+                        String.format(Locale.getDefault(), "%s %d %s", verb, result.getRows(), result.getRows() == 1 ? "task" : "tasks"),
+                        Toast.LENGTH_SHORT
+                ).show());
+            } catch (Exception e) {
+                Log.e(TAG, "Bulk action failed", e);
+                mainHandler.post(() -> Toast.makeText(this, "Unable to update tasks", Toast.LENGTH_SHORT).show());
+            }
+        });
     }
 
     private void showLoadingState(String message) {
@@ -238,16 +332,13 @@ public class TasksActivity extends AppCompatActivity {
 
     private void setDebug(String msg) {
         Log.d(TAG, msg);
-        textDebug.setText(msg);
-    }
-
-    private String safeLower(@Nullable String s) {
-        return s == null ? "" : s.toLowerCase();
+        textDebug.setText(msg + "\n" + QueryMetrics.getInstance().getSummary());
     }
 
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         getMenuInflater().inflate(R.menu.menu_tasks, menu);
+        menu.findItem(R.id.menuShowArchived).setChecked(taskListViewModel.isShowingArchived());
         return true;
     }
 
@@ -257,6 +348,13 @@ public class TasksActivity extends AppCompatActivity {
         if (id == R.id.menuAddTask) {
             openAddTask();
             return true;
+        } else if (id == R.id.menuShowArchived) {
+            boolean showArchived = !item.isChecked();
+            item.setChecked(showArchived);
+            // Bulk actions only reach active tasks, so archived rows must not be selectable.
+            taskAdapter.setSelectionEnabled(!showArchived);
+            taskListViewModel.setShowArchived(showArchived);
+            return true;
         } else if (id == R.id.menuSettings) {
             startActivity(new Intent(this, SettingsActivity.class));
             return true;
@@ -267,17 +365,18 @@ public class TasksActivity extends AppCompatActivity {
         return super.onOptionsItemSelected(item);
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        bulkExecutor.shutdown();
+    }
+
     private void logout() {
+        new DashboardSnapshotStore(this).clear();
         sessionManager.logout();
         Intent intent = new Intent(this, LoginActivity.class);
         intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
         startActivity(intent);
         finish();
     }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        dbExecutor.shutdown();
-    }
 }
@@ -11,6 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.studenttaskmanagement.R;
 import com.example.studenttaskmanagement.model.StudySession;
 import com.example.studenttaskmanagement.utils.DurationUtils;
+import com.example.studenttaskmanagement.utils.Tracer;
 import com.google.android.material.button.MaterialButton;
 
 import java.text.DateFormat;
@@ -49,19 +50,24 @@ public class StudySessionAdapter extends RecyclerView.Adapter<StudySessionAdapte
 
     @Override
     public void onBindViewHolder(@NonNull StudySessionViewHolder holder, int position) {
-        StudySession session = sessions.get(position);
-
-        holder.textViewStartTime.setText(formatDateTime(session.getStartTime()));
-        holder.textViewEndTime.setText(session.getEndTime() > 0
-                ? formatDateTime(session.getEndTime())
-                : "In progress");
-        holder.textViewDuration.setText(DurationUtils.formatMinutes(session.getDuration()));
-
-        holder.buttonDeleteSession.setOnClickListener(v -> {
-            if (onDeleteSessionClickListener != null) {
-                onDeleteSessionClickListener.onDeleteSessionClicked(session);
-            }
-        });
+        Tracer.begin("StudySessionAdapter.onBindViewHolder");
+        try {
+            StudySession session = sessions.get(position);
+
+            holder.textViewStartTime.setText(formatDateTime(session.getStartTime()));
+            holder.textViewEndTime.setText(session.getEndTime() > 0
+                    ? formatDateTime(session.getEndTime())
+                    : "In progress");
+            holder.textViewDuration.setText(DurationUtils.formatMinutes(session.getDuration()));
+
+            holder.buttonDeleteSession.setOnClickListener(v -> {
+                if (onDeleteSessionClickListener != null) {
+                    onDeleteSessionClickListener.onDeleteSessionClicked(session);
+                }
+            });
+        } finally {
+            Tracer.end();
+        }
     }
 
     @Override
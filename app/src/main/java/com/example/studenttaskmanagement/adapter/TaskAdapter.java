@@ -2,130 +2,264 @@ package com.example.studenttaskmanagement.adapter;
 
 import android.content.Context;
 import android.content.Intent;
+import android.util.LongSparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
-import androidx.annotation.ColorInt;
 import androidx.annotation.NonNull;
-import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.studenttaskmanagement.R;
 import com.example.studenttaskmanagement.activities.TaskDetailActivity;
-import com.example.studenttaskmanagement.database.dao.PriorityDao;
-import com.example.studenttaskmanagement.model.Priority;
-import com.example.studenttaskmanagement.model.Task;
-import com.example.studenttaskmanagement.model.TaskStatus;
+import com.example.studenttaskmanagement.presentation.tasks.TaskRowModel;
+import com.example.studenttaskmanagement.utils.Tracer;
+import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.chip.Chip;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 
 /**
  * RecyclerView adapter for rendering task items.
- * Contains only UI binding and click navigation logic.
+ * Contains only UI binding, click navigation and multi-select logic.
+ *
+ * Rows arrive fully formatted as {@link TaskRowModel}s, so binding only assigns fields and
+ * does not allocate. All rows share one click listener that reads the position from the holder.
+ * New lists are diffed on a background thread, so only changed rows are re-bound.
+ *
+ * A long press starts selection mode; while any row is selected, taps toggle selection
+ * instead of opening the task. Selection can be switched off, e.g. while archived tasks are
+ * listed, because bulk actions only apply to active tasks.
  */
 public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder> {
 
+    public interface SelectionListener {
+        void onSelectionChanged(int selectedCount);
+    }
+
+    private static final Object PAYLOAD_SELECTION = new Object();
+
+    private static final DiffUtil.ItemCallback<TaskRowModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<TaskRowModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TaskRowModel oldItem, @NonNull TaskRowModel newItem) {
+            return oldItem.getTaskId() == newItem.getTaskId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TaskRowModel oldItem, @NonNull TaskRowModel newItem) {
+            return oldItem.hasSameContent(newItem);
+        }
+    };
+
     private final Context context;
-    private final List<Task> taskList;
-    private final Map<Long, Priority> priorityMap = new HashMap<>();
+    private final AsyncListDiffer<TaskRowModel> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    // Selected task IDs; values are unused. Keyed by primitive long so bind does not box.
+    private final LongSparseArray<Boolean> selectedIds = new LongSparseArray<>();
+    private SelectionListener selectionListener;
+    private boolean selectionEnabled = true;
+
+    private final View.OnClickListener itemClickListener = this::onItemClicked;
+    private final View.OnLongClickListener itemLongClickListener = this::onItemLongClicked;
 
-    public TaskAdapter(Context context, List<Task> taskList) {
+    public TaskAdapter(Context context, List<TaskRowModel> rows) {
         this.context = context;
-        this.taskList = taskList != null ? taskList : new ArrayList<>();
-        preloadPriorities(context);
+        setHasStableIds(true);
+        differ.submitList(rows);
     }
 
     @NonNull
     @Override
     public TaskViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_task, parent, false);
-        return new TaskViewHolder(view);
+        TaskViewHolder holder = new TaskViewHolder(view);
+        view.setTag(holder);
+        view.setOnClickListener(itemClickListener);
+        view.setOnLongClickListener(itemLongClickListener);
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
-        Task task = taskList.get(position);
+        Tracer.begin("TaskAdapter.onBindViewHolder");
+        try {
+            TaskRowModel row = differ.getCurrentList().get(position);
+
+            holder.textTitle.setText(row.getTitle());
+            holder.textDeadline.setText(row.getDeadlineText());
+            holder.textStatus.setText(row.getStatusLabel());
+            holder.textPriority.setText(row.getPriorityText());
+            holder.viewPriorityIndicator.setBackgroundColor(row.getPriorityColor());
 
-        holder.textTitle.setText(task.getTitle() != null ? task.getTitle() : "Untitled Task");
-        holder.textDeadline.setText(task.getDeadline() != null ? task.getDeadline() : "No deadline");
-        holder.textStatus.setText(TaskStatus.getLabel(task.getStatus()));
+            String dueText = row.getDueText();
+            if (dueText != null) {
+                holder.textDue.setText(dueText);
+                holder.textDue.setVisibility(View.VISIBLE);
+            } else {
+                holder.textDue.setVisibility(View.GONE);
+            }
 
-        String priorityLabel = getPriorityLabel(task.getPriorityId());
-        holder.textPriority.setText("Priority: " + priorityLabel);
-        holder.viewPriorityIndicator.setBackgroundColor(resolvePriorityColor(priorityLabel));
+            holder.card.setChecked(selectedIds.indexOfKey(row.getTaskId()) >= 0);
+        } finally {
+            Tracer.end();
+        }
+    }
 
-        holder.itemView.setOnClickListener(v -> {
-            Intent intent = new Intent(context, TaskDetailActivity.class);
-            intent.putExtra(TaskDetailActivity.EXTRA_TASK_ID, task.getId());
-            context.startActivity(intent);
-        });
+    @Override
+    public void onBindViewHolder(@NonNull TaskViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !onlySelectionPayloads(payloads)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        long taskId = differ.getCurrentList().get(position).getTaskId();
+        holder.card.setChecked(selectedIds.indexOfKey(taskId) >= 0);
     }
 
     @Override
     public int getItemCount() {
-        return taskList.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getTaskId();
+    }
+
+    /**
+     * Diffs the new rows against the current ones in the background and dispatches only the changes.
+     * Selected tasks that are no longer in the list are dropped from the selection.
+     */
+    public void setRows(List<TaskRowModel> newRows) {
+        differ.submitList(newRows == null ? null : new ArrayList<>(newRows), this::pruneSelection);
+    }
+
+    public void setSelectionListener(SelectionListener selectionListener) {
+        this.selectionListener = selectionListener;
     }
 
     /**
-     * Updates adapter data and refreshes the list.
+     * Disabling selection also clears the current one.
      */
-    public void setTasks(List<Task> tasks) {
-        taskList.clear();
-        if (tasks != null) {
-            taskList.addAll(tasks);
+    public void setSelectionEnabled(boolean selectionEnabled) {
+        this.selectionEnabled = selectionEnabled;
+        if (!selectionEnabled) clearSelection();
+    }
+
+    public boolean isInSelectionMode() {
+        return selectedIds.size() > 0;
+    }
+
+    public int getSelectedCount() {
+        return selectedIds.size();
+    }
+
+    public long[] getSelectedTaskIds() {
+        long[] ids = new long[selectedIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = selectedIds.keyAt(i);
         }
-        notifyDataSetChanged();
+        return ids;
+    }
+
+    public void selectAll() {
+        if (!selectionEnabled) return;
+        List<TaskRowModel> rows = differ.getCurrentList();
+        for (int i = 0; i < rows.size(); i++) {
+            selectedIds.put(rows.get(i).getTaskId(), Boolean.TRUE);
+        }
+        notifyItemRangeChanged(0, rows.size(), PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
+    }
+
+    public void clearSelection() {
+        if (selectedIds.size() == 0) return;
+        selectedIds.clear();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
     }
 
-    private void preloadPriorities(Context context) {
-        PriorityDao priorityDao = new PriorityDao(context);
-        List<Priority> priorities = priorityDao.getAllPriorities();
-        if (priorities == null) return;
+    private void onItemClicked(View itemView) {
+        int position = ((TaskViewHolder) itemView.getTag()).getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) return;
 
-        for (Priority priority : priorities) {
-            priorityMap.put(priority.getId(), priority);
+        if (isInSelectionMode()) {
+            toggleSelection(position);
+            return;
         }
+
+        Intent intent = new Intent(context, TaskDetailActivity.class);
+        intent.putExtra(TaskDetailActivity.EXTRA_TASK_ID, differ.getCurrentList().get(position).getTaskId());
+        context.startActivity(intent);
     }
 
-    private String getPriorityLabel(long priorityId) {
-        Priority priority = priorityMap.get(priorityId);
-        if (priority == null || priority.getLabel() == null || priority.getLabel().trim().isEmpty()) {
-            return "Low";
+    private boolean onItemLongClicked(View itemView) {
+        int position = ((TaskViewHolder) itemView.getTag()).getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION || !selectionEnabled) return false;
+
+        toggleSelection(position);
+        return true;
+    }
+
+    private void toggleSelection(int position) {
+        long taskId = differ.getCurrentList().get(position).getTaskId();
+        int index = selectedIds.indexOfKey(taskId);
+        if (index >= 0) {
+            selectedIds.removeAt(index);
+        } else {
+            selectedIds.put(taskId, Boolean.TRUE);
         }
-        return priority.getLabel().trim();
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        dispatchSelectionChanged();
     }
 
-    @ColorInt
-    private int resolvePriorityColor(String priorityLabel) {
-        String normalized = priorityLabel == null ? "" : priorityLabel.toLowerCase(Locale.ROOT);
+    private void pruneSelection() {
+        if (selectedIds.size() == 0) return;
+
+        LongSparseArray<Boolean> visible = new LongSparseArray<>();
+        for (TaskRowModel row : differ.getCurrentList()) {
+            visible.put(row.getTaskId(), Boolean.TRUE);
+        }
+        boolean changed = false;
+        for (int i = selectedIds.size() - 1; i >= 0; i--) {
+            if (visible.indexOfKey(selectedIds.keyAt(i)) < 0) {
+                selectedIds.removeAt(i);
+                changed = true;
+            }
+        }
+        if (changed) dispatchSelectionChanged();
+    }
 
-        if (normalized.contains("high")) {
-            return ContextCompat.getColor(context, android.R.color.holo_red_dark);
+    private void dispatchSelectionChanged() {
+        if (selectionListener != null) {
+            selectionListener.onSelectionChanged(selectedIds.size());
         }
-        if (normalized.contains("medium")) {
-            return ContextCompat.getColor(context, android.R.color.holo_orange_dark);
+    }
+
+    private static boolean onlySelectionPayloads(List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_SELECTION) return false;
         }
-        return ContextCompat.getColor(context, android.R.color.holo_green_dark);
+        return true;
     }
 
     static class TaskViewHolder extends RecyclerView.ViewHolder {
+        final MaterialCardView card;
         final TextView textTitle;
         final TextView textDeadline;
+        final TextView textDue;
         final Chip textStatus;
         final TextView textPriority;
         final View viewPriorityIndicator;
 
         TaskViewHolder(@NonNull View itemView) {
             super(itemView);
+            card = (MaterialCardView) itemView;
             textTitle = itemView.findViewById(R.id.textTaskTitle);
             textDeadline = itemView.findViewById(R.id.textTaskDeadline);
+            textDue = itemView.findViewById(R.id.textTaskDue);
             textStatus = itemView.findViewById(R.id.textTaskStatus);
             textPriority = itemView.findViewById(R.id.textTaskPriority);
             viewPriorityIndicator = itemView.findViewById(R.id.viewTaskPriorityIndicator);
@@ -0,0 +1,108 @@
+package com.example.studenttaskmanagement.analytics;
+
+import android.database.Cursor;
+
+import com.example.studenttaskmanagement.database.DatabaseContract;
+
+import java.util.Arrays;
+
+/**
+ * Study sessions as parallel primitive columns, in cursor order (oldest start first when loaded
+ * through {@code StudySessionDao.loadSessionColumns}).
+ *
+ * Row i is {@code (getStartTime(i), getEndTime(i), getDuration(i), getTaskId(i))}. A NULL end
+ * time (session still running) is stored as 0, as in {@code StudySession}.
+ */
+public final class SessionColumns {
+
+    private static final int MIN_CAPACITY = 16;
+
+    long[] startTimes;
+    long[] endTimes;
+    long[] durations;
+    long[] taskIds;
+    int size;
+
+    SessionColumns(int capacity) {
+        int initial = Math.max(MIN_CAPACITY, capacity);
+        startTimes = new long[initial];
+        endTimes = new long[initial];
+        durations = new long[initial];
+        taskIds = new long[initial];
+    }
+
+    /**
+     * Reads every row of {@code cursor} from its current position. Column indexes are resolved
+     * once; missing columns read as 0. The cursor is not closed.
+     */
+    public static SessionColumns fromCursor(Cursor cursor) {
+        SessionColumns columns = new SessionColumns(cursor.getCount());
+        int startIndex = cursor.getColumnIndex(DatabaseContract.StudySessions.COLUMN_START_TIME);
+        int endIndex = cursor.getColumnIndex(DatabaseContract.StudySessions.COLUMN_END_TIME);
+        int durationIndex = cursor.getColumnIndex(DatabaseContract.StudySessions.COLUMN_DURATION);
+        int taskIdIndex = cursor.getColumnIndex(DatabaseContract.StudySessions.COLUMN_TASK_ID);
+
+        while (cursor.moveToNext()) {
+            columns.add(
+                    readLong(cursor, startIndex),
+                    readLong(cursor, endIndex),
+                    readLong(cursor, durationIndex),
+                    readLong(cursor, taskIdIndex)
+            );
+        }
+        return columns;
+    }
+
+    private static long readLong(Cursor cursor, int index) {
+        return index >= 0 && !cursor.isNull(index) ? cursor.getLong(index) : 0L;
+    }
+
+    void add(long startTime, long endTime, long duration, long taskId) {
+        if (size == startTimes.length) {
+            int capacity = size + (size >> 1);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            taskIds = Arrays.copyOf(taskIds, capacity);
+        }
+        startTimes[size] = startTime;
+        endTimes[size] = endTime;
+        durations[size] = duration;
+        taskIds[size] = taskId;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getStartTime(int row) {
+        return startTimes[checkRow(row)];
+    }
+
+    public long getEndTime(int row) {
+        return endTimes[checkRow(row)];
+    }
+
+    public long getDuration(int row) {
+        return durations[checkRow(row)];
+    }
+
+    public long getTaskId(int row) {
+        return taskIds[checkRow(row)];
+    }
+
+    /**
+     * Same rule as the DAO aggregates: a session counts once it has an end time.
+     */
+    public boolean isEnded(int row) {
+        return endTimes[checkRow(row)] > 0L;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + size);
+        }
+        return row;
+    }
+}
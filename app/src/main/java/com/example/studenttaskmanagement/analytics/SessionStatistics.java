@@ -0,0 +1,191 @@
+package com.example.studenttaskmanagement.analytics;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * Statistics over {@link SessionColumns}. Only ended sessions count, as in the DAO aggregates.
+ *
+ * Each operator allocates its result and at most one scratch array, never an object per row.
+ * Local days and hours use the UTC offset at each session's start. The offset is looked up
+ * again only when a session falls outside the range where the last one was valid, so sorted
+ * input touches java.time about once per DST transition.
+ */
+public final class SessionStatistics {
+
+    private static final long HOUR_MILLIS = 60L * 60L * 1000L;
+    private static final long DAY_MILLIS = 24L * HOUR_MILLIS;
+
+    private SessionStatistics() {
+    }
+
+    /**
+     * Nearest-rank percentiles (0-100) of session durations in millis, one per requested
+     * percentile; all 0 when there are no ended sessions.
+     */
+    public static long[] durationPercentiles(SessionColumns columns, double... percentiles) {
+        long[] sorted = new long[columns.size];
+        int count = 0;
+        for (int i = 0; i < columns.size; i++) {
+            if (columns.endTimes[i] > 0L) sorted[count++] = columns.durations[i];
+        }
+        Arrays.sort(sorted, 0, count);
+
+        long[] result = new long[percentiles.length];
+        if (count == 0) return result;
+        for (int p = 0; p < percentiles.length; p++) {
+            int rank = (int) Math.ceil(percentiles[p] / 100D * count);
+            result[p] = sorted[Math.min(count - 1, Math.max(0, rank - 1))];
+        }
+        return result;
+    }
+
+    public static long medianDuration(SessionColumns columns) {
+        return durationPercentiles(columns, 50D)[0];
+    }
+
+    /**
+     * Session counts by duration: bucket i covers [i * bucketMillis, (i + 1) * bucketMillis),
+     * and the last bucket also takes everything longer.
+     */
+    public static int[] durationHistogram(SessionColumns columns, long bucketMillis, int buckets) {
+        if (bucketMillis <= 0L) throw new IllegalArgumentException("bucketMillis must be positive");
+        int[] histogram = new int[buckets];
+        if (buckets == 0) return histogram;
+        for (int i = 0; i < columns.size; i++) {
+            if (columns.endTimes[i] <= 0L) continue;
+            long bucket = Math.max(0L, columns.durations[i]) / bucketMillis;
+            histogram[(int) Math.min(buckets - 1, bucket)]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Focused millis per local hour of day (index 0-23). Sessions are split at hour boundaries,
+     * so a 10:40-11:20 session adds 20 minutes to both 10 and 11.
+     */
+    public static long[] focusByHourOfDay(SessionColumns columns, ZoneId zone) {
+        long[] hours = new long[24];
+        LocalOffsets offsets = new LocalOffsets(zone);
+        for (int i = 0; i < columns.size; i++) {
+            long remaining = columns.durations[i];
+            if (columns.endTimes[i] <= 0L || remaining <= 0L) continue;
+
+            long fullDays = remaining / DAY_MILLIS;
+            if (fullDays > 0L) {
+                for (int hour = 0; hour < 24; hour++) hours[hour] += fullDays * HOUR_MILLIS;
+                remaining -= fullDays * DAY_MILLIS;
+            }
+            long local = columns.startTimes[i] + offsets.at(columns.startTimes[i]);
+            while (remaining > 0L) {
+                long step = Math.min(remaining, HOUR_MILLIS - Math.floorMod(local, HOUR_MILLIS));
+                hours[(int) Math.floorMod(Math.floorDiv(local, HOUR_MILLIS), 24L)] += step;
+                local += step;
+                remaining -= step;
+            }
+        }
+        return hours;
+    }
+
+    /**
+     * Runs of consecutive local days with at least one ended session, by start day. The current
+     * streak ends today, or yesterday when nothing has been logged yet today.
+     */
+    public static Streaks streaks(SessionColumns columns, ZoneId zone, long nowMillis) {
+        LocalOffsets offsets = new LocalOffsets(zone);
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        for (int i = 0; i < columns.size; i++) {
+            if (columns.endTimes[i] <= 0L) continue;
+            long day = localDay(columns.startTimes[i], offsets);
+            if (day < firstDay) firstDay = day;
+            if (day > lastDay) lastDay = day;
+        }
+        if (firstDay > lastDay) return new Streaks(0, 0, 0);
+
+        long[] activeBits = new long[(int) ((lastDay - firstDay) >> 6) + 1];
+        for (int i = 0; i < columns.size; i++) {
+            if (columns.endTimes[i] <= 0L) continue;
+            int bit = (int) (localDay(columns.startTimes[i], offsets) - firstDay);
+            activeBits[bit >> 6] |= 1L << bit;
+        }
+
+        int activeDays = 0;
+        int longest = 0;
+        int run = 0;
+        int span = (int) (lastDay - firstDay) + 1;
+        for (int bit = 0; bit < span; bit++) {
+            if ((activeBits[bit >> 6] & (1L << bit)) != 0L) {
+                activeDays++;
+                run++;
+                if (run > longest) longest = run;
+            } else {
+                run = 0;
+            }
+        }
+
+        long today = localDay(nowMillis, offsets);
+        int current = 0;
+        if (lastDay >= today - 1L && lastDay <= today) {
+            // The last active day is today or yesterday; run holds the streak ending there.
+            current = run;
+        }
+        return new Streaks(longest, current, activeDays);
+    }
+
+    private static long localDay(long epochMillis, LocalOffsets offsets) {
+        return Math.floorDiv(epochMillis + offsets.at(epochMillis), DAY_MILLIS);
+    }
+
+    public static final class Streaks {
+        private final int longestDays;
+        private final int currentDays;
+        private final int activeDays;
+
+        public Streaks(int longestDays, int currentDays, int activeDays) {
+            this.longestDays = longestDays;
+            this.currentDays = currentDays;
+            this.activeDays = activeDays;
+        }
+
+        public int getLongestDays() {
+            return longestDays;
+        }
+
+        public int getCurrentDays() {
+            return currentDays;
+        }
+
+        public int getActiveDays() {
+            return activeDays;
+        }
+    }
+
+    /**
+     * UTC offset of a zone in millis, remembered for the range up to the next transition.
+     */
+    private static final class LocalOffsets {
+        private final ZoneRules rules;
+        private long validFrom = Long.MAX_VALUE;
+        private long validUntil = Long.MIN_VALUE;
+        private long offsetMillis;
+
+        LocalOffsets(ZoneId zone) {
+            this.rules = zone.getRules();
+        }
+
+        long at(long epochMillis) {
+            if (epochMillis < validFrom || epochMillis >= validUntil) {
+                Instant instant = Instant.ofEpochMilli(epochMillis);
+                ZoneOffsetTransition next = rules.nextTransition(instant);
+                offsetMillis = rules.getOffset(instant).getTotalSeconds() * 1000L;
+                validFrom = epochMillis;
+                validUntil = next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000L;
+            }
+            return offsetMillis;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.example.studenttaskmanagement.backup;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
+import com.example.studenttaskmanagement.database.ReadSnapshot;
+import com.example.studenttaskmanagement.database.dao.TaskDao;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Point-in-time snapshots of {@value AppDatabaseHelper#DATABASE_NAME} while the app is running.
+ *
+ * On API 30+ a snapshot is written with {@code VACUUM INTO} on a separate read-only connection.
+ * That is a plain read transaction, so in WAL mode the UI and the reminder worker keep writing
+ * while it runs. (On the shared helper it would go to the primary connection and queue every
+ * write behind it.) Older releases copy the main file and the WAL with
+ * {@link FileChannel#transferTo} while a {@link ReadSnapshot} is open, which does not block
+ * writers either.
+ *
+ * Every snapshot is quick-checked and gets a sidecar file with its CRC32 and size. Only the newest
+ * {@link #DEFAULT_MAX_SNAPSHOTS} are kept.
+ *
+ * Restore does not replace the database file. The shared {@link AppDatabaseHelper#getInstance}
+ * stays open for the life of the process, and a renamed file would leave its connections on the
+ * old inode. Instead the verified snapshot is copied into the live database in one exclusive
+ * transaction on that helper, so every connection sees either the old data or the restored data.
+ */
+public class DatabaseBackupManager {
+
+    public static final int DEFAULT_MAX_SNAPSHOTS = 5;
+
+    private static final String TAG = "DatabaseBackupManager";
+    private static final String BACKUP_DIR = "db-backups";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".db";
+    private static final String CHECKSUM_SUFFIX = ".crc";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Context appContext;
+    private final File backupDir;
+    private final int maxSnapshots;
+
+    public DatabaseBackupManager(@NonNull Context context) {
+        this(context, DEFAULT_MAX_SNAPSHOTS);
+    }
+
+    public DatabaseBackupManager(@NonNull Context context, int maxSnapshots) {
+        this.appContext = context.getApplicationContext();
+        this.backupDir = new File(appContext.getFilesDir(), BACKUP_DIR);
+        this.maxSnapshots = Math.max(1, maxSnapshots);
+    }
+
+    /**
+     * Writes a new snapshot, verifies it and deletes the oldest ones beyond the limit.
+     */
+    @WorkerThread
+    @NonNull
+    public Snapshot backup() throws IOException {
+        long startedAt = System.nanoTime();
+        if (!backupDir.isDirectory() && !backupDir.mkdirs()) {
+            throw new IOException("Cannot create " + backupDir);
+        }
+
+        File liveFile = appContext.getDatabasePath(AppDatabaseHelper.DATABASE_NAME);
+        String name = SNAPSHOT_PREFIX + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS", Locale.US).format(new Date()) + SNAPSHOT_SUFFIX;
+        File target = new File(backupDir, name);
+        File temp = new File(backupDir, name + TEMP_SUFFIX);
+        deleteWithCompanions(temp);
+
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+                vacuumInto(liveFile, temp);
+            } else {
+                copyInReadSnapshot(liveFile, temp);
+            }
+            verifyIntegrity(temp);
+
+            long crc = crc32(temp);
+            if (!temp.renameTo(target)) throw new IOException("Cannot rename " + temp + " to " + target);
+            writeChecksum(target, crc);
+        } catch (IOException | RuntimeException e) {
+            deleteWithCompanions(temp);
+            throw e;
+        }
+
+        rotate();
+        Snapshot snapshot = new Snapshot(target, target.lastModified(), target.length(), readChecksum(target));
+        Log.i(TAG, "Backup " + snapshot + " in " + (System.nanoTime() - startedAt) / 1_000_000L + " ms");
+        return snapshot;
+    }
+
+    /**
+     * Snapshots on disk, newest first. Snapshots without a readable checksum are skipped.
+     */
+    @WorkerThread
+    @NonNull
+    public List<Snapshot> listSnapshots() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        File[] files = backupDir.listFiles((dir, fileName) ->
+                fileName.startsWith(SNAPSHOT_PREFIX) && fileName.endsWith(SNAPSHOT_SUFFIX));
+        if (files == null) return snapshots;
+
+        // Names embed the creation time, so reverse name order is newest first.
+        Arrays.sort(files, (a, b) -> b.getName().compareTo(a.getName()));
+        for (File file : files) {
+            try {
+                snapshots.add(new Snapshot(file, file.lastModified(), file.length(), readChecksum(file)));
+            } catch (IOException e) {
+                Log.w(TAG, "Ignoring snapshot without checksum: " + file.getName(), e);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Replaces the contents of the live database with the snapshot.
+     *
+     * @throws IOException if the checksum does not match, the file is corrupt or it was taken
+     *                     with a different schema version; the live database is then untouched
+     */
+    @WorkerThread
+    public void restore(@NonNull Snapshot snapshot) throws IOException {
+        long startedAt = System.nanoTime();
+        File file = snapshot.getFile();
+        if (crc32(file) != snapshot.getCrc32() || file.length() != snapshot.getSizeBytes()) {
+            throw new IOException("Checksum mismatch for " + file.getName());
+        }
+
+        SQLiteDatabase source = SQLiteDatabase.openDatabase(file.getPath(), null, SQLiteDatabase.OPEN_READONLY);
+        try {
+            checkQuick(source, file);
+            if (source.getVersion() != AppDatabaseHelper.DATABASE_VERSION) {
+                throw new IOException("Snapshot schema version " + source.getVersion()
+                        + " does not match " + AppDatabaseHelper.DATABASE_VERSION);
+            }
+
+            String[] tables = copyAllTables(source, AppDatabaseHelper.getInstance(appContext).getWritableDatabase());
+            TaskDao.invalidateCache();
+            DatabaseChangeTracker.getInstance().notifyTablesChanged(tables);
+        } finally {
+            source.close();
+        }
+        Log.i(TAG, "Restored " + file.getName() + " in " + (System.nanoTime() - startedAt) / 1_000_000L + " ms");
+    }
+
+    private void vacuumInto(File liveFile, File target) {
+        SQLiteDatabase db = SQLiteDatabase.openDatabase(liveFile.getPath(), null, SQLiteDatabase.OPEN_READONLY);
+        try {
+            db.execSQL("VACUUM INTO ?", new Object[]{target.getPath()});
+        } finally {
+            db.close();
+        }
+    }
+
+    /**
+     * Pre-R fallback. While the snapshot's reader is open, a checkpoint never writes a page newer
+     * than its snapshot into the main file, and the WAL never restarts over frames the reader
+     * still needs. So the main file plus the WAL copied after it open as a consistent database:
+     * recovery replays the WAL up to its last complete commit and ignores a frame torn by the copy.
+     * Commits made during the copy may or may not be included.
+     */
+    private void copyInReadSnapshot(File liveFile, File target) throws IOException {
+        File liveWal = new File(liveFile.getPath() + "-wal");
+        File targetWal = new File(target.getPath() + "-wal");
+
+        // Moves committed frames into the main file so less WAL is copied; PASSIVE never waits.
+        checkpoint(AppDatabaseHelper.getInstance(appContext).getWritableDatabase(), "PASSIVE");
+
+        try (ReadSnapshot ignored = ReadSnapshot.open(appContext)) {
+            copyFile(liveFile, target);
+            if (liveWal.length() > 0) copyFile(liveWal, targetWal);
+        }
+
+        if (targetWal.exists()) {
+            SQLiteDatabase copy = SQLiteDatabase.openDatabase(target.getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+            try {
+                checkpoint(copy, "TRUNCATE");
+            } finally {
+                copy.close();
+            }
+            deleteCompanions(target);
+        }
+    }
+
+    private static void checkpoint(SQLiteDatabase db, String mode) {
+        Cursor cursor = db.rawQuery("PRAGMA wal_checkpoint(" + mode + ")", null);
+        if (cursor != null) {
+            try {
+                cursor.moveToFirst();
+            } finally {
+                cursor.close();
+            }
+        }
+    }
+
+    private static void copyFile(File from, File to) throws IOException {
+        try (FileInputStream in = new FileInputStream(from);
+             FileOutputStream out = new FileOutputStream(to)) {
+            FileChannel source = in.getChannel();
+            FileChannel destination = out.getChannel();
+            long size = source.size();
+            long position = 0L;
+            while (position < size) {
+                position += source.transferTo(position, size - position, destination);
+            }
+            destination.force(true);
+        }
+    }
+
+    private static void verifyIntegrity(File file) throws IOException {
+        SQLiteDatabase db = SQLiteDatabase.openDatabase(file.getPath(), null, SQLiteDatabase.OPEN_READONLY);
+        try {
+            checkQuick(db, file);
+        } finally {
+            db.close();
+        }
+    }
+
+    private static void checkQuick(SQLiteDatabase db, File file) throws IOException {
+        Cursor cursor = db.rawQuery("PRAGMA quick_check", null);
+        if (cursor != null) {
+            try {
+                if (cursor.moveToFirst() && "ok".equalsIgnoreCase(cursor.getString(0))) return;
+                throw new IOException("Integrity check failed for " + file.getName()
+                        + (cursor.getCount() > 0 ? ": " + cursor.getString(0) : ""));
+            } finally {
+                cursor.close();
+            }
+        }
+        throw new IOException("Integrity check failed for " + file.getName());
+    }
+
+    /**
+     * Copies every app table (and AUTOINCREMENT counters) from source to target in one transaction.
+     * Foreign keys are checked at commit, so tables can be filled in any order.
+     *
+     * @return the names of the copied tables
+     */
+    private static String[] copyAllTables(SQLiteDatabase source, SQLiteDatabase target) {
+        List<String> tables = new ArrayList<>();
+        Cursor cursor = target.rawQuery(
+                "SELECT name FROM sqlite_master WHERE type = 'table'"
+                        + " AND name NOT LIKE 'sqlite_%' AND name != 'android_metadata'",
+                null
+        );
+        if (cursor != null) {
+            try {
+                while (cursor.moveToNext()) {
+                    tables.add(cursor.getString(0));
+                }
+            } finally {
+                cursor.close();
+            }
+        }
+
+        target.beginTransaction();
+        try {
+            target.execSQL("PRAGMA defer_foreign_keys = ON");
+            for (String table : tables) {
+                target.execSQL("DELETE FROM " + table);
+            }
+            for (String table : tables) {
+                copyRows(source, target, table);
+            }
+            target.execSQL("DELETE FROM sqlite_sequence");
+            copyRows(source, target, "sqlite_sequence");
+            target.setTransactionSuccessful();
+        } finally {
+            target.endTransaction();
+        }
+        return tables.toArray(new String[0]);
+    }
+
+    private static void copyRows(SQLiteDatabase source, SQLiteDatabase target, String table) {
+        Cursor rows = source.rawQuery("SELECT * FROM " + table, null);
+        if (rows == null) return;
+        try {
+            String[] columns = rows.getColumnNames();
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (");
+            for (int i = 0; i < columns.length; i++) {
+                sql.append(i == 0 ? "" : ", ").append(columns[i]);
+            }
+            sql.append(") VALUES (");
+            for (int i = 0; i < columns.length; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+
+            SQLiteStatement insert = target.compileStatement(sql.toString());
+            try {
+                while (rows.moveToNext()) {
+                    insert.clearBindings();
+                    for (int i = 0; i < columns.length; i++) {
+                        switch (rows.getType(i)) {
+                            case Cursor.FIELD_TYPE_INTEGER:
+                                insert.bindLong(i + 1, rows.getLong(i));
+                                break;
+                            case Cursor.FIELD_TYPE_FLOAT:
+                                insert.bindDouble(i + 1, rows.getDouble(i));
+                                break;
+                            case Cursor.FIELD_TYPE_STRING:
+                                insert.bindString(i + 1, rows.getString(i));
+                                break;
+                            case Cursor.FIELD_TYPE_BLOB:
+                                insert.bindBlob(i + 1, rows.getBlob(i));
+                                break;
+                            default:
+                                // NULL: left unbound.
+                                break;
+                        }
+                    }
+                    insert.executeInsert();
+                }
+            } finally {
+                insert.close();
+            }
+        } finally {
+            rows.close();
+        }
+    }
+
+    private void rotate() {
+        File[] files = backupDir.listFiles((dir, fileName) ->
+                fileName.startsWith(SNAPSHOT_PREFIX) && fileName.endsWith(SNAPSHOT_SUFFIX));
+        if (files == null || files.length <= maxSnapshots) return;
+
+        Arrays.sort(files, (a, b) -> b.getName().compareTo(a.getName()));
+        for (int i = maxSnapshots; i < files.length; i++) {
+            deleteWithCompanions(files[i]);
+            if (!checksumFile(files[i]).delete()) Log.w(TAG, "Could not delete checksum of " + files[i].getName());
+        }
+    }
+
+    private static long crc32(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static File checksumFile(File snapshotFile) {
+        return new File(snapshotFile.getPath() + CHECKSUM_SUFFIX);
+    }
+
+    private static void writeChecksum(File snapshotFile, long crc) throws IOException {
+        File file = checksumFile(snapshotFile);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(Long.toHexString(crc) + " " + snapshotFile.length());
+        }
+    }
+
+    /**
+     * Reads the CRC32 from the sidecar file; the size is checked against the snapshot.
+     */
+    private static long readChecksum(File snapshotFile) throws IOException {
+        File file = checksumFile(snapshotFile);
+        byte[] bytes = new byte[(int) Math.min(file.length(), 64)];
+        try (InputStream in = new FileInputStream(file)) {
+            int read = in.read(bytes);
+            String[] parts = new String(bytes, 0, Math.max(read, 0), StandardCharsets.UTF_8).trim().split(" ");
+            if (parts.length != 2 || Long.parseLong(parts[1]) != snapshotFile.length()) {
+                throw new IOException("Size mismatch for " + snapshotFile.getName());
+            }
+            return Long.parseLong(parts[0], 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Bad checksum file for " + snapshotFile.getName(), e);
+        }
+    }
+
+    private static void deleteWithCompanions(File file) {
+        if (file.exists() && !file.delete()) Log.w(TAG, "Could not delete " + file.getName());
+        deleteCompanions(file);
+    }
+
+    private static void deleteCompanions(File file) {
+        for (String suffix : new String[]{"-wal", "-shm", "-journal"}) {
+            File companion = new File(file.getPath() + suffix);
+            if (companion.exists() && !companion.delete()) Log.w(TAG, "Could not delete " + companion.getName());
+        }
+    }
+
+    /**
+     * A snapshot file on disk with the checksum recorded when it was taken.
+     */
+    public static final class Snapshot {
+        private final File file;
+        private final long createdAtMillis;
+        private final long sizeBytes;
+        private final long crc32;
+
+        Snapshot(File file, long createdAtMillis, long sizeBytes, long crc32) {
+            this.file = file;
+            this.createdAtMillis = createdAtMillis;
+            this.sizeBytes = sizeBytes;
+            this.crc32 = crc32;
+        }
+
+        @NonNull
+        public File getFile() {
+            return file;
+        }
+
+        public long getCreatedAtMillis() {
+            return createdAtMillis;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public long getCrc32() {
+            return crc32;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s (%d KB, crc %08x)", file.getName(), sizeBytes / 1024, crc32);
+        }
+    }
+}
@@ -6,17 +6,60 @@ import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.example.studenttaskmanagement.database.metrics.MetricsCursorFactory;
+import com.example.studenttaskmanagement.model.TaskStatus;
 
 /**
  * SQLiteOpenHelper implementation for the Student Task Management System.
+ *
+ * Everything in the app shares {@link #getInstance(Context)}, so the database is opened and
+ * configured once per process and there is a single connection pool per file. Write-ahead
+ * logging gives that shared helper a pool of read connections.
  */
 public class AppDatabaseHelper extends SQLiteOpenHelper {
 
-    private static final String DATABASE_NAME = "student_task_management.db";
-    private static final int DATABASE_VERSION = 4;
+    public static final String DATABASE_NAME = "student_task_management.db";
+    public static final int DATABASE_VERSION = 9;
+
+    private static volatile AppDatabaseHelper sharedInstance;
 
-    public AppDatabaseHelper(@NonNull Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    private AppDatabaseHelper(@NonNull Context context) {
+        super(context, DATABASE_NAME, new MetricsCursorFactory(), DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * Process-wide helper used by the DAOs. Must never be closed.
+     */
+    @NonNull
+    public static AppDatabaseHelper getInstance(@NonNull Context context) {
+        AppDatabaseHelper instance = sharedInstance;
+        if (instance == null) {
+            synchronized (AppDatabaseHelper.class) {
+                instance = sharedInstance;
+                if (instance == null) {
+                    instance = new AppDatabaseHelper(context.getApplicationContext());
+                    sharedInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Closes and forgets the shared helper, so the next {@link #getInstance(Context)} opens the
+     * database again with the current context. Robolectric keeps static state between tests.
+     */
+    @VisibleForTesting
+    public static void resetSharedInstance() {
+        synchronized (AppDatabaseHelper.class) {
+            if (sharedInstance != null) {
+                sharedInstance.close();
+                sharedInstance = null;
+            }
+        }
     }
 
     @Override
@@ -35,13 +78,31 @@ public class AppDatabaseHelper extends SQLiteOpenHelper {
         db.execSQL(createStudySessionsTable());
         db.execSQL(createAttachmentsTable());
         db.execSQL(createNotificationsTable());
+        createArchiveTables(db);
+        createTaskIndexes(db);
+        addCompletionTimestamps(db);
+        createSessionIndexes(db);
+        createArchivedSessionIndexes(db);
 
         seedInitialData(db);
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // Since we're changing schema, easiest is recreate for now:
+        if (oldVersion >= 4) {
+            // From version 4 on, upgrades are additive and keep the user's data.
+            if (oldVersion < 5) createArchiveTables(db);
+            if (oldVersion < 6) createTaskIndexes(db);
+            if (oldVersion < 7) addCompletionTimestamps(db);
+            if (oldVersion < 8) createSessionIndexes(db);
+            if (oldVersion < 9) createArchivedSessionIndexes(db);
+            return;
+        }
+
+        // Older schemas changed incompatibly; recreate:
+        db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.ArchivedAttachments.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.ArchivedStudySessions.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.ArchivedTasks.TABLE_NAME);
         db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.Notifications.TABLE_NAME);
         db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.Attachments.TABLE_NAME);
         db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.StudySessions.TABLE_NAME);
@@ -132,6 +193,105 @@ public class AppDatabaseHelper extends SQLiteOpenHelper {
                 + ")";
     }
 
+    /**
+     * Cold copies of tasks, sessions and attachments (version 5). No foreign keys to the hot
+     * tables, so archived rows survive the deletion of their originals. Rows keep their IDs;
+     * AUTOINCREMENT on the hot tables guarantees those IDs are never handed out again.
+     */
+    private void createArchiveTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + DatabaseContract.ArchivedTasks.TABLE_NAME + " ("
+                + DatabaseContract.ArchivedTasks._ID + " INTEGER PRIMARY KEY, "
+                + DatabaseContract.Tasks.COLUMN_TITLE + " TEXT NOT NULL, "
+                + DatabaseContract.Tasks.COLUMN_DESCRIPTION + " TEXT, "
+                + DatabaseContract.Tasks.COLUMN_DEADLINE + " TEXT, "
+                + DatabaseContract.Tasks.COLUMN_STATUS + " INTEGER DEFAULT 0, "
+                + DatabaseContract.Tasks.COLUMN_CATEGORY_ID + " INTEGER, "
+                + DatabaseContract.Tasks.COLUMN_PRIORITY_ID + " INTEGER, "
+                + DatabaseContract.Tasks.COLUMN_USER_ID + " INTEGER, "
+                + DatabaseContract.ArchivedTasks.COLUMN_ARCHIVED_AT + " INTEGER NOT NULL"
+                + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_archived_tasks_user ON "
+                + DatabaseContract.ArchivedTasks.TABLE_NAME + "(" + DatabaseContract.Tasks.COLUMN_USER_ID + ")");
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + DatabaseContract.ArchivedStudySessions.TABLE_NAME + " ("
+                + DatabaseContract.ArchivedStudySessions._ID + " INTEGER PRIMARY KEY, "
+                + DatabaseContract.StudySessions.COLUMN_TASK_ID + " INTEGER NOT NULL, "
+                + DatabaseContract.StudySessions.COLUMN_START_TIME + " INTEGER, "
+                + DatabaseContract.StudySessions.COLUMN_END_TIME + " INTEGER, "
+                + DatabaseContract.StudySessions.COLUMN_DURATION + " INTEGER, "
+                + "FOREIGN KEY(" + DatabaseContract.StudySessions.COLUMN_TASK_ID + ") REFERENCES "
+                + DatabaseContract.ArchivedTasks.TABLE_NAME + "(" + DatabaseContract.ArchivedTasks._ID + ") ON DELETE CASCADE"
+                + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_archived_sessions_task ON "
+                + DatabaseContract.ArchivedStudySessions.TABLE_NAME + "(" + DatabaseContract.StudySessions.COLUMN_TASK_ID + ")");
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + DatabaseContract.ArchivedAttachments.TABLE_NAME + " ("
+                + DatabaseContract.ArchivedAttachments._ID + " INTEGER PRIMARY KEY, "
+                + DatabaseContract.Attachments.COLUMN_TASK_ID + " INTEGER NOT NULL, "
+                + DatabaseContract.Attachments.COLUMN_FILE_PATH + " TEXT, "
+                + DatabaseContract.Attachments.COLUMN_TYPE + " TEXT, "
+                + "FOREIGN KEY(" + DatabaseContract.Attachments.COLUMN_TASK_ID + ") REFERENCES "
+                + DatabaseContract.ArchivedTasks.TABLE_NAME + "(" + DatabaseContract.ArchivedTasks._ID + ") ON DELETE CASCADE"
+                + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_archived_attachments_task ON "
+                + DatabaseContract.ArchivedAttachments.TABLE_NAME + "(" + DatabaseContract.Attachments.COLUMN_TASK_ID + ")");
+    }
+
+    /**
+     * Version 6. Covers the dashboard's per-user aggregates over status and deadline, so they
+     * are answered from the index without reading task rows.
+     */
+    private void createTaskIndexes(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_tasks_user_status_deadline ON "
+                + DatabaseContract.Tasks.TABLE_NAME + "("
+                + DatabaseContract.Tasks.COLUMN_USER_ID + ", "
+                + DatabaseContract.Tasks.COLUMN_STATUS + ", "
+                + DatabaseContract.Tasks.COLUMN_DEADLINE + ")");
+    }
+
+    /**
+     * Version 7. Adds completed_at to live and archived tasks, indexed per user for the velocity
+     * queries. Tasks already completed get their deadline as completion time (the proxy the
+     * forecast used before), capped at the upgrade time; without a deadline it stays NULL.
+     */
+    private void addCompletionTimestamps(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE " + DatabaseContract.Tasks.TABLE_NAME
+                + " ADD COLUMN " + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + " INTEGER");
+        db.execSQL("ALTER TABLE " + DatabaseContract.ArchivedTasks.TABLE_NAME
+                + " ADD COLUMN " + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + " INTEGER");
+
+        long now = System.currentTimeMillis();
+        for (String table : new String[]{DatabaseContract.Tasks.TABLE_NAME, DatabaseContract.ArchivedTasks.TABLE_NAME}) {
+            // 'utc' reads the stored local time and converts it to UTC.
+            db.execSQL("UPDATE " + table + " SET " + DatabaseContract.Tasks.COLUMN_COMPLETED_AT
+                            + " = MIN(?, CAST(strftime('%s', " + DatabaseContract.Tasks.COLUMN_DEADLINE + ", 'utc') AS INTEGER) * 1000)"
+                            + " WHERE " + DatabaseContract.Tasks.COLUMN_STATUS + " = " + TaskStatus.COMPLETED
+                            + " AND strftime('%s', " + DatabaseContract.Tasks.COLUMN_DEADLINE + ", 'utc') IS NOT NULL",
+                    new Object[]{now});
+        }
+
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_tasks_user_completed_at ON "
+                + DatabaseContract.Tasks.TABLE_NAME + "("
+                + DatabaseContract.Tasks.COLUMN_USER_ID + ", "
+                + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + ")");
+    }
+
+    /**
+     * Version 8. The dashboard's weekly figures and trend buckets are all range scans on start_time.
+     */
+    private void createSessionIndexes(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_study_sessions_start_time ON "
+                + DatabaseContract.StudySessions.TABLE_NAME + "(" + DatabaseContract.StudySessions.COLUMN_START_TIME + ")");
+    }
+
+    /**
+     * Version 9. Session analytics read archived sessions as well, with the same range scan on start_time.
+     */
+    private void createArchivedSessionIndexes(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_archived_study_sessions_start_time ON "
+                + DatabaseContract.ArchivedStudySessions.TABLE_NAME + "(" + DatabaseContract.StudySessions.COLUMN_START_TIME + ")");
+    }
+
     private void seedInitialData(SQLiteDatabase db) {
         seedDefaultUser(db);
         seedPriorities(db);
@@ -0,0 +1,100 @@
+package com.example.studenttaskmanagement.database;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide record of table writes made through the DAO layer.
+ *
+ * DAOs call {@link #notifyTablesChanged(String...)} after every successful write. Each call
+ * stamps the written tables with a new, monotonically increasing version and notifies the
+ * observers registered for any of them, so observable queries know when to re-run.
+ */
+public final class DatabaseChangeTracker {
+
+    /**
+     * Callback for table writes. May be invoked on any thread, including the writer's.
+     */
+    public interface Observer {
+        void onTablesChanged();
+    }
+
+    private static final DatabaseChangeTracker INSTANCE = new DatabaseChangeTracker();
+
+    private final AtomicLong versionCounter = new AtomicLong();
+    private final Map<String, Long> tableVersions = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    private DatabaseChangeTracker() {
+    }
+
+    public static DatabaseChangeTracker getInstance() {
+        return INSTANCE;
+    }
+
+    public void addObserver(@NonNull Observer observer, @NonNull String... tables) {
+        registrations.add(new Registration(observer, tables.clone()));
+    }
+
+    public void removeObserver(@NonNull Observer observer) {
+        for (Registration registration : registrations) {
+            if (registration.observer == observer) {
+                registrations.remove(registration);
+            }
+        }
+    }
+
+    /**
+     * Records a write to the given tables and notifies interested observers.
+     */
+    public void notifyTablesChanged(@NonNull String... tables) {
+        long version = versionCounter.incrementAndGet();
+        for (String table : tables) {
+            tableVersions.put(table, version);
+        }
+
+        for (Registration registration : registrations) {
+            if (registration.matchesAny(tables)) {
+                registration.observer.onTablesChanged();
+            }
+        }
+    }
+
+    /**
+     * Returns the version of the most recent write to any of the given tables,
+     * or 0 if none of them has been written since process start.
+     */
+    public long getVersion(@NonNull String... tables) {
+        long version = 0L;
+        for (String table : tables) {
+            Long tableVersion = tableVersions.get(table);
+            if (tableVersion != null && tableVersion > version) {
+                version = tableVersion;
+            }
+        }
+        return version;
+    }
+
+    private static final class Registration {
+        final Observer observer;
+        final String[] tables;
+
+        Registration(Observer observer, String[] tables) {
+            this.observer = observer;
+            this.tables = tables;
+        }
+
+        boolean matchesAny(String[] changedTables) {
+            for (String changed : changedTables) {
+                for (String table : tables) {
+                    if (table.equals(changed)) return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -51,6 +51,11 @@ public final class DatabaseContract {
         public static final String COLUMN_CATEGORY_ID = "category_id";
         public static final String COLUMN_PRIORITY_ID = "priority_id";
         public static final String COLUMN_USER_ID = "user_id";
+        /**
+         * Epoch millis of the last transition to completed; NULL while the task is not completed.
+         * Tasks completed before version 7 were backfilled from their deadline.
+         */
+        public static final String COLUMN_COMPLETED_AT = "completed_at";
 
         private Tasks() {}
     }
@@ -74,6 +79,35 @@ public final class DatabaseContract {
         private Attachments() {}
     }
 
+    /**
+     * Completed tasks moved out of {@link Tasks} by the archival job.
+     * Same columns as {@link Tasks} plus {@link #COLUMN_ARCHIVED_AT}; task IDs are kept.
+     */
+    public static final class ArchivedTasks implements BaseColumns {
+        public static final String TABLE_NAME = "archived_tasks";
+        public static final String COLUMN_ARCHIVED_AT = "archived_at";
+
+        private ArchivedTasks() {}
+    }
+
+    /**
+     * Sessions of archived tasks. Same columns as {@link StudySessions}.
+     */
+    public static final class ArchivedStudySessions implements BaseColumns {
+        public static final String TABLE_NAME = "archived_study_sessions";
+
+        private ArchivedStudySessions() {}
+    }
+
+    /**
+     * Attachments of archived tasks. Same columns as {@link Attachments}.
+     */
+    public static final class ArchivedAttachments implements BaseColumns {
+        public static final String TABLE_NAME = "archived_attachments";
+
+        private ArchivedAttachments() {}
+    }
+
     public static final class Notifications implements BaseColumns {
         public static final String TABLE_NAME = "notifications";
         public static final String COLUMN_TASK_ID = "task_id";
@@ -0,0 +1,161 @@
+package com.example.studenttaskmanagement.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import java.util.Locale;
+
+/**
+ * Housekeeping for the app database: integrity check, page reclamation and planner statistics.
+ *
+ * Tables are created after Android adds android_metadata, so auto_vacuum cannot be switched on
+ * in onCreate or inside onUpgrade's transaction. The first run converts the file to
+ * auto_vacuum=INCREMENTAL with a one-off VACUUM; later runs only release free pages with
+ * incremental_vacuum, which is cheap.
+ */
+public class DatabaseMaintenance {
+
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private final AppDatabaseHelper databaseHelper;
+
+    public DatabaseMaintenance(@NonNull Context context) {
+        this.databaseHelper = AppDatabaseHelper.getInstance(context);
+    }
+
+    /**
+     * Runs quick_check, reclaims free pages and refreshes planner statistics.
+     * Holds the write lock for the vacuum steps, so call it from a background job.
+     */
+    @WorkerThread
+    @NonNull
+    public Report run() {
+        long startNanos = System.nanoTime();
+        SQLiteDatabase db = databaseHelper.getWritableDatabase();
+        long sizeBefore = databaseSizeBytes(db);
+
+        String integrity = queryString(db, "PRAGMA quick_check");
+        boolean healthy = "ok".equalsIgnoreCase(integrity);
+
+        boolean converted = false;
+        if (healthy) {
+            if (queryLong(db, "PRAGMA auto_vacuum") != AUTO_VACUUM_INCREMENTAL) {
+                db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+                db.execSQL("VACUUM");
+                converted = true;
+            } else {
+                // Returns no rows; stepping the cursor runs it.
+                queryString(db, "PRAGMA incremental_vacuum");
+            }
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            // SQLite 3.18+: analyzes only tables whose statistics are stale.
+            queryString(db, "PRAGMA optimize");
+        } else {
+            db.execSQL("ANALYZE");
+        }
+
+        return new Report(
+                sizeBefore,
+                databaseSizeBytes(db),
+                healthy ? "ok" : integrity,
+                converted,
+                System.nanoTime() - startNanos
+        );
+    }
+
+    private static long databaseSizeBytes(SQLiteDatabase db) {
+        return queryLong(db, "PRAGMA page_count") * queryLong(db, "PRAGMA page_size");
+    }
+
+    private static long queryLong(SQLiteDatabase db, String sql) {
+        Cursor cursor = db.rawQuery(sql, null);
+        long value = 0L;
+        if (cursor != null) {
+            try {
+                if (cursor.moveToFirst()) {
+                    value = cursor.getLong(0);
+                }
+            } finally {
+                cursor.close();
+            }
+        }
+        return value;
+    }
+
+    private static String queryString(SQLiteDatabase db, String sql) {
+        Cursor cursor = db.rawQuery(sql, null);
+        String value = null;
+        if (cursor != null) {
+            try {
+                if (cursor.moveToFirst()) {
+                    value = cursor.getString(0);
+                }
+            } finally {
+                cursor.close();
+            }
+        }
+        return value;
+    }
+
+    public static final class Report {
+        private final long sizeBeforeBytes;
+        private final long sizeAfterBytes;
+        private final String integrityResult;
+        private final boolean convertedToIncrementalVacuum;
+        private final long elapsedNanos;
+
+        Report(long sizeBeforeBytes, long sizeAfterBytes, String integrityResult,
+               boolean convertedToIncrementalVacuum, long elapsedNanos) {
+            this.sizeBeforeBytes = sizeBeforeBytes;
+            this.sizeAfterBytes = sizeAfterBytes;
+            this.integrityResult = integrityResult;
+            this.convertedToIncrementalVacuum = convertedToIncrementalVacuum;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getSizeBeforeBytes() {
+            return sizeBeforeBytes;
+        }
+
+        public long getSizeAfterBytes() {
+            return sizeAfterBytes;
+        }
+
+        /**
+         * "ok", or the first problem reported by quick_check (vacuum is skipped then).
+         */
+        public String getIntegrityResult() {
+            return integrityResult;
+        }
+
+        public boolean isHealthy() {
+            return "ok".equals(integrityResult);
+        }
+
+        public boolean wasConvertedToIncrementalVacuum() {
+            return convertedToIncrementalVacuum;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000L;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "integrity=%s, size %d KB -> %d KB%s in %d ms",
+                    integrityResult,
+                    sizeBeforeBytes / 1024,
+                    sizeAfterBytes / 1024,
+                    convertedToIncrementalVacuum ? " (converted to incremental vacuum)" : "",
+                    getElapsedMillis());
+        }
+    }
+}
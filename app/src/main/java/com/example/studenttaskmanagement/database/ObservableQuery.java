@@ -0,0 +1,172 @@
+package com.example.studenttaskmanagement.database;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LiveData-style wrapper around a database query.
+ *
+ * While at least one observer is started, the query re-runs on a background thread whenever
+ * one of its tables is written through the DAO layer (see {@link DatabaseChangeTracker}).
+ * Writes that arrive before a pending re-query has started are coalesced into that re-query.
+ * Results are delivered on the main thread. When observers come back after being stopped,
+ * the query only re-runs if its tables changed in the meantime.
+ */
+public class ObservableQuery<T> {
+
+    private static final String TAG = "ObservableQuery";
+
+    private static final ExecutorService QUERY_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    public interface Query<T> {
+        T run();
+    }
+
+    public interface Observer<T> {
+        void onChanged(T value);
+
+        default void onError(@NonNull Throwable error) {
+        }
+    }
+
+    private final Query<T> query;
+    private final String[] tables;
+    private final DatabaseChangeTracker changeTracker = DatabaseChangeTracker.getInstance();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicBoolean refreshPending = new AtomicBoolean(false);
+    private final DatabaseChangeTracker.Observer tableObserver = this::scheduleRefresh;
+
+    // Main-thread state.
+    private final List<BoundObserver> observers = new ArrayList<>();
+    private int activeCount = 0;
+    private boolean hasValue = false;
+    private T value;
+    private long loadedVersion = -1L;
+
+    public ObservableQuery(@NonNull Query<T> query, @NonNull String... tables) {
+        this.query = query;
+        this.tables = tables.clone();
+    }
+
+    /**
+     * Observes results for as long as the owner is at least STARTED.
+     * The observer is removed automatically when the owner is destroyed.
+     */
+    @MainThread
+    public void observe(@NonNull LifecycleOwner owner, @NonNull Observer<T> observer) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) return;
+
+        BoundObserver boundObserver = new BoundObserver(lifecycle, observer);
+        observers.add(boundObserver);
+        lifecycle.addObserver(boundObserver);
+    }
+
+    /**
+     * Forces a re-query even if no table has changed, e.g. for time-dependent results.
+     */
+    public void refresh() {
+        scheduleRefresh();
+    }
+
+    private void onObserverActive() {
+        activeCount++;
+        if (activeCount == 1) {
+            changeTracker.addObserver(tableObserver, tables);
+            if (!hasValue || loadedVersion != changeTracker.getVersion(tables)) {
+                scheduleRefresh();
+            }
+        }
+    }
+
+    private void onObserverInactive() {
+        activeCount--;
+        if (activeCount == 0) {
+            changeTracker.removeObserver(tableObserver);
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshPending.compareAndSet(false, true)) return;
+        QUERY_EXECUTOR.execute(this::runQuery);
+    }
+
+    private void runQuery() {
+        refreshPending.set(false);
+
+        // Read the version first: a write racing with the query bumps it and schedules another run.
+        long version = changeTracker.getVersion(tables);
+        try {
+            T result = query.run();
+            mainHandler.post(() -> deliverValue(result, version));
+        } catch (Throwable t) {
+            Log.e(TAG, "Query failed", t);
+            mainHandler.post(() -> deliverError(t));
+        }
+    }
+
+    private void deliverValue(T result, long version) {
+        value = result;
+        hasValue = true;
+        loadedVersion = version;
+
+        for (BoundObserver boundObserver : new ArrayList<>(observers)) {
+            if (boundObserver.active) {
+                boundObserver.observer.onChanged(result);
+            }
+        }
+    }
+
+    private void deliverError(Throwable error) {
+        for (BoundObserver boundObserver : new ArrayList<>(observers)) {
+            if (boundObserver.active) {
+                boundObserver.observer.onError(error);
+            }
+        }
+    }
+
+    private final class BoundObserver implements DefaultLifecycleObserver {
+        final Lifecycle lifecycle;
+        final Observer<T> observer;
+        boolean active = false;
+
+        BoundObserver(Lifecycle lifecycle, Observer<T> observer) {
+            this.lifecycle = lifecycle;
+            this.observer = observer;
+        }
+
+        @Override
+        public void onStart(@NonNull LifecycleOwner owner) {
+            active = true;
+            onObserverActive();
+            if (hasValue) {
+                observer.onChanged(value);
+            }
+        }
+
+        @Override
+        public void onStop(@NonNull LifecycleOwner owner) {
+            active = false;
+            onObserverInactive();
+        }
+
+        @Override
+        public void onDestroy(@NonNull LifecycleOwner owner) {
+            observers.remove(this);
+            lifecycle.removeObserver(this);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.studenttaskmanagement.database;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import java.io.Closeable;
+
+/**
+ * A read transaction on a separate read-only connection to {@value AppDatabaseHelper#DATABASE_NAME}.
+ *
+ * Every query on {@link #getDatabase()} sees the database as it was when the snapshot was opened,
+ * however long the caller takes. In WAL mode a reader does not block writers: the UI and the
+ * workers keep committing. While the snapshot is open, checkpoints cannot copy newer pages into
+ * the main file and the WAL cannot restart.
+ *
+ * The transaction is not started with {@link SQLiteDatabase#beginTransaction()}. Before API 35 that
+ * always issues BEGIN IMMEDIATE or EXCLUSIVE, which asks for the write lock. A SAVEPOINT outside a
+ * transaction is a plain deferred BEGIN. The connection is not part of the shared helper's pool,
+ * so every statement runs on it and stays inside the transaction.
+ *
+ * Not thread-safe; must be closed.
+ */
+public final class ReadSnapshot implements Closeable {
+
+    private static final String SAVEPOINT = "read_snapshot";
+
+    private final SQLiteDatabase db;
+
+    private ReadSnapshot(SQLiteDatabase db) {
+        this.db = db;
+    }
+
+    @WorkerThread
+    @NonNull
+    public static ReadSnapshot open(@NonNull Context context) {
+        // Creates or upgrades the schema first; a read-only connection cannot.
+        AppDatabaseHelper.getInstance(context).getReadableDatabase();
+
+        String path = context.getDatabasePath(AppDatabaseHelper.DATABASE_NAME).getPath();
+        SQLiteDatabase db = SQLiteDatabase.openDatabase(path, null, SQLiteDatabase.OPEN_READONLY);
+        try {
+            db.execSQL("SAVEPOINT " + SAVEPOINT);
+            // A deferred transaction takes its snapshot at the first read.
+            DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM sqlite_master", null);
+            return new ReadSnapshot(db);
+        } catch (RuntimeException e) {
+            db.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The snapshot's connection. Only for queries, on the thread that opened the snapshot.
+     */
+    @NonNull
+    public SQLiteDatabase getDatabase() {
+        return db;
+    }
+
+    @Override
+    public void close() {
+        try {
+            db.execSQL("RELEASE " + SAVEPOINT);
+        } finally {
+            db.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * Outcome of a batch DAO write: affected rows and how long the transaction took.
+ */
+public final class BatchResult {
+
+    private final int rows;
+    private final long elapsedNanos;
+
+    BatchResult(int rows, long elapsedNanos) {
+        this.rows = rows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000L;
+    }
+
+    public double getRowsPerSecond() {
+        if (elapsedNanos <= 0L) return 0D;
+        return rows * 1_000_000_000D / elapsedNanos;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d rows in %d ms (%.0f rows/s)", rows, getElapsedMillis(), getRowsPerSecond());
+    }
+}
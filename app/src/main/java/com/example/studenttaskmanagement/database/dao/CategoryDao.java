@@ -6,8 +6,11 @@ import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 
 import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
 import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
 import com.example.studenttaskmanagement.model.Category;
+import com.example.studenttaskmanagement.utils.Tracer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,90 +23,132 @@ public class CategoryDao {
     private final AppDatabaseHelper databaseHelper;
 
     public CategoryDao(Context context) {
-        this.databaseHelper = new AppDatabaseHelper(context.getApplicationContext());
+        this.databaseHelper = AppDatabaseHelper.getInstance(context);
     }
 
     public long insertCategory(Category category) {
-        if (category == null) return -1;
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("CategoryDao.insertCategory");
+        try {
+            if (category == null) return -1;
+
+            String name = category.getName();
+            if (name == null || name.trim().isEmpty()) {
+                return -1; // <-- prevent NOT NULL constraint crash
+            }
 
-        String name = category.getName();
-        if (name == null || name.trim().isEmpty()) {
-            return -1; // <-- prevent NOT NULL constraint crash
-        }
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            ContentValues values = new ContentValues();
+            values.put(DatabaseContract.Categories.COLUMN_NAME, name.trim());
 
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.Categories.COLUMN_NAME, name.trim());
+            if (category.getColor() != null) {
+                values.put(DatabaseContract.Categories.COLUMN_COLOR, category.getColor());
+            } else {
+                values.putNull(DatabaseContract.Categories.COLUMN_COLOR);
+            }
 
-        if (category.getColor() != null) {
-            values.put(DatabaseContract.Categories.COLUMN_COLOR, category.getColor());
-        } else {
-            values.putNull(DatabaseContract.Categories.COLUMN_COLOR);
+            long id = db.insert(DatabaseContract.Categories.TABLE_NAME, null, values);
+            if (id != -1L) {
+                notifyCategoriesChanged();
+            }
+            QueryMetrics.record("CategoryDao.insertCategory", startNanos, id != -1L ? 1 : 0);
+            return id;
+        } finally {
+            Tracer.end();
         }
-
-        return db.insert(DatabaseContract.Categories.TABLE_NAME, null, values);
     }
 
     public Category getCategoryById(long id) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        Cursor cursor = db.query(
-                DatabaseContract.Categories.TABLE_NAME,
-                null,
-                DatabaseContract.Categories._ID + " = ?",
-                new String[]{String.valueOf(id)},
-                null,
-                null,
-                null
-        );
-
-        Category category = null;
-        if (cursor != null) {
-            try {
-                if (cursor.moveToFirst()) {
-                    category = mapCursorToCategory(cursor);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("CategoryDao.getCategoryById");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            Cursor cursor = db.query(
+                    DatabaseContract.Categories.TABLE_NAME,
+                    null,
+                    DatabaseContract.Categories._ID + " = ?",
+                    new String[]{String.valueOf(id)},
+                    null,
+                    null,
+                    null
+            );
+
+            Category category = null;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        category = mapCursorToCategory(cursor);
+                    }
+                } finally {
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
-        }
 
-        return category;
+            QueryMetrics.record("CategoryDao.getCategoryById", startNanos, category != null ? 1 : 0);
+            return category;
+        } finally {
+            Tracer.end();
+        }
     }
 
     public List<Category> getAllCategories() {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        List<Category> categories = new ArrayList<>();
-
-        Cursor cursor = db.query(
-                DatabaseContract.Categories.TABLE_NAME,
-                null,
-                null,
-                null,
-                null,
-                null,
-                DatabaseContract.Categories._ID + " ASC"
-        );
-
-        if (cursor != null) {
-            try {
-                while (cursor.moveToNext()) {
-                    categories.add(mapCursorToCategory(cursor));
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("CategoryDao.getAllCategories");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<Category> categories = new ArrayList<>();
+
+            Cursor cursor = db.query(
+                    DatabaseContract.Categories.TABLE_NAME,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    DatabaseContract.Categories._ID + " ASC"
+            );
+
+            if (cursor != null) {
+                try {
+                    Tracer.begin("CategoryDao.mapCursorToCategory");
+                    while (cursor.moveToNext()) {
+                        categories.add(mapCursorToCategory(cursor));
+                    }
+                } finally {
+                    Tracer.end();
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
-        }
 
-        return categories;
+            QueryMetrics.record("CategoryDao.getAllCategories", startNanos, categories.size());
+            return categories;
+        } finally {
+            Tracer.end();
+        }
     }
 
     public int deleteCategory(long id) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        return db.delete(
-                DatabaseContract.Categories.TABLE_NAME,
-                DatabaseContract.Categories._ID + " = ?",
-                new String[]{String.valueOf(id)}
-        );
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("CategoryDao.deleteCategory");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows = db.delete(
+                    DatabaseContract.Categories.TABLE_NAME,
+                    DatabaseContract.Categories._ID + " = ?",
+                    new String[]{String.valueOf(id)}
+            );
+            if (rows > 0) {
+                notifyCategoriesChanged();
+            }
+            QueryMetrics.record("CategoryDao.deleteCategory", startNanos, rows);
+            return rows;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    private void notifyCategoriesChanged() {
+        DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.Categories.TABLE_NAME);
     }
 
     private Category mapCursorToCategory(Cursor cursor) {
@@ -0,0 +1,75 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+/**
+ * Runs "... IN (?, ?, ...)" statements over long ID lists in fixed-size chunks.
+ *
+ * Older SQLite builds allow at most 999 bound arguments per statement, so IDs are bound
+ * {@link #MAX_IDS_PER_STATEMENT} at a time. The full-size statement is compiled once and
+ * reused for every full chunk; only the last, shorter chunk needs its own statement.
+ * Callers are expected to hold a transaction.
+ */
+final class ChunkedStatements {
+
+    static final int MAX_IDS_PER_STATEMENT = 500;
+
+    private ChunkedStatements() {
+    }
+
+    /**
+     * Executes {@code sqlBeforeList + "(?, ...)"} for all IDs and returns the summed row count.
+     *
+     * @param leadingArgs arguments bound before the IDs, for placeholders in {@code sqlBeforeList}.
+     */
+    static int executeUpdateDelete(SQLiteDatabase db, String sqlBeforeList, long[] ids, long... leadingArgs) {
+        if (ids.length == 0) return 0;
+
+        int rows = 0;
+        int fullChunks = ids.length / MAX_IDS_PER_STATEMENT;
+        if (fullChunks > 0) {
+            SQLiteStatement statement = db.compileStatement(sqlBeforeList + placeholders(MAX_IDS_PER_STATEMENT));
+            try {
+                for (int chunk = 0; chunk < fullChunks; chunk++) {
+                    rows += execute(statement, ids, chunk * MAX_IDS_PER_STATEMENT, MAX_IDS_PER_STATEMENT, leadingArgs);
+                }
+            } finally {
+                statement.close();
+            }
+        }
+
+        int tail = ids.length % MAX_IDS_PER_STATEMENT;
+        if (tail > 0) {
+            SQLiteStatement statement = db.compileStatement(sqlBeforeList + placeholders(tail));
+            try {
+                rows += execute(statement, ids, fullChunks * MAX_IDS_PER_STATEMENT, tail, leadingArgs);
+            } finally {
+                statement.close();
+            }
+        }
+        return rows;
+    }
+
+    private static int execute(SQLiteStatement statement, long[] ids, int offset, int count, long[] leadingArgs) {
+        statement.clearBindings();
+        int index = 1;
+        for (long arg : leadingArgs) {
+            statement.bindLong(index++, arg);
+        }
+        for (int i = 0; i < count; i++) {
+            statement.bindLong(index++, ids[offset + i]);
+        }
+        return statement.executeUpdateDelete();
+    }
+
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3 + 2);
+        sb.append('(');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('?');
+        }
+        return sb.append(')').toString();
+    }
+}
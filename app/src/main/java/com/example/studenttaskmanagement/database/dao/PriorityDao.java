@@ -8,7 +8,9 @@ import androidx.annotation.Nullable;
 
 import com.example.studenttaskmanagement.database.AppDatabaseHelper;
 import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
 import com.example.studenttaskmanagement.model.Priority;
+import com.example.studenttaskmanagement.utils.Tracer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,58 +20,77 @@ public class PriorityDao {
     private final AppDatabaseHelper databaseHelper;
 
     public PriorityDao(Context context) {
-        this.databaseHelper = new AppDatabaseHelper(context.getApplicationContext());
+        this.databaseHelper = AppDatabaseHelper.getInstance(context);
     }
 
     public List<Priority> getAllPriorities() {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        List<Priority> priorities = new ArrayList<>();
-
-        Cursor cursor = db.query(
-                DatabaseContract.Priorities.TABLE_NAME,
-                null,
-                null,
-                null,
-                null,
-                null,
-                DatabaseContract.Priorities._ID + " ASC"
-        );
-
-        if (cursor != null) {
-            try {
-                while (cursor.moveToNext()) {
-                    priorities.add(mapCursorToPriority(cursor));
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("PriorityDao.getAllPriorities");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<Priority> priorities = new ArrayList<>();
+
+            Cursor cursor = db.query(
+                    DatabaseContract.Priorities.TABLE_NAME,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    DatabaseContract.Priorities._ID + " ASC"
+            );
+
+            if (cursor != null) {
+                try {
+                    Tracer.begin("PriorityDao.mapCursorToPriority");
+                    while (cursor.moveToNext()) {
+                        priorities.add(mapCursorToPriority(cursor));
+                    }
+                } finally {
+                    Tracer.end();
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
-        }
 
-        return priorities;
+            QueryMetrics.record("PriorityDao.getAllPriorities", startNanos, priorities.size());
+            return priorities;
+        } finally {
+            Tracer.end();
+        }
     }
 
     @Nullable
     public Priority getPriorityById(int id) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-
-        Cursor cursor = db.query(
-                DatabaseContract.Priorities.TABLE_NAME,
-                null,
-                DatabaseContract.Priorities._ID + " = ?",
-                new String[]{String.valueOf(id)},
-                null,
-                null,
-                null,
-                "1"
-        );
-
-        if (cursor == null) return null;
-
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("PriorityDao.getPriorityById");
         try {
-            if (!cursor.moveToFirst()) return null;
-            return mapCursorToPriority(cursor);
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+
+            Cursor cursor = db.query(
+                    DatabaseContract.Priorities.TABLE_NAME,
+                    null,
+                    DatabaseContract.Priorities._ID + " = ?",
+                    new String[]{String.valueOf(id)},
+                    null,
+                    null,
+                    null,
+                    "1"
+            );
+
+            Priority priority = null;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        priority = mapCursorToPriority(cursor);
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+            QueryMetrics.record("PriorityDao.getPriorityById", startNanos, priority != null ? 1 : 0);
+            return priority;
         } finally {
-            cursor.close();
+            Tracer.end();
         }
     }
 
@@ -0,0 +1,140 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.model.Category;
+import com.example.studenttaskmanagement.model.Priority;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Process-wide, lazily loaded snapshot of the priorities and categories reference tables.
+ *
+ * Both tables are tiny and almost never written, so screens and adapters read them from here
+ * instead of building their own DAOs and querying. The snapshot is dropped only when the
+ * categories (or priorities) table is written through the DAO layer; the next read reloads it
+ * and gets a new {@link Snapshot#getVersion() version}.
+ */
+public final class ReferenceDataCache {
+
+    private static final ReferenceDataCache INSTANCE = new ReferenceDataCache();
+
+    private Snapshot snapshot;
+    private long version = 1L;
+
+    private ReferenceDataCache() {
+        DatabaseChangeTracker.getInstance().addObserver(
+                this::invalidate,
+                DatabaseContract.Categories.TABLE_NAME,
+                DatabaseContract.Priorities.TABLE_NAME
+        );
+    }
+
+    /**
+     * Returns the current snapshot, loading it on first use or after an invalidating write.
+     * The first call may hit the database, so prefer calling it off the main thread.
+     */
+    @NonNull
+    public static Snapshot get(@NonNull Context context) {
+        return INSTANCE.getSnapshot(context.getApplicationContext());
+    }
+
+    private synchronized Snapshot getSnapshot(Context appContext) {
+        if (snapshot == null) {
+            List<Priority> priorities = new PriorityDao(appContext).getAllPriorities();
+            List<Category> categories = new CategoryDao(appContext).getAllCategories();
+            snapshot = new Snapshot(version, priorities, categories);
+        }
+        return snapshot;
+    }
+
+    private synchronized void invalidate() {
+        snapshot = null;
+        version++;
+    }
+
+    /**
+     * Immutable view of both reference tables with primitive, ID-keyed lookups.
+     * The returned model objects are shared and must be treated as read-only.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final List<Priority> priorities;
+        private final List<Category> categories;
+        private final long[] priorityIds;
+        private final long[] categoryIds;
+
+        Snapshot(long version, @Nullable List<Priority> priorities, @Nullable List<Category> categories) {
+            this.version = version;
+            this.priorities = sortedCopy(priorities);
+            this.categories = sortedCategoryCopy(categories);
+
+            this.priorityIds = new long[this.priorities.size()];
+            for (int i = 0; i < priorityIds.length; i++) {
+                priorityIds[i] = this.priorities.get(i).getId();
+            }
+
+            this.categoryIds = new long[this.categories.size()];
+            for (int i = 0; i < categoryIds.length; i++) {
+                categoryIds[i] = this.categories.get(i).getId();
+            }
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Priorities ordered by ID (Low, Medium, High for the seeded data).
+         */
+        @NonNull
+        public List<Priority> getPriorities() {
+            return priorities;
+        }
+
+        @NonNull
+        public List<Category> getCategories() {
+            return categories;
+        }
+
+        /**
+         * Position of the priority in {@link #getPriorities()}, or -1 if unknown.
+         */
+        public int indexOfPriority(long priorityId) {
+            int index = Arrays.binarySearch(priorityIds, priorityId);
+            return index >= 0 ? index : -1;
+        }
+
+        @Nullable
+        public Priority findPriority(long priorityId) {
+            int index = indexOfPriority(priorityId);
+            return index >= 0 ? priorities.get(index) : null;
+        }
+
+        @Nullable
+        public Category findCategory(long categoryId) {
+            int index = Arrays.binarySearch(categoryIds, categoryId);
+            return index >= 0 ? categories.get(index) : null;
+        }
+
+        private static List<Priority> sortedCopy(@Nullable List<Priority> source) {
+            List<Priority> copy = source == null ? new ArrayList<>() : new ArrayList<>(source);
+            Collections.sort(copy, (a, b) -> Long.compare(a.getId(), b.getId()));
+            return Collections.unmodifiableList(copy);
+        }
+
+        private static List<Category> sortedCategoryCopy(@Nullable List<Category> source) {
+            List<Category> copy = source == null ? new ArrayList<>() : new ArrayList<>(source);
+            Collections.sort(copy, (a, b) -> Long.compare(a.getId(), b.getId()));
+            return Collections.unmodifiableList(copy);
+        }
+    }
+}
@@ -3,13 +3,26 @@ package com.example.studenttaskmanagement.database.dao;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
 
+import com.example.studenttaskmanagement.analytics.SessionColumns;
 import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
 import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.ObservableQuery;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
 import com.example.studenttaskmanagement.model.StudySession;
+import com.example.studenttaskmanagement.utils.Tracer;
 import com.example.studenttaskmanagement.utils.WeekTimeUtils;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,10 +35,19 @@ import java.util.List;
  */
 public class StudySessionDao {
 
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
     private final AppDatabaseHelper databaseHelper;
 
     public StudySessionDao(Context context) {
-        this.databaseHelper = new AppDatabaseHelper(context.getApplicationContext());
+        this(AppDatabaseHelper.getInstance(context));
+    }
+
+    /**
+     * For fakes in benchmarks and tests that override the query methods.
+     */
+    StudySessionDao(AppDatabaseHelper databaseHelper) {
+        this.databaseHelper = databaseHelper;
     }
 
     /**
@@ -37,19 +59,30 @@ public class StudySessionDao {
      * @return row ID of the inserted session, or -1 if insertion failed.
      */
     public long startSession(long taskId, long startTime) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.startSession");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
 
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.StudySessions.COLUMN_TASK_ID, taskId);
+            ContentValues values = new ContentValues();
+            values.put(DatabaseContract.StudySessions.COLUMN_TASK_ID, taskId);
 
-        // INTEGER columns (epoch millis)
-        values.put(DatabaseContract.StudySessions.COLUMN_START_TIME, startTime);
-        values.putNull(DatabaseContract.StudySessions.COLUMN_END_TIME);
+            // INTEGER columns (epoch millis)
+            values.put(DatabaseContract.StudySessions.COLUMN_START_TIME, startTime);
+            values.putNull(DatabaseContract.StudySessions.COLUMN_END_TIME);
 
-        // duration in millis (INTEGER)
-        values.put(DatabaseContract.StudySessions.COLUMN_DURATION, 0L);
+            // duration in millis (INTEGER)
+            values.put(DatabaseContract.StudySessions.COLUMN_DURATION, 0L);
 
-        return db.insert(DatabaseContract.StudySessions.TABLE_NAME, null, values);
+            long id = db.insert(DatabaseContract.StudySessions.TABLE_NAME, null, values);
+            if (id != -1L) {
+                notifySessionsChanged();
+            }
+            QueryMetrics.record("StudySessionDao.startSession", startNanos, id != -1L ? 1 : 0);
+            return id;
+        } finally {
+            Tracer.end();
+        }
     }
 
     /**
@@ -61,25 +94,36 @@ public class StudySessionDao {
      * @return number of affected rows.
      */
     public int endSession(long sessionId, long endTime) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.endSession");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
 
-        Long startTime = getSessionStartTime(db, sessionId);
-        if (startTime == null) {
-            return 0;
-        }
+            Long startTime = getSessionStartTime(db, sessionId);
+            if (startTime == null) {
+                return 0;
+            }
 
-        long duration = Math.max(0L, endTime - startTime);
+            long duration = Math.max(0L, endTime - startTime);
 
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.StudySessions.COLUMN_END_TIME, endTime);
-        values.put(DatabaseContract.StudySessions.COLUMN_DURATION, duration);
+            ContentValues values = new ContentValues();
+            values.put(DatabaseContract.StudySessions.COLUMN_END_TIME, endTime);
+            values.put(DatabaseContract.StudySessions.COLUMN_DURATION, duration);
 
-        return db.update(
-                DatabaseContract.StudySessions.TABLE_NAME,
-                values,
-                DatabaseContract.StudySessions._ID + " = ?",
-                new String[]{String.valueOf(sessionId)}
-        );
+            int rows = db.update(
+                    DatabaseContract.StudySessions.TABLE_NAME,
+                    values,
+                    DatabaseContract.StudySessions._ID + " = ?",
+                    new String[]{String.valueOf(sessionId)}
+            );
+            if (rows > 0) {
+                notifySessionsChanged();
+            }
+            QueryMetrics.record("StudySessionDao.endSession", startNanos, rows);
+            return rows;
+        } finally {
+            Tracer.end();
+        }
     }
 
     /**
@@ -89,25 +133,35 @@ public class StudySessionDao {
      * @return StudySession if found, otherwise null.
      */
     public StudySession getSessionById(long sessionId) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-
-        Cursor cursor = db.query(
-                DatabaseContract.StudySessions.TABLE_NAME,
-                null,
-                DatabaseContract.StudySessions._ID + " = ?",
-                new String[]{String.valueOf(sessionId)},
-                null,
-                null,
-                null
-        );
-
-        if (cursor == null) return null;
-
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getSessionById");
         try {
-            if (!cursor.moveToFirst()) return null;
-            return mapCursorToStudySession(cursor);
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+
+            Cursor cursor = db.query(
+                    DatabaseContract.StudySessions.TABLE_NAME,
+                    null,
+                    DatabaseContract.StudySessions._ID + " = ?",
+                    new String[]{String.valueOf(sessionId)},
+                    null,
+                    null,
+                    null
+            );
+
+            StudySession session = null;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        session = mapCursorToStudySession(cursor);
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+            QueryMetrics.record("StudySessionDao.getSessionById", startNanos, session != null ? 1 : 0);
+            return session;
         } finally {
-            cursor.close();
+            Tracer.end();
         }
     }
 
@@ -118,30 +172,131 @@ public class StudySessionDao {
      * @return list of StudySession records, empty if none exist.
      */
     public List<StudySession> getSessionsForTask(long taskId) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        List<StudySession> sessions = new ArrayList<>();
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getSessionsForTask");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<StudySession> sessions = new ArrayList<>();
+
+            Cursor cursor = db.query(
+                    DatabaseContract.StudySessions.TABLE_NAME,
+                    null,
+                    DatabaseContract.StudySessions.COLUMN_TASK_ID + " = ?",
+                    new String[]{String.valueOf(taskId)},
+                    null,
+                    null,
+                    DatabaseContract.StudySessions.COLUMN_START_TIME + " DESC"
+            );
+
+            if (cursor != null) {
+                try {
+                    Tracer.begin("StudySessionDao.mapCursorToStudySession");
+                    while (cursor.moveToNext()) {
+                        sessions.add(mapCursorToStudySession(cursor));
+                    }
+                } finally {
+                    Tracer.end();
+                    cursor.close();
+                }
+            }
 
-        Cursor cursor = db.query(
-                DatabaseContract.StudySessions.TABLE_NAME,
-                null,
-                DatabaseContract.StudySessions.COLUMN_TASK_ID + " = ?",
-                new String[]{String.valueOf(taskId)},
-                null,
-                null,
-                DatabaseContract.StudySessions.COLUMN_START_TIME + " DESC"
-        );
+            QueryMetrics.record("StudySessionDao.getSessionsForTask", startNanos, sessions.size());
+            return sessions;
+        } finally {
+            Tracer.end();
+        }
+    }
 
-        if (cursor != null) {
-            try {
-                while (cursor.moveToNext()) {
-                    sessions.add(mapCursorToStudySession(cursor));
+    /**
+     * Up to limit sessions of the user's tasks (all users when userId is 0) with IDs above
+     * afterId, in ID order. Runs on the given connection, so an export can read every page from
+     * one {@link com.example.studenttaskmanagement.database.ReadSnapshot}. The caller must close it.
+     */
+    public Cursor querySessionsPage(SQLiteDatabase db, long userId, long afterId, int limit, CancellationSignal cancellationSignal) {
+        String s = DatabaseContract.StudySessions.TABLE_NAME;
+        String t = DatabaseContract.Tasks.TABLE_NAME;
+        String sql = "SELECT " + s + ".* FROM " + s
+                + (userId > 0L
+                ? " INNER JOIN " + t + " ON " + t + "." + DatabaseContract.Tasks._ID + " = " + s + "." + DatabaseContract.StudySessions.COLUMN_TASK_ID
+                + " WHERE " + t + "." + DatabaseContract.Tasks.COLUMN_USER_ID + " = ? AND "
+                : " WHERE ")
+                + s + "." + DatabaseContract.StudySessions._ID + " > ?"
+                + " ORDER BY " + s + "." + DatabaseContract.StudySessions._ID + " LIMIT " + limit;
+        String[] args = userId > 0L
+                ? new String[]{String.valueOf(userId), String.valueOf(afterId)}
+                : new String[]{String.valueOf(afterId)};
+        return db.rawQuery(sql, args, cancellationSignal);
+    }
+
+    /**
+     * Number of sessions {@link #querySessionsPage} pages through, counted without reading them.
+     */
+    public long countSessions(long userId) {
+        return countSessions(databaseHelper.getReadableDatabase(), userId);
+    }
+
+    public long countSessions(SQLiteDatabase db, long userId) {
+        String s = DatabaseContract.StudySessions.TABLE_NAME;
+        String t = DatabaseContract.Tasks.TABLE_NAME;
+        String sql = "SELECT COUNT(*) FROM " + s
+                + (userId > 0L
+                ? " INNER JOIN " + t + " ON " + t + "." + DatabaseContract.Tasks._ID + " = " + s + "." + DatabaseContract.StudySessions.COLUMN_TASK_ID
+                + " WHERE " + t + "." + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?"
+                : "");
+        String[] args = userId > 0L ? new String[]{String.valueOf(userId)} : null;
+        return DatabaseUtils.longForQuery(db, sql, args);
+    }
+
+    /**
+     * Returns (task ID, start time) of every session whose start time is one of the given values.
+     * Only those two fields are filled in. Used to detect sessions that already exist.
+     */
+    public List<StudySession> findSessionsByStartTimes(long[] startTimes) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.findSessionsByStartTimes");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<StudySession> sessions = new ArrayList<>();
+            if (startTimes == null || startTimes.length == 0) return sessions;
+
+            for (int offset = 0; offset < startTimes.length; offset += ChunkedStatements.MAX_IDS_PER_STATEMENT) {
+                int count = Math.min(ChunkedStatements.MAX_IDS_PER_STATEMENT, startTimes.length - offset);
+                String[] args = new String[count];
+                for (int i = 0; i < count; i++) {
+                    args[i] = String.valueOf(startTimes[offset + i]);
+                }
+
+                Cursor cursor = db.rawQuery(
+                        "SELECT " + DatabaseContract.StudySessions.COLUMN_TASK_ID + ", " + DatabaseContract.StudySessions.COLUMN_START_TIME
+                                + " FROM " + DatabaseContract.StudySessions.TABLE_NAME
+                                + " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " IN " + ChunkedStatements.placeholders(count),
+                        args
+                );
+                if (cursor != null) {
+                    try {
+                        while (cursor.moveToNext()) {
+                            StudySession session = new StudySession();
+                            session.setTaskId(cursor.getLong(0));
+                            session.setStartTime(cursor.getLong(1));
+                            sessions.add(session);
+                        }
+                    } finally {
+                        cursor.close();
+                    }
                 }
-            } finally {
-                cursor.close();
             }
+            QueryMetrics.record("StudySessionDao.findSessionsByStartTimes", startNanos, sessions.size());
+            return sessions;
+        } finally {
+            Tracer.end();
         }
+    }
 
-        return sessions;
+    /**
+     * Observable variant of {@link #getSessionsForTask(long)} that re-queries when sessions change.
+     */
+    public ObservableQuery<List<StudySession>> observeSessionsForTask(long taskId) {
+        return new ObservableQuery<>(() -> getSessionsForTask(taskId), DatabaseContract.StudySessions.TABLE_NAME);
     }
 
     public List<StudySession> getSessionsInCurrentWeek() {
@@ -155,152 +310,403 @@ public class StudySessionDao {
     }
 
     public List<StudySession> getSessionsInRange(long startMillisInclusive, long endMillisExclusive) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        List<StudySession> sessions = new ArrayList<>();
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getSessionsInRange");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<StudySession> sessions = new ArrayList<>();
+
+            Cursor cursor = db.query(
+                    DatabaseContract.StudySessions.TABLE_NAME,
+                    null,
+                    DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ? AND "
+                            + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?",
+                    new String[]{String.valueOf(startMillisInclusive), String.valueOf(endMillisExclusive)},
+                    null,
+                    null,
+                    DatabaseContract.StudySessions.COLUMN_START_TIME + " DESC"
+            );
+
+            if (cursor != null) {
+                try {
+                    Tracer.begin("StudySessionDao.mapCursorToStudySession");
+                    while (cursor.moveToNext()) {
+                        sessions.add(mapCursorToStudySession(cursor));
+                    }
+                } finally {
+                    Tracer.end();
+                    cursor.close();
+                }
+            }
 
-        Cursor cursor = db.query(
-                DatabaseContract.StudySessions.TABLE_NAME,
-                null,
-                DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ? AND "
-                        + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?",
-                new String[]{String.valueOf(startMillisInclusive), String.valueOf(endMillisExclusive)},
-                null,
-                null,
-                DatabaseContract.StudySessions.COLUMN_START_TIME + " DESC"
-        );
+            QueryMetrics.record("StudySessionDao.getSessionsInRange", startNanos, sessions.size());
+            return sessions;
+        } finally {
+            Tracer.end();
+        }
+    }
 
-        if (cursor != null) {
+    /**
+     * Sessions starting in [start, end), oldest first, as primitive columns for
+     * {@link com.example.studenttaskmanagement.analytics.SessionStatistics}. No object is created per row.
+     * Archived sessions are included; both tables are read in start_time index order and merged.
+     */
+    public SessionColumns loadSessionColumns(long startMillisInclusive, long endMillisExclusive) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.loadSessionColumns");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+
+            String columns = DatabaseContract.StudySessions.COLUMN_START_TIME + ", "
+                    + DatabaseContract.StudySessions.COLUMN_END_TIME + ", "
+                    + DatabaseContract.StudySessions.COLUMN_DURATION + ", "
+                    + DatabaseContract.StudySessions.COLUMN_TASK_ID;
+            String window = " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ?"
+                    + " AND " + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?";
+            String start = String.valueOf(startMillisInclusive);
+            String end = String.valueOf(endMillisExclusive);
+
+            // A compound ORDER BY lets SQLite merge the two index-ordered scans instead of sorting.
+            Cursor cursor = db.rawQuery(
+                    "SELECT " + columns + " FROM " + DatabaseContract.StudySessions.TABLE_NAME + window
+                            + " UNION ALL SELECT " + columns + " FROM " + DatabaseContract.ArchivedStudySessions.TABLE_NAME + window
+                            + " ORDER BY " + DatabaseContract.StudySessions.COLUMN_START_TIME + " ASC",
+                    new String[]{start, end, start, end}
+            );
+
+            SessionColumns columns;
             try {
-                while (cursor.moveToNext()) {
-                    sessions.add(mapCursorToStudySession(cursor));
-                }
+                columns = SessionColumns.fromCursor(cursor);
             } finally {
                 cursor.close();
             }
-        }
 
-        return sessions;
+            QueryMetrics.record("StudySessionDao.loadSessionColumns", startNanos, columns.size());
+            return columns;
+        } finally {
+            Tracer.end();
+        }
     }
 
     public long getTotalFocusedMinutes(long startMillisInclusive, long endMillisExclusive) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-
-        Cursor cursor = db.rawQuery(
-                "SELECT COALESCE(SUM(" + DatabaseContract.StudySessions.COLUMN_DURATION + "),0)"
-                        + " FROM " + DatabaseContract.StudySessions.TABLE_NAME
-                        + " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ?"
-                        + " AND " + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?"
-                        + " AND " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0",
-                new String[]{String.valueOf(startMillisInclusive), String.valueOf(endMillisExclusive)}
-        );
-
-        long totalDurationMillis = 0L;
-        if (cursor != null) {
-            try {
-                if (cursor.moveToFirst()) {
-                    totalDurationMillis = cursor.getLong(0);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getTotalFocusedMinutes");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+
+            Cursor cursor = db.rawQuery(
+                    "SELECT COALESCE(SUM(" + DatabaseContract.StudySessions.COLUMN_DURATION + "),0)"
+                            + " FROM " + DatabaseContract.StudySessions.TABLE_NAME
+                            + " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ?"
+                            + " AND " + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?"
+                            + " AND " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0",
+                    new String[]{String.valueOf(startMillisInclusive), String.valueOf(endMillisExclusive)}
+            );
+
+            long totalDurationMillis = 0L;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        totalDurationMillis = cursor.getLong(0);
+                    }
+                } finally {
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
-        }
 
-        return totalDurationMillis / (60L * 1000L);
+            QueryMetrics.record("StudySessionDao.getTotalFocusedMinutes", startNanos, 1);
+            return totalDurationMillis / (60L * 1000L);
+        } finally {
+            Tracer.end();
+        }
     }
 
     public double getAverageSessionDurationMinutes(long startMillisInclusive, long endMillisExclusive) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-
-        Cursor cursor = db.rawQuery(
-                "SELECT AVG(" + DatabaseContract.StudySessions.COLUMN_DURATION + ")"
-                        + " FROM " + DatabaseContract.StudySessions.TABLE_NAME
-                        + " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ?"
-                        + " AND " + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?"
-                        + " AND " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0",
-                new String[]{String.valueOf(startMillisInclusive), String.valueOf(endMillisExclusive)}
-        );
-
-        double averageDurationMillis = 0D;
-        if (cursor != null) {
-            try {
-                if (cursor.moveToFirst() && !cursor.isNull(0)) {
-                    averageDurationMillis = cursor.getDouble(0);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getAverageSessionDurationMinutes");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+
+            Cursor cursor = db.rawQuery(
+                    "SELECT AVG(" + DatabaseContract.StudySessions.COLUMN_DURATION + ")"
+                            + " FROM " + DatabaseContract.StudySessions.TABLE_NAME
+                            + " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ?"
+                            + " AND " + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?"
+                            + " AND " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0",
+                    new String[]{String.valueOf(startMillisInclusive), String.valueOf(endMillisExclusive)}
+            );
+
+            double averageDurationMillis = 0D;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst() && !cursor.isNull(0)) {
+                        averageDurationMillis = cursor.getDouble(0);
+                    }
+                } finally {
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
-        }
 
-        return averageDurationMillis / (60D * 1000D);
+            QueryMetrics.record("StudySessionDao.getAverageSessionDurationMinutes", startNanos, 1);
+            return averageDurationMillis / (60D * 1000D);
+        } finally {
+            Tracer.end();
+        }
     }
 
     public SessionPlanCompletion getPlannedVsCompletedSessionCount(long startMillisInclusive, long endMillisExclusive) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-
-        Cursor cursor = db.rawQuery(
-                "SELECT COUNT(*), SUM(CASE WHEN " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0 THEN 1 ELSE 0 END)"
-                        + " FROM " + DatabaseContract.StudySessions.TABLE_NAME
-                        + " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ?"
-                        + " AND " + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?",
-                new String[]{String.valueOf(startMillisInclusive), String.valueOf(endMillisExclusive)}
-        );
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getPlannedVsCompletedSessionCount");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+
+            Cursor cursor = db.rawQuery(
+                    "SELECT COUNT(*), SUM(CASE WHEN " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0 THEN 1 ELSE 0 END)"
+                            + " FROM " + DatabaseContract.StudySessions.TABLE_NAME
+                            + " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ?"
+                            + " AND " + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?",
+                    new String[]{String.valueOf(startMillisInclusive), String.valueOf(endMillisExclusive)}
+            );
+
+            int planned = 0;
+            int completed = 0;
+
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        planned = cursor.getInt(0);
+                        completed = cursor.isNull(1) ? 0 : cursor.getInt(1);
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
 
-        int planned = 0;
-        int completed = 0;
+            QueryMetrics.record("StudySessionDao.getPlannedVsCompletedSessionCount", startNanos, 1);
+            return new SessionPlanCompletion(planned, completed);
+        } finally {
+            Tracer.end();
+        }
+    }
 
-        if (cursor != null) {
-            try {
-                if (cursor.moveToFirst()) {
-                    planned = cursor.getInt(0);
-                    completed = cursor.isNull(1) ? 0 : cursor.getInt(1);
+
+    /**
+     * Session counts and focused minutes for consecutive buckets in one GROUP BY query.
+     * {@code bucketBoundaries} holds N + 1 ascending instants; bucket i covers
+     * [boundaries[i], boundaries[i + 1]). Like the weekly figures, sessions are bucketed by start
+     * time and only ended sessions count as completed or add focused minutes. Archived sessions
+     * count too, so past buckets do not shrink when the archive job runs.
+     */
+    public SessionTrend getSessionTrend(long[] bucketBoundaries) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getSessionTrend");
+        try {
+            int buckets = Math.max(0, bucketBoundaries.length - 1);
+            SessionTrend trend = new SessionTrend(buckets);
+            if (buckets == 0) return trend;
+
+            String startTime = DatabaseContract.StudySessions.COLUMN_START_TIME;
+            String ended = DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0";
+            String[] args = new String[buckets + 3];
+            StringBuilder bucket = new StringBuilder();
+            if (buckets == 1) {
+                bucket.append('0');
+            } else {
+                bucket.append("CASE");
+                for (int i = 1; i < buckets; i++) {
+                    bucket.append(" WHEN ").append(startTime).append(" < ? THEN ").append(i - 1);
+                    args[i - 1] = String.valueOf(bucketBoundaries[i]);
+                }
+                bucket.append(" ELSE ").append(buckets - 1).append(" END");
+            }
+            for (int i = buckets - 1; i < args.length; i += 2) {
+                args[i] = String.valueOf(bucketBoundaries[0]);
+                args[i + 1] = String.valueOf(bucketBoundaries[buckets]);
+            }
+
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            Cursor cursor = db.rawQuery(
+                    "SELECT " + bucket + ", COUNT(*),"
+                            + " SUM(CASE WHEN " + ended + " THEN 1 ELSE 0 END),"
+                            + " SUM(CASE WHEN " + ended + " THEN " + DatabaseContract.StudySessions.COLUMN_DURATION + " ELSE 0 END)"
+                            + " FROM " + sessionsStartingInWindow(startTime + ", "
+                            + DatabaseContract.StudySessions.COLUMN_END_TIME + ", "
+                            + DatabaseContract.StudySessions.COLUMN_DURATION)
+                            + " GROUP BY 1",
+                    args
+            );
+
+            int rows = 0;
+            if (cursor != null) {
+                try {
+                    while (cursor.moveToNext()) {
+                        int i = cursor.getInt(0);
+                        trend.sessionCounts[i] = cursor.getInt(1);
+                        trend.completedCounts[i] = cursor.isNull(2) ? 0 : cursor.getInt(2);
+                        trend.focusedMinutes[i] = (cursor.isNull(3) ? 0L : cursor.getLong(3)) / (60L * 1000L);
+                        rows++;
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+
+            QueryMetrics.record("StudySessionDao.getSessionTrend", startNanos, rows);
+            return trend;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * Focused minutes per local day for {@code days} days starting at {@code firstDay}, in one
+     * GROUP BY query. Element i is day {@code firstDay + i}. Sessions count towards the day they
+     * start on, and only ended sessions add minutes. Archived sessions are included, so the
+     * heatmap keeps days whose tasks the archive job has moved.
+     *
+     * The local day is computed in SQL as {@code (start_time + offset) / DAY_MILLIS}. The offset
+     * is a CASE over the zone's transitions inside the window, so days stay aligned across DST.
+     */
+    public int[] getDailyFocusedMinutes(LocalDate firstDay, int days, ZoneId zone) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getDailyFocusedMinutes");
+        try {
+            int[] minutes = new int[Math.max(0, days)];
+            if (days <= 0) return minutes;
+
+            long windowStart = firstDay.atStartOfDay(zone).toInstant().toEpochMilli();
+            long windowEnd = firstDay.plusDays(days).atStartOfDay(zone).toInstant().toEpochMilli();
+            String startTime = DatabaseContract.StudySessions.COLUMN_START_TIME;
+
+            List<String> args = new ArrayList<>();
+            StringBuilder offset = new StringBuilder();
+            ZoneRules rules = zone.getRules();
+            Instant instant = Instant.ofEpochMilli(windowStart);
+            ZoneOffsetTransition transition = rules.nextTransition(instant);
+            if (transition == null || transition.toEpochSecond() * 1000L >= windowEnd) {
+                offset.append(offsetMillis(rules, instant));
+            } else {
+                offset.append("CASE");
+                while (transition != null && transition.toEpochSecond() * 1000L < windowEnd) {
+                    offset.append(" WHEN ").append(startTime).append(" < ? THEN ")
+                            .append(transition.getOffsetBefore().getTotalSeconds() * 1000L);
+                    args.add(String.valueOf(transition.toEpochSecond() * 1000L));
+                    instant = transition.getInstant();
+                    transition = rules.nextTransition(instant);
+                }
+                offset.append(" ELSE ").append(offsetMillis(rules, instant)).append(" END");
+            }
+            for (int branch = 0; branch < 2; branch++) {
+                args.add(String.valueOf(windowStart));
+                args.add(String.valueOf(windowEnd));
+            }
+
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            Cursor cursor = db.rawQuery(
+                    "SELECT (" + startTime + " + " + offset + ") / " + DAY_MILLIS + ","
+                            + " SUM(" + DatabaseContract.StudySessions.COLUMN_DURATION + ")"
+                            + " FROM " + sessionsStartingInWindow(startTime + ", "
+                            + DatabaseContract.StudySessions.COLUMN_END_TIME + ", "
+                            + DatabaseContract.StudySessions.COLUMN_DURATION)
+                            + " WHERE " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0"
+                            + " GROUP BY 1",
+                    args.toArray(new String[0])
+            );
+
+            int rows = 0;
+            long firstEpochDay = firstDay.toEpochDay();
+            if (cursor != null) {
+                try {
+                    while (cursor.moveToNext()) {
+                        long day = cursor.getLong(0) - firstEpochDay;
+                        if (day >= 0 && day < days && !cursor.isNull(1)) {
+                            minutes[(int) day] = (int) (cursor.getLong(1) / (60L * 1000L));
+                        }
+                        rows++;
+                    }
+                } finally {
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
+
+            QueryMetrics.record("StudySessionDao.getDailyFocusedMinutes", startNanos, rows);
+            return minutes;
+        } finally {
+            Tracer.end();
         }
+    }
 
-        return new SessionPlanCompletion(planned, completed);
+    /**
+     * Current and archived sessions starting in [?, ?) as one FROM source, for figures over past
+     * periods. Each branch is a range scan on its start_time index; the window is bound twice.
+     */
+    private static String sessionsStartingInWindow(String columns) {
+        String window = " WHERE " + DatabaseContract.StudySessions.COLUMN_START_TIME + " >= ?"
+                + " AND " + DatabaseContract.StudySessions.COLUMN_START_TIME + " < ?";
+        return "(SELECT " + columns + " FROM " + DatabaseContract.StudySessions.TABLE_NAME + window
+                + " UNION ALL SELECT " + columns + " FROM " + DatabaseContract.ArchivedStudySessions.TABLE_NAME + window + ")";
     }
 
+    private static long offsetMillis(ZoneRules rules, Instant instant) {
+        return rules.getOffset(instant).getTotalSeconds() * 1000L;
+    }
 
     /**
      * Returns how many completed study sessions exist for a task.
      * A completed session is a row with end_time > 0.
      */
     public int getCompletedSessionCountForTask(long taskId) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        int count = 0;
-
-        Cursor cursor = db.rawQuery(
-                "SELECT COUNT(*) FROM " + DatabaseContract.StudySessions.TABLE_NAME
-                        + " WHERE " + DatabaseContract.StudySessions.COLUMN_TASK_ID + " = ?"
-                        + " AND " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0",
-                new String[]{String.valueOf(taskId)}
-        );
-
-        if (cursor != null) {
-            try {
-                if (cursor.moveToFirst()) {
-                    count = cursor.getInt(0);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.getCompletedSessionCountForTask");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            int count = 0;
+
+            Cursor cursor = db.rawQuery(
+                    "SELECT COUNT(*) FROM " + DatabaseContract.StudySessions.TABLE_NAME
+                            + " WHERE " + DatabaseContract.StudySessions.COLUMN_TASK_ID + " = ?"
+                            + " AND " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0",
+                    new String[]{String.valueOf(taskId)}
+            );
+
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        count = cursor.getInt(0);
+                    }
+                } finally {
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
-        }
 
-        return count;
+            QueryMetrics.record("StudySessionDao.getCompletedSessionCountForTask", startNanos, 1);
+            return count;
+        } finally {
+            Tracer.end();
+        }
     }
 
     /**
      * Deletes a single study session by ID.
      */
     public int deleteSessionById(long sessionId) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        return db.delete(
-                DatabaseContract.StudySessions.TABLE_NAME,
-                DatabaseContract.StudySessions._ID + " = ?",
-                new String[]{String.valueOf(sessionId)}
-        );
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.deleteSessionById");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows = db.delete(
+                    DatabaseContract.StudySessions.TABLE_NAME,
+                    DatabaseContract.StudySessions._ID + " = ?",
+                    new String[]{String.valueOf(sessionId)}
+            );
+            if (rows > 0) {
+                notifySessionsChanged();
+            }
+            QueryMetrics.record("StudySessionDao.deleteSessionById", startNanos, rows);
+            return rows;
+        } finally {
+            Tracer.end();
+        }
     }
 
     /**
@@ -308,12 +714,103 @@ public class StudySessionDao {
      * (Optional helper; with ON DELETE CASCADE, deleting the task also deletes sessions.)
      */
     public int deleteSessionsForTask(long taskId) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        return db.delete(
-                DatabaseContract.StudySessions.TABLE_NAME,
-                DatabaseContract.StudySessions.COLUMN_TASK_ID + " = ?",
-                new String[]{String.valueOf(taskId)}
-        );
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("StudySessionDao.deleteSessionsForTask");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows = db.delete(
+                    DatabaseContract.StudySessions.TABLE_NAME,
+                    DatabaseContract.StudySessions.COLUMN_TASK_ID + " = ?",
+                    new String[]{String.valueOf(taskId)}
+            );
+            if (rows > 0) {
+                notifySessionsChanged();
+            }
+            QueryMetrics.record("StudySessionDao.deleteSessionsForTask", startNanos, rows);
+            return rows;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * Inserts finished (or still running, when end time is 0) sessions in one transaction
+     * with a single compiled statement. On success every session gets its new row ID.
+     */
+    public BatchResult insertSessions(List<StudySession> sessions) {
+        long startNanos = System.nanoTime();
+        Tracer.begin("StudySessionDao.insertSessions");
+        try {
+            if (sessions == null || sessions.isEmpty()) return new BatchResult(0, 0L);
+
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            long[] ids = new long[sessions.size()];
+            SQLiteStatement statement = db.compileStatement("INSERT INTO " + DatabaseContract.StudySessions.TABLE_NAME + " ("
+                    + DatabaseContract.StudySessions.COLUMN_TASK_ID + ", "
+                    + DatabaseContract.StudySessions.COLUMN_START_TIME + ", "
+                    + DatabaseContract.StudySessions.COLUMN_END_TIME + ", "
+                    + DatabaseContract.StudySessions.COLUMN_DURATION + ") VALUES (?, ?, ?, ?)");
+            try {
+                db.beginTransaction();
+                try {
+                    for (int i = 0; i < ids.length; i++) {
+                        StudySession session = sessions.get(i);
+                        statement.clearBindings();
+                        statement.bindLong(1, session.getTaskId());
+                        statement.bindLong(2, session.getStartTime());
+                        // Running sessions keep end_time NULL, like startSession().
+                        if (session.getEndTime() > 0L) statement.bindLong(3, session.getEndTime());
+                        statement.bindLong(4, Math.max(0L, session.getDuration()));
+                        ids[i] = statement.executeInsert();
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            } finally {
+                statement.close();
+            }
+
+            for (int i = 0; i < ids.length; i++) {
+                sessions.get(i).setId(ids[i]);
+            }
+            notifySessionsChanged();
+            BatchResult result = new BatchResult(ids.length, System.nanoTime() - startNanos);
+            QueryMetrics.record("StudySessionDao.insertSessions", startNanos, result.getRows());
+            return result;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * Deletes finished sessions that started before the cutoff, in one statement.
+     * Running sessions (end_time NULL) are kept regardless of age.
+     */
+    public BatchResult deleteSessionsOlderThan(long cutoffMillis) {
+        long startNanos = System.nanoTime();
+        Tracer.begin("StudySessionDao.deleteSessionsOlderThan");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows = db.delete(
+                    DatabaseContract.StudySessions.TABLE_NAME,
+                    DatabaseContract.StudySessions.COLUMN_START_TIME + " < ? AND "
+                            + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0",
+                    new String[]{String.valueOf(cutoffMillis)}
+            );
+            if (rows > 0) {
+                notifySessionsChanged();
+            }
+            BatchResult result = new BatchResult(rows, System.nanoTime() - startNanos);
+            QueryMetrics.record("StudySessionDao.deleteSessionsOlderThan", startNanos, result.getRows());
+            return result;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    private void notifySessionsChanged() {
+        DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.StudySessions.TABLE_NAME);
     }
 
     private Long getSessionStartTime(SQLiteDatabase db, long sessionId) {
@@ -342,7 +839,7 @@ public class StudySessionDao {
         }
     }
 
-    private StudySession mapCursorToStudySession(Cursor cursor) {
+    static StudySession mapCursorToStudySession(Cursor cursor) {
         StudySession session = new StudySession();
 
         int idIndex = cursor.getColumnIndex(DatabaseContract.StudySessions._ID);
@@ -381,4 +878,31 @@ public class StudySessionDao {
             return completedCount;
         }
     }
+
+    /**
+     * Per-bucket results of {@link #getSessionTrend(long[])}, as parallel arrays.
+     */
+    public static final class SessionTrend {
+        private final int[] sessionCounts;
+        private final int[] completedCounts;
+        private final long[] focusedMinutes;
+
+        public SessionTrend(int buckets) {
+            this.sessionCounts = new int[buckets];
+            this.completedCounts = new int[buckets];
+            this.focusedMinutes = new long[buckets];
+        }
+
+        public int[] getSessionCounts() {
+            return sessionCounts;
+        }
+
+        public int[] getCompletedCounts() {
+            return completedCounts;
+        }
+
+        public long[] getFocusedMinutes() {
+            return focusedMinutes;
+        }
+    }
 }
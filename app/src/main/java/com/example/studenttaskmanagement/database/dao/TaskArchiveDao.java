@@ -0,0 +1,386 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.CancellationSignal;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+import com.example.studenttaskmanagement.utils.Tracer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves old completed tasks, with their sessions and attachments, between the hot tables and
+ * the archive tables, and reads archived tasks back for history screens.
+ *
+ * Keeping finished work out of the hot tables keeps the task list, dashboard and forecast
+ * queries proportional to current work rather than to the whole history.
+ */
+public class TaskArchiveDao {
+
+    private static final String TASK_COLUMNS = DatabaseContract.Tasks._ID + ", "
+            + DatabaseContract.Tasks.COLUMN_TITLE + ", "
+            + DatabaseContract.Tasks.COLUMN_DESCRIPTION + ", "
+            + DatabaseContract.Tasks.COLUMN_DEADLINE + ", "
+            + DatabaseContract.Tasks.COLUMN_STATUS + ", "
+            + DatabaseContract.Tasks.COLUMN_CATEGORY_ID + ", "
+            + DatabaseContract.Tasks.COLUMN_PRIORITY_ID + ", "
+            + DatabaseContract.Tasks.COLUMN_USER_ID + ", "
+            + DatabaseContract.Tasks.COLUMN_COMPLETED_AT;
+    private static final String SESSION_COLUMNS = DatabaseContract.StudySessions._ID + ", "
+            + DatabaseContract.StudySessions.COLUMN_TASK_ID + ", "
+            + DatabaseContract.StudySessions.COLUMN_START_TIME + ", "
+            + DatabaseContract.StudySessions.COLUMN_END_TIME + ", "
+            + DatabaseContract.StudySessions.COLUMN_DURATION;
+    private static final String ATTACHMENT_COLUMNS = DatabaseContract.Attachments._ID + ", "
+            + DatabaseContract.Attachments.COLUMN_TASK_ID + ", "
+            + DatabaseContract.Attachments.COLUMN_FILE_PATH + ", "
+            + DatabaseContract.Attachments.COLUMN_TYPE;
+
+    private final AppDatabaseHelper databaseHelper;
+    private final TaskCache taskCache = TaskCache.getInstance();
+
+    public TaskArchiveDao(Context context) {
+        this.databaseHelper = AppDatabaseHelper.getInstance(context);
+    }
+
+    /**
+     * Archives tasks completed before the cutoff that have no running study
+     * session and none that ended after it. Runs one short transaction per
+     * {@link ChunkedStatements#MAX_IDS_PER_STATEMENT} tasks so foreground writes can interleave.
+     *
+     * @return the number of archived tasks
+     */
+    public BatchResult archiveCompletedTasks(long cutoffMillis) {
+        long startNanos = System.nanoTime();
+        Tracer.begin("TaskArchiveDao.archiveCompletedTasks");
+        try {
+            long archivedAt = System.currentTimeMillis();
+
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int archived = 0;
+            while (true) {
+                long[] ids = findArchiveCandidates(db, cutoffMillis);
+                if (ids.length == 0) break;
+
+                db.beginTransaction();
+                try {
+                    moveRows(db, ids, archivedAt);
+                    archived += ids.length;
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                for (long id : ids) {
+                    taskCache.remove(id);
+                }
+                if (ids.length < ChunkedStatements.MAX_IDS_PER_STATEMENT) break;
+            }
+
+            if (archived > 0) {
+                DatabaseChangeTracker.getInstance().notifyTablesChanged(
+                        DatabaseContract.Tasks.TABLE_NAME,
+                        DatabaseContract.StudySessions.TABLE_NAME,
+                        DatabaseContract.Attachments.TABLE_NAME,
+                        DatabaseContract.Notifications.TABLE_NAME,
+                        DatabaseContract.ArchivedTasks.TABLE_NAME,
+                        DatabaseContract.ArchivedStudySessions.TABLE_NAME,
+                        DatabaseContract.ArchivedAttachments.TABLE_NAME
+                );
+            }
+            BatchResult result = new BatchResult(archived, System.nanoTime() - startNanos);
+            QueryMetrics.record("TaskArchiveDao.archiveCompletedTasks", startNanos, result.getRows());
+            return result;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    private long[] findArchiveCandidates(SQLiteDatabase db, long cutoffMillis) {
+        Cursor cursor = db.rawQuery(
+                "SELECT t." + DatabaseContract.Tasks._ID + " FROM " + DatabaseContract.Tasks.TABLE_NAME + " t"
+                        + " WHERE t." + DatabaseContract.Tasks.COLUMN_STATUS + " = ?"
+                        + " AND t." + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + " < ?"
+                        + " AND NOT EXISTS (SELECT 1 FROM " + DatabaseContract.StudySessions.TABLE_NAME + " s"
+                        + " WHERE s." + DatabaseContract.StudySessions.COLUMN_TASK_ID + " = t." + DatabaseContract.Tasks._ID
+                        + " AND (s." + DatabaseContract.StudySessions.COLUMN_END_TIME + " IS NULL"
+                        + " OR s." + DatabaseContract.StudySessions.COLUMN_END_TIME + " = 0"
+                        + " OR s." + DatabaseContract.StudySessions.COLUMN_END_TIME + " >= ?))"
+                        + " LIMIT " + ChunkedStatements.MAX_IDS_PER_STATEMENT,
+                new String[]{String.valueOf(TaskStatus.COMPLETED), String.valueOf(cutoffMillis), String.valueOf(cutoffMillis)}
+        );
+
+        long[] ids = new long[0];
+        if (cursor != null) {
+            try {
+                ids = new long[cursor.getCount()];
+                int i = 0;
+                while (cursor.moveToNext()) {
+                    ids[i++] = cursor.getLong(0);
+                }
+            } finally {
+                cursor.close();
+            }
+        }
+        return ids;
+    }
+
+    private void moveRows(SQLiteDatabase db, long[] ids, long archivedAt) {
+        ChunkedStatements.executeUpdateDelete(
+                db,
+                "INSERT INTO " + DatabaseContract.ArchivedTasks.TABLE_NAME
+                        + " (" + TASK_COLUMNS + ", " + DatabaseContract.ArchivedTasks.COLUMN_ARCHIVED_AT + ")"
+                        + " SELECT " + TASK_COLUMNS + ", ? FROM " + DatabaseContract.Tasks.TABLE_NAME
+                        + " WHERE " + DatabaseContract.Tasks._ID + " IN ",
+                ids,
+                archivedAt
+        );
+        ChunkedStatements.executeUpdateDelete(
+                db,
+                "INSERT INTO " + DatabaseContract.ArchivedStudySessions.TABLE_NAME + " (" + SESSION_COLUMNS + ")"
+                        + " SELECT " + SESSION_COLUMNS + " FROM " + DatabaseContract.StudySessions.TABLE_NAME
+                        + " WHERE " + DatabaseContract.StudySessions.COLUMN_TASK_ID + " IN ",
+                ids
+        );
+        ChunkedStatements.executeUpdateDelete(
+                db,
+                "INSERT INTO " + DatabaseContract.ArchivedAttachments.TABLE_NAME + " (" + ATTACHMENT_COLUMNS + ")"
+                        + " SELECT " + ATTACHMENT_COLUMNS + " FROM " + DatabaseContract.Attachments.TABLE_NAME
+                        + " WHERE " + DatabaseContract.Attachments.COLUMN_TASK_ID + " IN ",
+                ids
+        );
+        // Sessions, attachments and reminders follow through ON DELETE CASCADE.
+        ChunkedStatements.executeUpdateDelete(
+                db,
+                "DELETE FROM " + DatabaseContract.Tasks.TABLE_NAME + " WHERE " + DatabaseContract.Tasks._ID + " IN ",
+                ids
+        );
+    }
+
+    /**
+     * Moves an archived task and its sessions and attachments back into the hot tables.
+     *
+     * @return true if the task was found in the archive
+     */
+    public boolean restoreTask(long taskId) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskArchiveDao.restoreTask");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            String[] args = {String.valueOf(taskId)};
+            int restored;
+
+            db.beginTransaction();
+            try {
+                db.execSQL("INSERT INTO " + DatabaseContract.Tasks.TABLE_NAME + " (" + TASK_COLUMNS + ")"
+                        + " SELECT " + TASK_COLUMNS + " FROM " + DatabaseContract.ArchivedTasks.TABLE_NAME
+                        + " WHERE " + DatabaseContract.ArchivedTasks._ID + " = ?", args);
+                db.execSQL("INSERT INTO " + DatabaseContract.StudySessions.TABLE_NAME + " (" + SESSION_COLUMNS + ")"
+                        + " SELECT " + SESSION_COLUMNS + " FROM " + DatabaseContract.ArchivedStudySessions.TABLE_NAME
+                        + " WHERE " + DatabaseContract.StudySessions.COLUMN_TASK_ID + " = ?", args);
+                db.execSQL("INSERT INTO " + DatabaseContract.Attachments.TABLE_NAME + " (" + ATTACHMENT_COLUMNS + ")"
+                        + " SELECT " + ATTACHMENT_COLUMNS + " FROM " + DatabaseContract.ArchivedAttachments.TABLE_NAME
+                        + " WHERE " + DatabaseContract.Attachments.COLUMN_TASK_ID + " = ?", args);
+                // Archived sessions and attachments follow through ON DELETE CASCADE.
+                restored = db.delete(
+                        DatabaseContract.ArchivedTasks.TABLE_NAME,
+                        DatabaseContract.ArchivedTasks._ID + " = ?",
+                        args
+                );
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+
+            if (restored > 0) {
+                DatabaseChangeTracker.getInstance().notifyTablesChanged(
+                        DatabaseContract.Tasks.TABLE_NAME,
+                        DatabaseContract.StudySessions.TABLE_NAME,
+                        DatabaseContract.Attachments.TABLE_NAME,
+                        DatabaseContract.ArchivedTasks.TABLE_NAME,
+                        DatabaseContract.ArchivedStudySessions.TABLE_NAME,
+                        DatabaseContract.ArchivedAttachments.TABLE_NAME
+                );
+            }
+            QueryMetrics.record("TaskArchiveDao.restoreTask", startNanos, restored);
+            return restored > 0;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    public List<Task> getArchivedTasks(long userId) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskArchiveDao.getArchivedTasks");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<Task> tasks = new ArrayList<>();
+
+            Cursor cursor = db.query(
+                    DatabaseContract.ArchivedTasks.TABLE_NAME,
+                    null,
+                    DatabaseContract.Tasks.COLUMN_USER_ID + " = ?",
+                    new String[]{String.valueOf(userId)},
+                    null,
+                    null,
+                    DatabaseContract.Tasks.COLUMN_DEADLINE + " DESC"
+            );
+
+            if (cursor != null) {
+                try {
+                    Tracer.begin("TaskArchiveDao.mapCursorToTask");
+                    while (cursor.moveToNext()) {
+                        tasks.add(TaskDao.mapCursorToTask(cursor));
+                    }
+                } finally {
+                    Tracer.end();
+                    cursor.close();
+                }
+            }
+            QueryMetrics.record("TaskArchiveDao.getArchivedTasks", startNanos, tasks.size());
+            return tasks;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    public Task getArchivedTaskById(long taskId) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskArchiveDao.getArchivedTaskById");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            Cursor cursor = db.query(
+                    DatabaseContract.ArchivedTasks.TABLE_NAME,
+                    null,
+                    DatabaseContract.ArchivedTasks._ID + " = ?",
+                    new String[]{String.valueOf(taskId)},
+                    null,
+                    null,
+                    null
+            );
+
+            Task task = null;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        task = TaskDao.mapCursorToTask(cursor);
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+            QueryMetrics.record("TaskArchiveDao.getArchivedTaskById", startNanos, task != null ? 1 : 0);
+            return task;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * Opens a cursor over the user's archived tasks (all users when userId is 0), oldest first,
+     * for streaming consumers such as exports. The caller must close it.
+     */
+    public Cursor queryArchivedTasksCursor(long userId, CancellationSignal cancellationSignal) {
+        SQLiteDatabase db = databaseHelper.getReadableDatabase();
+        String sql = "SELECT * FROM " + DatabaseContract.ArchivedTasks.TABLE_NAME
+                + (userId > 0L ? " WHERE " + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?" : "")
+                + " ORDER BY " + DatabaseContract.ArchivedTasks._ID;
+        String[] args = userId > 0L ? new String[]{String.valueOf(userId)} : null;
+        return db.rawQuery(sql, args, cancellationSignal);
+    }
+
+    /**
+     * Archived counterpart of {@link TaskDao#queryTasksPage}. The caller must close it.
+     */
+    public Cursor queryArchivedTasksPage(SQLiteDatabase db, long userId, long afterId, int limit, CancellationSignal cancellationSignal) {
+        String sql = "SELECT * FROM " + DatabaseContract.ArchivedTasks.TABLE_NAME
+                + " WHERE " + DatabaseContract.ArchivedTasks._ID + " > ?"
+                + (userId > 0L ? " AND " + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?" : "")
+                + " ORDER BY " + DatabaseContract.ArchivedTasks._ID + " LIMIT " + limit;
+        String[] args = userId > 0L
+                ? new String[]{String.valueOf(afterId), String.valueOf(userId)}
+                : new String[]{String.valueOf(afterId)};
+        return db.rawQuery(sql, args, cancellationSignal);
+    }
+
+    public long countArchivedTasks(long userId) {
+        return countArchivedTasks(databaseHelper.getReadableDatabase(), userId);
+    }
+
+    public long countArchivedTasks(SQLiteDatabase db, long userId) {
+        String sql = "SELECT COUNT(*) FROM " + DatabaseContract.ArchivedTasks.TABLE_NAME
+                + (userId > 0L ? " WHERE " + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?" : "");
+        String[] args = userId > 0L ? new String[]{String.valueOf(userId)} : null;
+        return DatabaseUtils.longForQuery(db, sql, args);
+    }
+
+    /**
+     * Archived counterpart of {@link StudySessionDao#querySessionsPage}. The caller must close it.
+     */
+    public Cursor queryArchivedSessionsPage(SQLiteDatabase db, long userId, long afterId, int limit, CancellationSignal cancellationSignal) {
+        String sql = "SELECT s.* FROM " + archivedSessionsOfUser(userId)
+                + (userId > 0L ? " AND" : " WHERE") + " s." + DatabaseContract.ArchivedStudySessions._ID + " > ?"
+                + " ORDER BY s." + DatabaseContract.ArchivedStudySessions._ID + " LIMIT " + limit;
+        String[] args = userId > 0L
+                ? new String[]{String.valueOf(userId), String.valueOf(afterId)}
+                : new String[]{String.valueOf(afterId)};
+        return db.rawQuery(sql, args, cancellationSignal);
+    }
+
+    public long countArchivedSessions(long userId) {
+        return countArchivedSessions(databaseHelper.getReadableDatabase(), userId);
+    }
+
+    public long countArchivedSessions(SQLiteDatabase db, long userId) {
+        String[] args = userId > 0L ? new String[]{String.valueOf(userId)} : null;
+        return DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM " + archivedSessionsOfUser(userId), args);
+    }
+
+    private static String archivedSessionsOfUser(long userId) {
+        String from = DatabaseContract.ArchivedStudySessions.TABLE_NAME + " s";
+        if (userId <= 0L) return from;
+        return from + " INNER JOIN " + DatabaseContract.ArchivedTasks.TABLE_NAME + " t"
+                + " ON t." + DatabaseContract.ArchivedTasks._ID + " = s." + DatabaseContract.StudySessions.COLUMN_TASK_ID
+                + " WHERE t." + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?";
+    }
+
+    /**
+     * Same as {@link StudySessionDao#getCompletedSessionCountForTask(long)} for an archived task.
+     */
+    public int getArchivedCompletedSessionCountForTask(long taskId) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskArchiveDao.getArchivedCompletedSessionCountForTask");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            Cursor cursor = db.rawQuery(
+                    "SELECT COUNT(*) FROM " + DatabaseContract.ArchivedStudySessions.TABLE_NAME
+                            + " WHERE " + DatabaseContract.StudySessions.COLUMN_TASK_ID + " = ?"
+                            + " AND " + DatabaseContract.StudySessions.COLUMN_END_TIME + " > 0",
+                    new String[]{String.valueOf(taskId)}
+            );
+
+            int count = 0;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        count = cursor.getInt(0);
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+            QueryMetrics.record("TaskArchiveDao.getArchivedCompletedSessionCountForTask", startNanos, 1);
+            return count;
+        } finally {
+            Tracer.end();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.studenttaskmanagement.model.Task;
+
+import java.util.Locale;
+
+/**
+ * Process-wide, size-bounded LRU cache of tasks by ID, kept write-through by {@link TaskDao}.
+ *
+ * Tasks are mutable, so the cache stores its own copies and hands out copies:
+ * callers that edit a loaded task (e.g. EditTaskActivity) never change cached state
+ * until the edit has been written.
+ */
+public final class TaskCache {
+
+    private static final int MAX_ENTRIES = 128;
+
+    private static final TaskCache INSTANCE = new TaskCache(MAX_ENTRIES);
+
+    private final LruCache<Long, Task> cache;
+
+    private TaskCache(int maxEntries) {
+        this.cache = new LruCache<>(maxEntries);
+    }
+
+    static TaskCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Nullable
+    Task get(long taskId) {
+        Task cached = cache.get(taskId);
+        return cached == null ? null : new Task(cached);
+    }
+
+    void put(@NonNull Task task) {
+        if (task.getId() <= 0L) return;
+        cache.put(task.getId(), new Task(task));
+    }
+
+    void remove(long taskId) {
+        cache.remove(taskId);
+    }
+
+    void clear() {
+        cache.evictAll();
+    }
+
+    Stats getStats() {
+        return new Stats(cache.hitCount(), cache.missCount(), cache.evictionCount(), cache.size(), cache.maxSize());
+    }
+
+    /**
+     * Point-in-time snapshot of the cache counters.
+     */
+    public static final class Stats {
+        private final int hitCount;
+        private final int missCount;
+        private final int evictionCount;
+        private final int size;
+        private final int maxSize;
+
+        Stats(int hitCount, int missCount, int evictionCount, int size, int maxSize) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        public int getHitCount() {
+            return hitCount;
+        }
+
+        public int getMissCount() {
+            return missCount;
+        }
+
+        public int getEvictionCount() {
+            return evictionCount;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Task cache: %d/%d entries, %d hits, %d misses, %d evictions",
+                    size, maxSize, hitCount, missCount, evictionCount);
+        }
+    }
+}
@@ -3,55 +3,129 @@ package com.example.studenttaskmanagement.database.dao;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
 
 import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
 import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.ObservableQuery;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
 import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+import com.example.studenttaskmanagement.utils.Tracer;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Data Access Object for CRUD operations on the tasks table.
+ * Single-task reads go through a process-wide {@link TaskCache} that this DAO keeps write-through.
+ * Every status write also maintains completed_at, which the velocity queries read.
  */
 public class TaskDao {
 
+    /**
+     * Keeps completed_at in step with a status write: set on the transition to completed, kept
+     * while the task stays completed, cleared otherwise. Binds the new status, then the completion
+     * time to use on the transition.
+     */
+    private static final String COMPLETED_AT_ASSIGNMENT = DatabaseContract.Tasks.COLUMN_COMPLETED_AT
+            + " = CASE WHEN ? = " + TaskStatus.COMPLETED
+            + " THEN (CASE WHEN " + DatabaseContract.Tasks.COLUMN_STATUS + " = " + TaskStatus.COMPLETED
+            + " THEN " + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + " ELSE ? END)"
+            + " ELSE NULL END";
+
+    private static final String UPDATE_TASK_SQL = "UPDATE " + DatabaseContract.Tasks.TABLE_NAME + " SET "
+            + DatabaseContract.Tasks.COLUMN_TITLE + " = ?, "
+            + DatabaseContract.Tasks.COLUMN_DESCRIPTION + " = ?, "
+            + DatabaseContract.Tasks.COLUMN_DEADLINE + " = ?, "
+            + DatabaseContract.Tasks.COLUMN_STATUS + " = ?, "
+            + DatabaseContract.Tasks.COLUMN_CATEGORY_ID + " = ?, "
+            + DatabaseContract.Tasks.COLUMN_PRIORITY_ID + " = ?, "
+            + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?, "
+            + COMPLETED_AT_ASSIGNMENT
+            + " WHERE " + DatabaseContract.Tasks._ID + " = ?";
+
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
     private final AppDatabaseHelper databaseHelper;
+    private final TaskCache taskCache = TaskCache.getInstance();
 
     public TaskDao(Context context) {
-        this.databaseHelper = new AppDatabaseHelper(context.getApplicationContext());
+        this(AppDatabaseHelper.getInstance(context));
+    }
+
+    /**
+     * For fakes in benchmarks and tests that override the query methods.
+     */
+    TaskDao(AppDatabaseHelper databaseHelper) {
+        this.databaseHelper = databaseHelper;
     }
 
     public long insertTask(Task task) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        ContentValues values = toContentValues(task, false);
-        return db.insert(DatabaseContract.Tasks.TABLE_NAME, null, values);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskDao.insertTask");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            ContentValues values = toContentValues(task, false);
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                values.put(DatabaseContract.Tasks.COLUMN_COMPLETED_AT, System.currentTimeMillis());
+            }
+            long id = db.insert(DatabaseContract.Tasks.TABLE_NAME, null, values);
+            if (id != -1L) {
+                Task inserted = new Task(task);
+                inserted.setId(id);
+                taskCache.put(inserted);
+                DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.Tasks.TABLE_NAME);
+            }
+            QueryMetrics.record("TaskDao.insertTask", startNanos, id != -1L ? 1 : 0);
+            return id;
+        } finally {
+            Tracer.end();
+        }
     }
 
     public Task getTaskById(long id) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        Cursor cursor = db.query(
-                DatabaseContract.Tasks.TABLE_NAME,
-                null,
-                DatabaseContract.Tasks._ID + " = ?",
-                new String[]{String.valueOf(id)},
-                null,
-                null,
-                null
-        );
+        Task cached = taskCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
 
-        Task task = null;
-        if (cursor != null) {
-            try {
-                if (cursor.moveToFirst()) {
-                    task = mapCursorToTask(cursor);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskDao.getTaskById");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            Cursor cursor = db.query(
+                    DatabaseContract.Tasks.TABLE_NAME,
+                    null,
+                    DatabaseContract.Tasks._ID + " = ?",
+                    new String[]{String.valueOf(id)},
+                    null,
+                    null,
+                    null
+            );
+
+            Task task = null;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        task = mapCursorToTask(cursor);
+                    }
+                } finally {
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
+            if (task != null) {
+                taskCache.put(task);
+            }
+            QueryMetrics.record("TaskDao.getTaskById", startNanos, task != null ? 1 : 0);
+            return task;
+        } finally {
+            Tracer.end();
         }
-        return task;
     }
 
     public List<Task> getAllTasks() {
@@ -59,92 +133,523 @@ public class TaskDao {
     }
 
     public List<Task> getAllTasks(long userId) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskDao.getAllTasks");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<Task> taskList = new ArrayList<>();
+
+            String selection = null;
+            String[] selectionArgs = null;
+            if (userId > 0L) {
+                selection = DatabaseContract.Tasks.COLUMN_USER_ID + " = ?";
+                selectionArgs = new String[]{String.valueOf(userId)};
+            }
+
+            Cursor cursor = db.query(
+                    DatabaseContract.Tasks.TABLE_NAME,
+                    null,
+                    selection,
+                    selectionArgs,
+                    null,
+                    null,
+                    DatabaseContract.Tasks._ID + " DESC"
+            );
+
+            if (cursor != null) {
+                try {
+                    Tracer.begin("TaskDao.mapCursorToTask");
+                    while (cursor.moveToNext()) {
+                        taskList.add(mapCursorToTask(cursor));
+                    }
+                } finally {
+                    Tracer.end();
+                    cursor.close();
+                }
+            }
+
+            QueryMetrics.record("TaskDao.getAllTasks", startNanos, taskList.size());
+            return taskList;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * Opens a cursor over the user's tasks (all users when userId is 0), oldest first,
+     * for streaming consumers such as exports. The caller must close it.
+     */
+    public Cursor queryTasksCursor(long userId, CancellationSignal cancellationSignal) {
         SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        List<Task> taskList = new ArrayList<>();
+        String sql = "SELECT * FROM " + DatabaseContract.Tasks.TABLE_NAME
+                + (userId > 0L ? " WHERE " + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?" : "")
+                + " ORDER BY " + DatabaseContract.Tasks._ID;
+        String[] args = userId > 0L ? new String[]{String.valueOf(userId)} : null;
+        return db.rawQuery(sql, args, cancellationSignal);
+    }
+
+    /**
+     * Up to limit of the user's tasks (all users when userId is 0) with IDs above afterId, in ID
+     * order. Runs on the given connection, so an export can read every page from one
+     * {@link com.example.studenttaskmanagement.database.ReadSnapshot}. The caller must close it.
+     */
+    public Cursor queryTasksPage(SQLiteDatabase db, long userId, long afterId, int limit, CancellationSignal cancellationSignal) {
+        String sql = "SELECT * FROM " + DatabaseContract.Tasks.TABLE_NAME
+                + " WHERE " + DatabaseContract.Tasks._ID + " > ?"
+                + (userId > 0L ? " AND " + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?" : "")
+                + " ORDER BY " + DatabaseContract.Tasks._ID + " LIMIT " + limit;
+        String[] args = userId > 0L
+                ? new String[]{String.valueOf(afterId), String.valueOf(userId)}
+                : new String[]{String.valueOf(afterId)};
+        return db.rawQuery(sql, args, cancellationSignal);
+    }
+
+    /**
+     * Number of rows {@link #queryTasksCursor} returns, counted without reading them.
+     */
+    public long countTasks(long userId) {
+        return countTasks(databaseHelper.getReadableDatabase(), userId);
+    }
+
+    public long countTasks(SQLiteDatabase db, long userId) {
+        String sql = "SELECT COUNT(*) FROM " + DatabaseContract.Tasks.TABLE_NAME
+                + (userId > 0L ? " WHERE " + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?" : "");
+        String[] args = userId > 0L ? new String[]{String.valueOf(userId)} : null;
+        return DatabaseUtils.longForQuery(db, sql, args);
+    }
+
+    /**
+     * Observable variant of {@link #getAllTasks(long)} that re-queries when the tasks table changes.
+     */
+    public ObservableQuery<List<Task>> observeTasks(long userId) {
+        return new ObservableQuery<>(() -> getAllTasks(userId), DatabaseContract.Tasks.TABLE_NAME);
+    }
 
-        String selection = null;
-        String[] selectionArgs = null;
-        if (userId > 0L) {
-            selection = DatabaseContract.Tasks.COLUMN_USER_ID + " = ?";
-            selectionArgs = new String[]{String.valueOf(userId)};
+    /**
+     * Completion counts and the earliest open deadline of a user's tasks in one aggregate query,
+     * answered from the (user_id, status, deadline) index. Archived tasks count towards the
+     * totals through idx_archived_tasks_user; they never have an open deadline. Deadlines are the
+     * stored "yyyy-MM-dd HH:mm" text, which sorts chronologically.
+     */
+    public ProjectProgress getProjectProgress(long userId) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskDao.getProjectProgress");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            String completed = DatabaseContract.Tasks.COLUMN_STATUS + " = " + TaskStatus.COMPLETED;
+            String deadline = DatabaseContract.Tasks.COLUMN_DEADLINE;
+
+            String status = DatabaseContract.Tasks.COLUMN_STATUS;
+            String userFilter = " WHERE " + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?";
+            String user = String.valueOf(userId);
+
+            Cursor cursor = db.rawQuery(
+                    "SELECT COUNT(*),"
+                            + " SUM(CASE WHEN " + completed + " THEN 1 ELSE 0 END),"
+                            + " MIN(CASE WHEN NOT " + completed + " AND " + deadline + " <> '' THEN " + deadline + " END)"
+                            + " FROM (SELECT " + status + ", " + deadline + " FROM " + DatabaseContract.Tasks.TABLE_NAME + userFilter
+                            + " UNION ALL SELECT " + status + ", NULL FROM " + DatabaseContract.ArchivedTasks.TABLE_NAME + userFilter + ")",
+                    new String[]{user, user}
+            );
+
+            int total = 0;
+            int completedCount = 0;
+            String earliestPendingDeadline = null;
+
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        total = cursor.getInt(0);
+                        completedCount = cursor.isNull(1) ? 0 : cursor.getInt(1);
+                        earliestPendingDeadline = cursor.isNull(2) ? null : cursor.getString(2);
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+
+            QueryMetrics.record("TaskDao.getProjectProgress", startNanos, 1);
+            return new ProjectProgress(total, completedCount, earliestPendingDeadline);
+        } finally {
+            Tracer.end();
         }
+    }
 
-        Cursor cursor = db.query(
-                DatabaseContract.Tasks.TABLE_NAME,
-                null,
-                selection,
-                selectionArgs,
-                null,
-                null,
-                DatabaseContract.Tasks._ID + " DESC"
-        );
+    /**
+     * Tasks completed per day over the {@code days} days that end at {@code endMillisExclusive},
+     * oldest day first. Days are 24-hour buckets counted back from the end. One GROUP BY over the
+     * (user_id, completed_at) index that returns at most {@code days} rows.
+     */
+    public int[] getDailyCompletionCounts(long userId, long endMillisExclusive, int days) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskDao.getDailyCompletionCounts");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            int[] counts = new int[days];
+            long windowStart = endMillisExclusive - days * DAY_MILLIS;
+
+            Cursor cursor = db.rawQuery(
+                    "SELECT (" + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + " - ?) / " + DAY_MILLIS + ", COUNT(*)"
+                            + " FROM " + DatabaseContract.Tasks.TABLE_NAME
+                            + " WHERE " + DatabaseContract.Tasks.COLUMN_USER_ID + " = ?"
+                            + " AND " + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + " >= ?"
+                            + " AND " + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + " < ?"
+                            + " GROUP BY 1",
+                    new String[]{
+                            String.valueOf(windowStart),
+                            String.valueOf(userId),
+                            String.valueOf(windowStart),
+                            String.valueOf(endMillisExclusive)
+                    }
+            );
+
+            int rows = 0;
+            if (cursor != null) {
+                try {
+                    while (cursor.moveToNext()) {
+                        int day = cursor.getInt(0);
+                        if (day >= 0 && day < days) counts[day] = cursor.getInt(1);
+                        rows++;
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
 
-        if (cursor != null) {
-            try {
-                while (cursor.moveToNext()) {
-                    taskList.add(mapCursorToTask(cursor));
+            QueryMetrics.record("TaskDao.getDailyCompletionCounts", startNanos, rows);
+            return counts;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    public List<Task> getTasksOrderedByPriority(long userId) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskDao.getTasksOrderedByPriority");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<Task> taskList = new ArrayList<>();
+
+            String selection = null;
+            String[] selectionArgs = null;
+            if (userId > 0L) {
+                selection = DatabaseContract.Tasks.COLUMN_USER_ID + " = ?";
+                selectionArgs = new String[]{String.valueOf(userId)};
+            }
+
+            Cursor cursor = db.query(
+                    DatabaseContract.Tasks.TABLE_NAME,
+                    null,
+                    selection,
+                    selectionArgs,
+                    null,
+                    null,
+                    DatabaseContract.Tasks.COLUMN_PRIORITY_ID + " ASC, " + DatabaseContract.Tasks._ID + " DESC"
+            );
+
+            if (cursor != null) {
+                try {
+                    Tracer.begin("TaskDao.mapCursorToTask");
+                    while (cursor.moveToNext()) {
+                        taskList.add(mapCursorToTask(cursor));
+                    }
+                } finally {
+                    Tracer.end();
+                    cursor.close();
                 }
+            }
+
+            QueryMetrics.record("TaskDao.getTasksOrderedByPriority", startNanos, taskList.size());
+            return taskList;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    public int updateTask(Task task) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskDao.updateTask");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows;
+            SQLiteStatement statement = db.compileStatement(UPDATE_TASK_SQL);
+            long now = System.currentTimeMillis();
+            try {
+                bindTaskUpdate(statement, task, now);
+                rows = statement.executeUpdateDelete();
             } finally {
-                cursor.close();
+                statement.close();
             }
+            if (rows > 0) {
+                // Mirror COMPLETED_AT_ASSIGNMENT, so reopening and completing this task again is stamped anew.
+                if (task.getStatus() != TaskStatus.COMPLETED) {
+                    task.setCompletedAt(0L);
+                } else if (task.getCompletedAt() <= 0L) {
+                    task.setCompletedAt(now);
+                }
+                taskCache.put(task);
+                DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.Tasks.TABLE_NAME);
+            } else {
+                taskCache.remove(task.getId());
+            }
+            QueryMetrics.record("TaskDao.updateTask", startNanos, rows);
+            return rows;
+        } finally {
+            Tracer.end();
         }
+    }
 
-        return taskList;
+    public int deleteTask(long id) {
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskDao.deleteTask");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows = db.delete(
+                    DatabaseContract.Tasks.TABLE_NAME,
+                    DatabaseContract.Tasks._ID + " = ?",
+                    new String[]{String.valueOf(id)}
+            );
+            taskCache.remove(id);
+            if (rows > 0) {
+                notifyTaskRowsDeleted();
+            }
+            QueryMetrics.record("TaskDao.deleteTask", startNanos, rows);
+            return rows;
+        } finally {
+            Tracer.end();
+        }
     }
 
+    /**
+     * Inserts all tasks in one transaction with a single compiled statement.
+     * On success every task gets its new row ID; on failure nothing is inserted and the
+     * exception is rethrown. Inserted tasks are not put into the task cache. Completed tasks keep
+     * their {@link Task#getCompletedAt()}, or are stamped with the current time when it is 0.
+     */
+    public BatchResult insertTasks(List<Task> tasks) {
+        long startNanos = System.nanoTime();
+        Tracer.begin("TaskDao.insertTasks");
+        try {
+            if (tasks == null || tasks.isEmpty()) return new BatchResult(0, 0L);
+
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            long[] ids = new long[tasks.size()];
+            SQLiteStatement statement = db.compileStatement("INSERT INTO " + DatabaseContract.Tasks.TABLE_NAME + " ("
+                    + DatabaseContract.Tasks.COLUMN_TITLE + ", "
+                    + DatabaseContract.Tasks.COLUMN_DESCRIPTION + ", "
+                    + DatabaseContract.Tasks.COLUMN_DEADLINE + ", "
+                    + DatabaseContract.Tasks.COLUMN_STATUS + ", "
+                    + DatabaseContract.Tasks.COLUMN_CATEGORY_ID + ", "
+                    + DatabaseContract.Tasks.COLUMN_PRIORITY_ID + ", "
+                    + DatabaseContract.Tasks.COLUMN_USER_ID + ", "
+                    + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+            long now = System.currentTimeMillis();
+            try {
+                db.beginTransaction();
+                try {
+                    for (int i = 0; i < ids.length; i++) {
+                        Task task = tasks.get(i);
+                        bindTask(statement, task);
+                        if (task.getStatus() == TaskStatus.COMPLETED) {
+                            statement.bindLong(8, task.getCompletedAt() > 0L ? task.getCompletedAt() : now);
+                        }
+                        ids[i] = statement.executeInsert();
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            } finally {
+                statement.close();
+            }
 
-    public List<Task> getTasksOrderedByPriority() {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        List<Task> taskList = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                tasks.get(i).setId(ids[i]);
+            }
+            DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.Tasks.TABLE_NAME);
+            BatchResult result = new BatchResult(ids.length, System.nanoTime() - startNanos);
+            QueryMetrics.record("TaskDao.insertTasks", startNanos, result.getRows());
+            return result;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * Updates all columns of the given tasks in one transaction with a single compiled statement.
+     * Tasks that become completed keep their {@link Task#getCompletedAt()}, as in {@link #insertTasks}.
+     */
+    public BatchResult updateTasks(List<Task> tasks) {
+        long startNanos = System.nanoTime();
+        Tracer.begin("TaskDao.updateTasks");
+        try {
+            if (tasks == null || tasks.isEmpty()) return new BatchResult(0, 0L);
+
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows = 0;
+            SQLiteStatement statement = db.compileStatement(UPDATE_TASK_SQL);
+            long now = System.currentTimeMillis();
+            try {
+                db.beginTransaction();
+                try {
+                    for (Task task : tasks) {
+                        bindTaskUpdate(statement, task, now);
+                        rows += statement.executeUpdateDelete();
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            } finally {
+                statement.close();
+            }
 
-        String selection = null;
-        String[] selectionArgs = null;
-        if (userId > 0L) {
-            selection = DatabaseContract.Tasks.COLUMN_USER_ID + " = ?";
-            selectionArgs = new String[]{String.valueOf(userId)};
+            for (Task task : tasks) {
+                taskCache.remove(task.getId());
+            }
+            if (rows > 0) {
+                DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.Tasks.TABLE_NAME);
+            }
+            BatchResult result = new BatchResult(rows, System.nanoTime() - startNanos);
+            QueryMetrics.record("TaskDao.updateTasks", startNanos, result.getRows());
+            return result;
+        } finally {
+            Tracer.end();
         }
+    }
 
-        Cursor cursor = db.query(
-                DatabaseContract.Tasks.TABLE_NAME,
-                null,
-                selection,
-                selectionArgs,
-                null,
-                null,
-                DatabaseContract.Tasks.COLUMN_PRIORITY_ID + " ASC, " + DatabaseContract.Tasks._ID + " DESC"
-        );
+    /**
+     * Sets the status of all given tasks in one transaction.
+     */
+    public BatchResult updateTaskStatuses(long[] taskIds, int status) {
+        return updateTaskColumn("TaskDao.updateTaskStatuses", taskIds, DatabaseContract.Tasks.COLUMN_STATUS, status);
+    }
 
-        if (cursor != null) {
+    /**
+     * Sets the priority of all given tasks in one transaction.
+     */
+    public BatchResult updateTaskPriorities(long[] taskIds, long priorityId) {
+        return updateTaskColumn("TaskDao.updateTaskPriorities", taskIds, DatabaseContract.Tasks.COLUMN_PRIORITY_ID, priorityId);
+    }
+
+    /**
+     * Marks all given tasks completed in one transaction. Like completing a single task through
+     * {@link #updateTask(Task)}, this leaves the tasks' reminders alone.
+     */
+    public BatchResult completeTasks(long[] taskIds) {
+        return updateTaskColumn("TaskDao.completeTasks", taskIds, DatabaseContract.Tasks.COLUMN_STATUS, TaskStatus.COMPLETED);
+    }
+
+    private BatchResult updateTaskColumn(String metricsTag, long[] taskIds, String column, long value) {
+        long startNanos = System.nanoTime();
+        Tracer.begin(metricsTag);
+        try {
+            if (taskIds == null || taskIds.length == 0) return new BatchResult(0, 0L);
+
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows;
+            db.beginTransaction();
             try {
-                while (cursor.moveToNext()) {
-                    taskList.add(mapCursorToTask(cursor));
+                if (DatabaseContract.Tasks.COLUMN_STATUS.equals(column)) {
+                    rows = ChunkedStatements.executeUpdateDelete(
+                            db,
+                            "UPDATE " + DatabaseContract.Tasks.TABLE_NAME
+                                    + " SET " + column + " = ?, " + COMPLETED_AT_ASSIGNMENT
+                                    + " WHERE " + DatabaseContract.Tasks._ID + " IN ",
+                            taskIds,
+                            value, value, System.currentTimeMillis()
+                    );
+                } else {
+                    rows = ChunkedStatements.executeUpdateDelete(
+                            db,
+                            "UPDATE " + DatabaseContract.Tasks.TABLE_NAME
+                                    + " SET " + column + " = ?"
+                                    + " WHERE " + DatabaseContract.Tasks._ID + " IN ",
+                            taskIds,
+                            value
+                    );
                 }
+                db.setTransactionSuccessful();
             } finally {
-                cursor.close();
+                db.endTransaction();
+            }
+
+            for (long id : taskIds) {
+                taskCache.remove(id);
             }
+            if (rows > 0) {
+                DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.Tasks.TABLE_NAME);
+            }
+            BatchResult result = new BatchResult(rows, System.nanoTime() - startNanos);
+            QueryMetrics.record(metricsTag, startNanos, result.getRows());
+            return result;
+        } finally {
+            Tracer.end();
         }
+    }
 
-        return taskList;
+    /**
+     * Deletes all given tasks in one transaction; their sessions, attachments and reminders
+     * go with them through ON DELETE CASCADE.
+     */
+    public BatchResult deleteTasks(long[] taskIds) {
+        long startNanos = System.nanoTime();
+        Tracer.begin("TaskDao.deleteTasks");
+        try {
+            if (taskIds == null || taskIds.length == 0) return new BatchResult(0, 0L);
+
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows;
+            db.beginTransaction();
+            try {
+                rows = ChunkedStatements.executeUpdateDelete(
+                        db,
+                        "DELETE FROM " + DatabaseContract.Tasks.TABLE_NAME
+                                + " WHERE " + DatabaseContract.Tasks._ID + " IN ",
+                        taskIds
+                );
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+
+            for (long id : taskIds) {
+                taskCache.remove(id);
+            }
+            if (rows > 0) {
+                notifyTaskRowsDeleted();
+            }
+            BatchResult result = new BatchResult(rows, System.nanoTime() - startNanos);
+            QueryMetrics.record("TaskDao.deleteTasks", startNanos, result.getRows());
+            return result;
+        } finally {
+            Tracer.end();
+        }
     }
 
-    public int updateTask(Task task) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        ContentValues values = toContentValues(task, false);
+    /**
+     * Hit/miss/eviction counters of the shared task cache behind {@link #getTaskById(long)}.
+     */
+    public static TaskCache.Stats getCacheStats() {
+        return TaskCache.getInstance().getStats();
+    }
 
-        return db.update(
-                DatabaseContract.Tasks.TABLE_NAME,
-                values,
-                DatabaseContract.Tasks._ID + " = ?",
-                new String[]{String.valueOf(task.getId())}
-        );
+    /**
+     * Drops every cached task. Needed after writes that bypass the DAO layer, such as a backup restore.
+     */
+    public static void invalidateCache() {
+        TaskCache.getInstance().clear();
     }
 
-    public int deleteTask(long id) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        return db.delete(
+    /**
+     * Deleting tasks cascades to their sessions, attachments and reminders (FK ON DELETE CASCADE).
+     */
+    private void notifyTaskRowsDeleted() {
+        DatabaseChangeTracker.getInstance().notifyTablesChanged(
                 DatabaseContract.Tasks.TABLE_NAME,
-                DatabaseContract.Tasks._ID + " = ?",
-                new String[]{String.valueOf(id)}
+                DatabaseContract.StudySessions.TABLE_NAME,
+                DatabaseContract.Attachments.TABLE_NAME,
+                DatabaseContract.Notifications.TABLE_NAME
         );
     }
 
@@ -179,7 +684,32 @@ public class TaskDao {
         return values;
     }
 
-    private Task mapCursorToTask(Cursor cursor) {
+    /**
+     * Binds columns 1-7 in the order used by {@link #insertTasks(List)} and {@link #updateTasks(List)};
+     * same NULL rules as {@link #toContentValues(Task, boolean)}.
+     */
+    private void bindTask(SQLiteStatement statement, Task task) {
+        statement.clearBindings();
+        if (task.getTitle() != null) statement.bindString(1, task.getTitle());
+        if (task.getDescription() != null) statement.bindString(2, task.getDescription());
+        if (task.getDeadline() != null) statement.bindString(3, task.getDeadline());
+        statement.bindLong(4, task.getStatus());
+        if (task.getCategoryId() > 0) statement.bindLong(5, task.getCategoryId());
+        if (task.getPriorityId() > 0) statement.bindLong(6, task.getPriorityId());
+        if (task.getUserId() > 0) statement.bindLong(7, task.getUserId());
+    }
+
+    /**
+     * Binds {@link #UPDATE_TASK_SQL}. A task's own completion time wins over nowMillis.
+     */
+    private void bindTaskUpdate(SQLiteStatement statement, Task task, long nowMillis) {
+        bindTask(statement, task);
+        statement.bindLong(8, task.getStatus());
+        statement.bindLong(9, task.getCompletedAt() > 0L ? task.getCompletedAt() : nowMillis);
+        statement.bindLong(10, task.getId());
+    }
+
+    static Task mapCursorToTask(Cursor cursor) {
         Task task = new Task();
 
         int idIndex = cursor.getColumnIndex(DatabaseContract.Tasks._ID);
@@ -190,6 +720,7 @@ public class TaskDao {
         int categoryIdIndex = cursor.getColumnIndex(DatabaseContract.Tasks.COLUMN_CATEGORY_ID);
         int priorityIdIndex = cursor.getColumnIndex(DatabaseContract.Tasks.COLUMN_PRIORITY_ID);
         int userIdIndex = cursor.getColumnIndex(DatabaseContract.Tasks.COLUMN_USER_ID);
+        int completedAtIndex = cursor.getColumnIndex(DatabaseContract.Tasks.COLUMN_COMPLETED_AT);
 
         if (idIndex >= 0 && !cursor.isNull(idIndex)) task.setId(cursor.getLong(idIndex));
         task.setTitle(titleIndex >= 0 && !cursor.isNull(titleIndex) ? cursor.getString(titleIndex) : null);
@@ -200,7 +731,35 @@ public class TaskDao {
         task.setCategoryId(categoryIdIndex >= 0 && !cursor.isNull(categoryIdIndex) ? cursor.getLong(categoryIdIndex) : 0L);
         task.setPriorityId(priorityIdIndex >= 0 && !cursor.isNull(priorityIdIndex) ? cursor.getLong(priorityIdIndex) : 0L);
         task.setUserId(userIdIndex >= 0 && !cursor.isNull(userIdIndex) ? cursor.getLong(userIdIndex) : 0L);
+        task.setCompletedAt(completedAtIndex >= 0 && !cursor.isNull(completedAtIndex) ? cursor.getLong(completedAtIndex) : 0L);
 
         return task;
     }
-}
\ No newline at end of file
+
+    public static final class ProjectProgress {
+        private final int totalCount;
+        private final int completedCount;
+        private final String earliestPendingDeadline;
+
+        public ProjectProgress(int totalCount, int completedCount, String earliestPendingDeadline) {
+            this.totalCount = totalCount;
+            this.completedCount = completedCount;
+            this.earliestPendingDeadline = earliestPendingDeadline;
+        }
+
+        public int getTotalCount() {
+            return totalCount;
+        }
+
+        public int getCompletedCount() {
+            return completedCount;
+        }
+
+        /**
+         * Earliest deadline among tasks not completed yet, or null if none has one.
+         */
+        public String getEarliestPendingDeadline() {
+            return earliestPendingDeadline;
+        }
+    }
+}
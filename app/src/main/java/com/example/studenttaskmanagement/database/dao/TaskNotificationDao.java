@@ -6,8 +6,11 @@ import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 
 import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
 import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
 import com.example.studenttaskmanagement.model.TaskNotification;
+import com.example.studenttaskmanagement.utils.Tracer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,113 +24,176 @@ public class TaskNotificationDao {
     private final AppDatabaseHelper databaseHelper;
 
     public TaskNotificationDao(Context context) {
-        this.databaseHelper = new AppDatabaseHelper(context.getApplicationContext());
+        this.databaseHelper = AppDatabaseHelper.getInstance(context);
     }
 
     public long insertNotification(TaskNotification notification) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        return db.insert(DatabaseContract.Notifications.TABLE_NAME, null, toContentValues(notification));
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskNotificationDao.insertNotification");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            long id = db.insert(DatabaseContract.Notifications.TABLE_NAME, null, toContentValues(notification));
+            if (id != -1L) {
+                notifyNotificationsChanged();
+            }
+            QueryMetrics.record("TaskNotificationDao.insertNotification", startNanos, id != -1L ? 1 : 0);
+            return id;
+        } finally {
+            Tracer.end();
+        }
     }
 
     public TaskNotification getNotificationByTaskId(long taskId) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        Cursor cursor = db.query(
-                DatabaseContract.Notifications.TABLE_NAME,
-                null,
-                DatabaseContract.Notifications.COLUMN_TASK_ID + " = ?",
-                new String[]{String.valueOf(taskId)},
-                null,
-                null,
-                DatabaseContract.Notifications._ID + " DESC",
-                "1"
-        );
-
-        TaskNotification notification = null;
-        if (cursor != null) {
-            try {
-                if (cursor.moveToFirst()) {
-                    notification = mapCursorToNotification(cursor);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskNotificationDao.getNotificationByTaskId");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            Cursor cursor = db.query(
+                    DatabaseContract.Notifications.TABLE_NAME,
+                    null,
+                    DatabaseContract.Notifications.COLUMN_TASK_ID + " = ?",
+                    new String[]{String.valueOf(taskId)},
+                    null,
+                    null,
+                    DatabaseContract.Notifications._ID + " DESC",
+                    "1"
+            );
+
+            TaskNotification notification = null;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        notification = mapCursorToNotification(cursor);
+                    }
+                } finally {
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
+            QueryMetrics.record("TaskNotificationDao.getNotificationByTaskId", startNanos, notification != null ? 1 : 0);
+            return notification;
+        } finally {
+            Tracer.end();
         }
-        return notification;
     }
 
     public long upsertNotificationForTask(long taskId, long notifyTimeMillis) {
-        TaskNotification existing = getNotificationByTaskId(taskId);
-        if (existing == null) {
-            TaskNotification notification = new TaskNotification();
-            notification.setTaskId(taskId);
-            notification.setNotifyTimeMillis(notifyTimeMillis);
-            notification.setIsSent(0);
-            return insertNotification(notification);
-        }
-
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.Notifications.COLUMN_NOTIFY_TIME, notifyTimeMillis);
-        values.put(DatabaseContract.Notifications.COLUMN_IS_SENT, 0);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskNotificationDao.upsertNotificationForTask");
+        try {
+            TaskNotification existing = getNotificationByTaskId(taskId);
+            if (existing == null) {
+                TaskNotification notification = new TaskNotification();
+                notification.setTaskId(taskId);
+                notification.setNotifyTimeMillis(notifyTimeMillis);
+                notification.setIsSent(0);
+                return insertNotification(notification);
+            }
 
-        int rows = db.update(
-                DatabaseContract.Notifications.TABLE_NAME,
-                values,
-                DatabaseContract.Notifications._ID + " = ?",
-                new String[]{String.valueOf(existing.getId())}
-        );
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            ContentValues values = new ContentValues();
+            values.put(DatabaseContract.Notifications.COLUMN_NOTIFY_TIME, notifyTimeMillis);
+            values.put(DatabaseContract.Notifications.COLUMN_IS_SENT, 0);
+
+            int rows = db.update(
+                    DatabaseContract.Notifications.TABLE_NAME,
+                    values,
+                    DatabaseContract.Notifications._ID + " = ?",
+                    new String[]{String.valueOf(existing.getId())}
+            );
+            if (rows > 0) {
+                notifyNotificationsChanged();
+            }
 
-        return rows > 0 ? existing.getId() : -1L;
+            QueryMetrics.record("TaskNotificationDao.upsertNotificationForTask", startNanos, rows);
+            return rows > 0 ? existing.getId() : -1L;
+        } finally {
+            Tracer.end();
+        }
     }
 
     public int deleteNotificationByTaskId(long taskId) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        return db.delete(
-                DatabaseContract.Notifications.TABLE_NAME,
-                DatabaseContract.Notifications.COLUMN_TASK_ID + " = ?",
-                new String[]{String.valueOf(taskId)}
-        );
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskNotificationDao.deleteNotificationByTaskId");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            int rows = db.delete(
+                    DatabaseContract.Notifications.TABLE_NAME,
+                    DatabaseContract.Notifications.COLUMN_TASK_ID + " = ?",
+                    new String[]{String.valueOf(taskId)}
+            );
+            if (rows > 0) {
+                notifyNotificationsChanged();
+            }
+            QueryMetrics.record("TaskNotificationDao.deleteNotificationByTaskId", startNanos, rows);
+            return rows;
+        } finally {
+            Tracer.end();
+        }
     }
 
     public List<TaskNotification> getPendingNotifications(long nowMillis) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        List<TaskNotification> notifications = new ArrayList<>();
-
-        Cursor cursor = db.query(
-                DatabaseContract.Notifications.TABLE_NAME,
-                null,
-                DatabaseContract.Notifications.COLUMN_IS_SENT + " = 0 AND "
-                        + DatabaseContract.Notifications.COLUMN_NOTIFY_TIME + " <= ?",
-                new String[]{String.valueOf(nowMillis)},
-                null,
-                null,
-                DatabaseContract.Notifications.COLUMN_NOTIFY_TIME + " ASC"
-        );
-
-        if (cursor != null) {
-            try {
-                while (cursor.moveToNext()) {
-                    notifications.add(mapCursorToNotification(cursor));
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskNotificationDao.getPendingNotifications");
+        try {
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            List<TaskNotification> notifications = new ArrayList<>();
+
+            Cursor cursor = db.query(
+                    DatabaseContract.Notifications.TABLE_NAME,
+                    null,
+                    DatabaseContract.Notifications.COLUMN_IS_SENT + " = 0 AND "
+                            + DatabaseContract.Notifications.COLUMN_NOTIFY_TIME + " <= ?",
+                    new String[]{String.valueOf(nowMillis)},
+                    null,
+                    null,
+                    DatabaseContract.Notifications.COLUMN_NOTIFY_TIME + " ASC"
+            );
+
+            if (cursor != null) {
+                try {
+                    Tracer.begin("TaskNotificationDao.mapCursorToNotification");
+                    while (cursor.moveToNext()) {
+                        notifications.add(mapCursorToNotification(cursor));
+                    }
+                } finally {
+                    Tracer.end();
+                    cursor.close();
                 }
-            } finally {
-                cursor.close();
             }
-        }
 
-        return notifications;
+            QueryMetrics.record("TaskNotificationDao.getPendingNotifications", startNanos, notifications.size());
+            return notifications;
+        } finally {
+            Tracer.end();
+        }
     }
 
     public int markNotificationAsSent(long notificationId) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.Notifications.COLUMN_IS_SENT, 1);
-
-        return db.update(
-                DatabaseContract.Notifications.TABLE_NAME,
-                values,
-                DatabaseContract.Notifications._ID + " = ?",
-                new String[]{String.valueOf(notificationId)}
-        );
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("TaskNotificationDao.markNotificationAsSent");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            ContentValues values = new ContentValues();
+            values.put(DatabaseContract.Notifications.COLUMN_IS_SENT, 1);
+
+            int rows = db.update(
+                    DatabaseContract.Notifications.TABLE_NAME,
+                    values,
+                    DatabaseContract.Notifications._ID + " = ?",
+                    new String[]{String.valueOf(notificationId)}
+            );
+            if (rows > 0) {
+                notifyNotificationsChanged();
+            }
+            QueryMetrics.record("TaskNotificationDao.markNotificationAsSent", startNanos, rows);
+            return rows;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    private void notifyNotificationsChanged() {
+        DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.Notifications.TABLE_NAME);
     }
 
     private ContentValues toContentValues(TaskNotification notification) {
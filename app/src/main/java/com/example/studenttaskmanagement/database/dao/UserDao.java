@@ -8,48 +8,72 @@ import android.database.sqlite.SQLiteDatabase;
 import androidx.annotation.Nullable;
 
 import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
 import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.metrics.QueryMetrics;
 import com.example.studenttaskmanagement.model.User;
+import com.example.studenttaskmanagement.utils.Tracer;
 
 public class UserDao {
 
     private final AppDatabaseHelper databaseHelper;
 
     public UserDao(Context context) {
-        this.databaseHelper = new AppDatabaseHelper(context.getApplicationContext());
+        this.databaseHelper = AppDatabaseHelper.getInstance(context);
     }
 
     public long insertUser(User user) {
-        SQLiteDatabase db = databaseHelper.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.Users.COLUMN_NAME, user.getName());
-        values.put(DatabaseContract.Users.COLUMN_EMAIL, user.getEmail());
-        values.put(DatabaseContract.Users.COLUMN_PASSWORD_HASH, user.getPasswordHash());
-        values.put(DatabaseContract.Users.COLUMN_CREATED_AT, user.getCreatedAt());
-        return db.insert(DatabaseContract.Users.TABLE_NAME, null, values);
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("UserDao.insertUser");
+        try {
+            SQLiteDatabase db = databaseHelper.getWritableDatabase();
+            ContentValues values = new ContentValues();
+            values.put(DatabaseContract.Users.COLUMN_NAME, user.getName());
+            values.put(DatabaseContract.Users.COLUMN_EMAIL, user.getEmail());
+            values.put(DatabaseContract.Users.COLUMN_PASSWORD_HASH, user.getPasswordHash());
+            values.put(DatabaseContract.Users.COLUMN_CREATED_AT, user.getCreatedAt());
+            long id = db.insert(DatabaseContract.Users.TABLE_NAME, null, values);
+            if (id != -1L) {
+                DatabaseChangeTracker.getInstance().notifyTablesChanged(DatabaseContract.Users.TABLE_NAME);
+            }
+            QueryMetrics.record("UserDao.insertUser", startNanos, id != -1L ? 1 : 0);
+            return id;
+        } finally {
+            Tracer.end();
+        }
     }
 
     @Nullable
     public User getUserByEmail(String email) {
-        SQLiteDatabase db = databaseHelper.getReadableDatabase();
-        Cursor cursor = db.query(
-                DatabaseContract.Users.TABLE_NAME,
-                null,
-                DatabaseContract.Users.COLUMN_EMAIL + " = ?",
-                new String[]{email},
-                null,
-                null,
-                null,
-                "1"
-        );
-
-        if (cursor == null) return null;
-
+        long startNanos = QueryMetrics.start();
+        Tracer.begin("UserDao.getUserByEmail");
         try {
-            if (!cursor.moveToFirst()) return null;
-            return mapCursorToUser(cursor);
+            SQLiteDatabase db = databaseHelper.getReadableDatabase();
+            Cursor cursor = db.query(
+                    DatabaseContract.Users.TABLE_NAME,
+                    null,
+                    DatabaseContract.Users.COLUMN_EMAIL + " = ?",
+                    new String[]{email},
+                    null,
+                    null,
+                    null,
+                    "1"
+            );
+
+            User user = null;
+            if (cursor != null) {
+                try {
+                    if (cursor.moveToFirst()) {
+                        user = mapCursorToUser(cursor);
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+            QueryMetrics.record("UserDao.getUserByEmail", startNanos, user != null ? 1 : 0);
+            return user;
         } finally {
-            cursor.close();
+            Tracer.end();
         }
     }
 
@@ -0,0 +1,85 @@
+package com.example.studenttaskmanagement.database.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * Fixed-size latency histogram with power-of-two microsecond buckets
+ * (bucket i holds samples below 2^i µs; the last bucket is open-ended).
+ *
+ * Recording is O(1) and allocation-free. Percentiles are reported as the upper bound of the
+ * bucket that contains them, so they are accurate to within a factor of two.
+ */
+public final class LatencyHistogram {
+
+    static final int BUCKET_COUNT = 24; // last bounded bucket ends at ~4.2 s
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+    private long totalRows;
+
+    synchronized void record(long elapsedNanos, long rows) {
+        long micros = elapsedNanos / 1_000L;
+        int bucket = micros <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        buckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+        count++;
+        totalNanos += elapsedNanos;
+        totalRows += Math.max(rows, 0L);
+        if (elapsedNanos > maxNanos) maxNanos = elapsedNanos;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalRows() {
+        return totalRows;
+    }
+
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0d : totalNanos / (double) count / 1_000_000d;
+    }
+
+    public synchronized double getMaxMillis() {
+        return maxNanos / 1_000_000d;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100), in milliseconds.
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) return 0d;
+        long rank = (long) Math.ceil(percentile / 100d * count);
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= Math.max(rank, 1L)) {
+                return i == BUCKET_COUNT - 1 ? getMaxMillis() : (1L << i) / 1_000d;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    synchronized void merge(LatencyHistogram other) {
+        synchronized (other) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] += other.buckets[i];
+            }
+            count += other.count;
+            totalNanos += other.totalNanos;
+            totalRows += other.totalRows;
+            if (other.maxNanos > maxNanos) maxNanos = other.maxNanos;
+        }
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "n=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms rows=%d",
+                count, getMeanMillis(), getPercentileMillis(50), getPercentileMillis(95),
+                getPercentileMillis(99), getMaxMillis(), totalRows);
+    }
+}
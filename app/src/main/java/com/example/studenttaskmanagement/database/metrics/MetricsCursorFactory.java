@@ -0,0 +1,55 @@
+package com.example.studenttaskmanagement.database.metrics;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteCursorDriver;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteQuery;
+
+import com.example.studenttaskmanagement.utils.Tracer;
+
+/**
+ * Cursor factory that times the first window fill of every query, which is when SQLite actually
+ * runs it (traced as "SQLiteCursor.fillWindow"). Queries slower than the {@link QueryMetrics} threshold go to the slow-query log with
+ * their SQL text; fast ones cost two clock reads.
+ */
+public final class MetricsCursorFactory implements SQLiteDatabase.CursorFactory {
+
+    private static final String QUERY_PREFIX = "SQLiteQuery: ";
+
+    @Override
+    public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver masterQuery, String editTable, SQLiteQuery query) {
+        return new TimedCursor(masterQuery, editTable, query);
+    }
+
+    private static final class TimedCursor extends SQLiteCursor {
+        private final SQLiteQuery query;
+        private boolean executed;
+
+        TimedCursor(SQLiteCursorDriver driver, String editTable, SQLiteQuery query) {
+            super(driver, editTable, query);
+            this.query = query;
+        }
+
+        @Override
+        public int getCount() {
+            if (executed) return super.getCount();
+
+            executed = true;
+            Tracer.begin("SQLiteCursor.fillWindow");
+            try {
+                long startNanos = System.nanoTime();
+                int count = super.getCount();
+                QueryMetrics.getInstance().onQueryExecuted(this::sqlText, System.nanoTime() - startNanos, count);
+                return count;
+            } finally {
+                Tracer.end();
+            }
+        }
+
+        private String sqlText() {
+            String text = query.toString();
+            return text.startsWith(QUERY_PREFIX) ? text.substring(QUERY_PREFIX.length()) : text;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.studenttaskmanagement.database.metrics;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide timing for the DAO layer.
+ *
+ * Every public DAO method brackets its work with {@link #start()} and
+ * {@link #record(String, long, long)}, which feeds a per-method {@link LatencyHistogram}.
+ * Calls slower than the slow threshold, and SQL queries caught by {@link MetricsCursorFactory},
+ * are kept in a bounded {@link SlowQueryLog}. Query plans are only computed when a report is
+ * built, so the hot path never runs extra SQL.
+ */
+public final class QueryMetrics {
+
+    public static final long DEFAULT_SLOW_THRESHOLD_MILLIS = 16L;
+    private static final int SLOW_LOG_CAPACITY = 100;
+    private static final String SQL_TAG = "sql";
+
+    private static final QueryMetrics INSTANCE = new QueryMetrics();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final SlowQueryLog slowLog = new SlowQueryLog(SLOW_LOG_CAPACITY);
+    private final AtomicLong mainThreadCalls = new AtomicLong();
+
+    private volatile boolean enabled = true;
+    private volatile long slowThresholdNanos = DEFAULT_SLOW_THRESHOLD_MILLIS * 1_000_000L;
+
+    private QueryMetrics() {
+    }
+
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start timestamp for a DAO call, or 0 when metrics are disabled.
+     */
+    public static long start() {
+        return INSTANCE.enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a finished DAO call. {@code rows} is the number of rows read or written.
+     */
+    public static void record(@NonNull String method, long startNanos, long rows) {
+        if (startNanos == 0L || !INSTANCE.enabled) return;
+        INSTANCE.recordCall(method, System.nanoTime() - startNanos, rows);
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setSlowThresholdMillis(long thresholdMillis) {
+        slowThresholdNanos = Math.max(0L, thresholdMillis) * 1_000_000L;
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowThresholdNanos / 1_000_000L;
+    }
+
+    private void recordCall(String method, long elapsedNanos, long rows) {
+        LatencyHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            LatencyHistogram existing = histograms.putIfAbsent(method, histogram);
+            if (existing != null) histogram = existing;
+        }
+        histogram.record(elapsedNanos, rows);
+
+        boolean onMainThread = Looper.myLooper() == Looper.getMainLooper();
+        if (onMainThread) mainThreadCalls.incrementAndGet();
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowLog.add(new SlowQueryLog.Entry(System.currentTimeMillis(), method, null,
+                    Thread.currentThread().getName(), elapsedNanos, rows));
+        }
+    }
+
+    void onQueryExecuted(@NonNull Supplier<String> sql, long elapsedNanos, long rows) {
+        if (!enabled || elapsedNanos < slowThresholdNanos) return;
+        slowLog.add(new SlowQueryLog.Entry(System.currentTimeMillis(), SQL_TAG, sql.get(),
+                Thread.currentThread().getName(), elapsedNanos, rows));
+    }
+
+    @Nullable
+    public LatencyHistogram getHistogram(@NonNull String method) {
+        return histograms.get(method);
+    }
+
+    @NonNull
+    public SlowQueryLog getSlowQueryLog() {
+        return slowLog;
+    }
+
+    public void reset() {
+        histograms.clear();
+        slowLog.clear();
+        mainThreadCalls.set(0L);
+    }
+
+    /**
+     * One-line summary for debug overlays.
+     */
+    @NonNull
+    public String getSummary() {
+        LatencyHistogram total = new LatencyHistogram();
+        String slowest = null;
+        double slowestP95 = -1d;
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            total.merge(entry.getValue());
+            double p95 = entry.getValue().getPercentileMillis(95);
+            if (p95 > slowestP95) {
+                slowestP95 = p95;
+                slowest = entry.getKey();
+            }
+        }
+
+        return String.format(Locale.US, "DAO calls=%d main=%d p95=%.1fms slow=%d%s",
+                total.getCount(), mainThreadCalls.get(), total.getPercentileMillis(95),
+                slowLog.size(),
+                slowest == null ? "" : String.format(Locale.US, " worst=%s(%.1fms)", slowest, slowestP95));
+    }
+
+    /**
+     * Full text report: per-method histograms followed by the slow-query log. When a database is
+     * given, each distinct slow SQL statement is annotated with its EXPLAIN QUERY PLAN (bound
+     * parameters are left NULL, which does not change the plan).
+     */
+    @NonNull
+    public String buildReport(@Nullable SQLiteDatabase db) {
+        SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.US);
+        StringBuilder report = new StringBuilder();
+        report.append("Query metrics ").append(timeFormat.format(new Date()))
+                .append(" (slow threshold ").append(getSlowThresholdMillis()).append(" ms)\n\n");
+
+        List<String> methods = new ArrayList<>(histograms.keySet());
+        Collections.sort(methods);
+        for (String method : methods) {
+            LatencyHistogram histogram = histograms.get(method);
+            if (histogram == null) continue;
+            report.append(method).append(": ").append(histogram).append('\n');
+        }
+
+        List<SlowQueryLog.Entry> entries = slowLog.getEntries();
+        report.append("\nSlow calls (").append(entries.size()).append(")\n");
+        Set<String> slowSql = new LinkedHashSet<>();
+        for (SlowQueryLog.Entry entry : entries) {
+            report.append(timeFormat.format(new Date(entry.getTimestampMillis())))
+                    .append(' ').append(entry).append('\n');
+            if (entry.getSql() != null) slowSql.add(entry.getSql());
+        }
+
+        if (db != null && !slowSql.isEmpty()) {
+            report.append("\nQuery plans\n");
+            for (String sql : slowSql) {
+                report.append(sql).append('\n').append(explain(db, sql)).append('\n');
+            }
+        }
+        return report.toString();
+    }
+
+    private static String explain(SQLiteDatabase db, String sql) {
+        StringBuilder plan = new StringBuilder();
+        try {
+            Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, null);
+            if (cursor != null) {
+                try {
+                    int detailIndex = cursor.getColumnIndex("detail");
+                    while (cursor.moveToNext()) {
+                        plan.append("  ").append(cursor.getString(detailIndex)).append('\n');
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+        } catch (RuntimeException e) {
+            plan.append("  (plan unavailable: ").append(e.getMessage()).append(")\n");
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.studenttaskmanagement.database.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bounded, most-recent-first log of DAO calls and SQL queries that exceeded the slow threshold.
+ * Bound values are never stored; SQL is kept with its "?" placeholders only.
+ */
+public final class SlowQueryLog {
+
+    private final int capacity;
+    private final ArrayDeque<Entry> entries;
+
+    SlowQueryLog(int capacity) {
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>(capacity);
+    }
+
+    synchronized void add(@NonNull Entry entry) {
+        if (entries.size() == capacity) entries.removeLast();
+        entries.addFirst(entry);
+    }
+
+    @NonNull
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    public static final class Entry {
+        private final long timestampMillis;
+        private final String tag;
+        private final String sql;
+        private final String threadName;
+        private final long elapsedNanos;
+        private final long rows;
+
+        Entry(long timestampMillis, @NonNull String tag, @Nullable String sql, @NonNull String threadName,
+              long elapsedNanos, long rows) {
+            this.timestampMillis = timestampMillis;
+            this.tag = tag;
+            this.sql = sql;
+            this.threadName = threadName;
+            this.elapsedNanos = elapsedNanos;
+            this.rows = rows;
+        }
+
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+
+        /**
+         * DAO method such as "TaskDao.getAllTasks", or "sql" for a query caught at cursor level.
+         */
+        @NonNull
+        public String getTag() {
+            return tag;
+        }
+
+        /**
+         * Query text with placeholders, or null for a DAO-level entry.
+         */
+        @Nullable
+        public String getSql() {
+            return sql;
+        }
+
+        @NonNull
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000d;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s %.1fms rows=%d thread=%s%s",
+                    tag, getElapsedMillis(), rows, threadName, sql == null ? "" : "\n  " + sql);
+        }
+    }
+}
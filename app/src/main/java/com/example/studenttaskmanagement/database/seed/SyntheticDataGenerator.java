@@ -0,0 +1,431 @@
+package com.example.studenttaskmanagement.database.seed;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.example.studenttaskmanagement.database.DatabaseChangeTracker;
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.model.TaskStatus;
+import com.example.studenttaskmanagement.utils.PasswordUtils;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Bulk-inserts a deterministic, realistic-looking dataset for stress and performance testing.
+ *
+ * The same seed and {@link Spec} always produce the same rows (relative to the {@code now}
+ * passed in), so benchmark runs on different commits see identical data. Rows are written
+ * with compiled statements in transactions of {@link #ROWS_PER_TRANSACTION} rows. SQLite assigns
+ * the IDs (AUTOINCREMENT), so generating into a non-empty database never reuses the ID of a
+ * deleted or archived row.
+ */
+public class SyntheticDataGenerator {
+
+    static final int ROWS_PER_TRANSACTION = 10_000;
+
+    private static final long MINUTE_MILLIS = 60L * 1000L;
+    private static final long HOUR_MILLIS = 60L * MINUTE_MILLIS;
+    private static final long DAY_MILLIS = 24L * HOUR_MILLIS;
+
+    // Relative weights for the hour of day a study session starts (evening heavy).
+    private static final int[] SESSION_HOUR_WEIGHTS = {
+            1, 0, 0, 0, 0, 0, 1, 2, 3, 4, 5, 5, 4, 4, 5, 6, 7, 8, 9, 10, 10, 9, 6, 3
+    };
+
+    private static final String[] TITLE_VERBS = {
+            "Finish", "Review", "Draft", "Submit", "Prepare", "Read", "Revise", "Practice"
+    };
+    private static final String[] TITLE_SUBJECTS = {
+            "math homework", "physics lab report", "history essay", "chemistry quiz notes",
+            "group project slides", "literature reading", "exam flashcards", "programming assignment"
+    };
+
+    private final Random random;
+    private final int[] sessionHourCumulative;
+
+    public SyntheticDataGenerator(long seed) {
+        this.random = new Random(seed);
+
+        sessionHourCumulative = new int[SESSION_HOUR_WEIGHTS.length];
+        int total = 0;
+        for (int i = 0; i < SESSION_HOUR_WEIGHTS.length; i++) {
+            total += SESSION_HOUR_WEIGHTS[i];
+            sessionHourCumulative[i] = total;
+        }
+    }
+
+    /**
+     * Row counts to generate. Tasks are spread evenly over the users (the seeded default user
+     * is always included), sessions are spread over the tasks with a skew towards a few busy ones.
+     */
+    public static final class Spec {
+        final int extraUsers;
+        final int tasks;
+        final int sessions;
+        final double reminderFraction;
+
+        public Spec(int extraUsers, int tasks, int sessions, double reminderFraction) {
+            if (extraUsers < 0 || tasks < 0 || sessions < 0) {
+                throw new IllegalArgumentException("Counts must not be negative");
+            }
+            if (sessions > 0 && tasks == 0) {
+                throw new IllegalArgumentException("Sessions need at least one task");
+            }
+            this.extraUsers = extraUsers;
+            this.tasks = tasks;
+            this.sessions = sessions;
+            this.reminderFraction = Math.max(0D, Math.min(1D, reminderFraction));
+        }
+
+        public static Spec of(int tasks, int sessions) {
+            return new Spec(0, tasks, sessions, 0.25D);
+        }
+    }
+
+    public static final class Result {
+        private final int users;
+        private final int tasks;
+        private final int sessions;
+        private final int reminders;
+        private final long elapsedMillis;
+
+        Result(int users, int tasks, int sessions, int reminders, long elapsedMillis) {
+            this.users = users;
+            this.tasks = tasks;
+            this.sessions = sessions;
+            this.reminders = reminders;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public int getTasks() {
+            return tasks;
+        }
+
+        public int getSessions() {
+            return sessions;
+        }
+
+        public int getReminders() {
+            return reminders;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d users, %d tasks, %d sessions, %d reminders in %d ms",
+                    users, tasks, sessions, reminders, elapsedMillis);
+        }
+    }
+
+    @WorkerThread
+    @NonNull
+    public Result generate(@NonNull SQLiteDatabase db, @NonNull Spec spec, long nowMillis) {
+        long startedAt = SystemClock.elapsedRealtime();
+
+        long[] userIds = insertUsers(db, spec.extraUsers, nowMillis);
+        long[] taskIds = new long[spec.tasks];
+        int reminders = insertTasksAndReminders(db, spec, userIds, taskIds, nowMillis);
+        insertSessions(db, spec, taskIds, nowMillis);
+
+        DatabaseChangeTracker.getInstance().notifyTablesChanged(
+                DatabaseContract.Users.TABLE_NAME,
+                DatabaseContract.Tasks.TABLE_NAME,
+                DatabaseContract.StudySessions.TABLE_NAME,
+                DatabaseContract.Notifications.TABLE_NAME
+        );
+
+        return new Result(
+                userIds.length,
+                spec.tasks,
+                spec.sessions,
+                reminders,
+                SystemClock.elapsedRealtime() - startedAt
+        );
+    }
+
+    private long[] insertUsers(SQLiteDatabase db, int extraUsers, long nowMillis) {
+        long[] userIds = new long[extraUsers + 1];
+        userIds[0] = 1L; // Seeded default user.
+
+        if (extraUsers == 0) return userIds;
+
+        // Only names the users; IDs come from executeInsert. The sequence never goes back, so the
+        // e-mail addresses stay unique across repeated runs.
+        long nameBase = lastAssignedId(db, DatabaseContract.Users.TABLE_NAME);
+        String passwordHash = PasswordUtils.sha256("password");
+        SQLiteStatement statement = db.compileStatement("INSERT INTO " + DatabaseContract.Users.TABLE_NAME + " ("
+                + DatabaseContract.Users.COLUMN_NAME + ", "
+                + DatabaseContract.Users.COLUMN_EMAIL + ", "
+                + DatabaseContract.Users.COLUMN_PASSWORD_HASH + ", "
+                + DatabaseContract.Users.COLUMN_CREATED_AT + ") VALUES (?, ?, ?, ?)");
+        try {
+            db.beginTransaction();
+            try {
+                for (int i = 0; i < extraUsers; i++) {
+                    long number = nameBase + i + 1L;
+                    statement.clearBindings();
+                    statement.bindString(1, "Synthetic Student " + number);
+                    statement.bindString(2, "synthetic" + number + "@example.com");
+                    statement.bindString(3, passwordHash);
+                    statement.bindLong(4, nowMillis);
+                    userIds[i + 1] = statement.executeInsert();
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            statement.close();
+        }
+        return userIds;
+    }
+
+    /**
+     * Fills {@code taskIds} with the IDs SQLite assigned, in insertion order.
+     */
+    private int insertTasksAndReminders(SQLiteDatabase db, Spec spec, long[] userIds, long[] taskIds, long nowMillis) {
+        SQLiteStatement insertTask = db.compileStatement("INSERT INTO " + DatabaseContract.Tasks.TABLE_NAME + " ("
+                + DatabaseContract.Tasks.COLUMN_TITLE + ", "
+                + DatabaseContract.Tasks.COLUMN_DESCRIPTION + ", "
+                + DatabaseContract.Tasks.COLUMN_DEADLINE + ", "
+                + DatabaseContract.Tasks.COLUMN_STATUS + ", "
+                + DatabaseContract.Tasks.COLUMN_CATEGORY_ID + ", "
+                + DatabaseContract.Tasks.COLUMN_PRIORITY_ID + ", "
+                + DatabaseContract.Tasks.COLUMN_USER_ID + ", "
+                + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        SQLiteStatement insertReminder = db.compileStatement("INSERT OR IGNORE INTO " + DatabaseContract.Notifications.TABLE_NAME + " ("
+                + DatabaseContract.Notifications.COLUMN_TASK_ID + ", "
+                + DatabaseContract.Notifications.COLUMN_NOTIFY_TIME + ", "
+                + DatabaseContract.Notifications.COLUMN_IS_SENT + ") VALUES (?, ?, ?)");
+        long[] categoryIds = loadIds(db, DatabaseContract.Categories.TABLE_NAME);
+        long[] priorityIds = loadIds(db, DatabaseContract.Priorities.TABLE_NAME);
+        Calendar calendar = Calendar.getInstance();
+        char[] deadlineBuffer = new char[16];
+
+        int reminders = 0;
+        try {
+            for (int chunkStart = 0; chunkStart < spec.tasks; chunkStart += ROWS_PER_TRANSACTION) {
+                int chunkEnd = Math.min(spec.tasks, chunkStart + ROWS_PER_TRANSACTION);
+                db.beginTransaction();
+                try {
+                    for (int i = chunkStart; i < chunkEnd; i++) {
+                        long deadline = nextDeadline(calendar, nowMillis);
+                        int status = nextStatus(deadline < nowMillis);
+
+                        insertTask.clearBindings();
+                        insertTask.bindString(1, nextTitle());
+                        insertTask.bindString(2, "Synthetic task #" + (i + 1));
+                        insertTask.bindString(3, formatDeadline(calendar, deadline, deadlineBuffer));
+                        insertTask.bindLong(4, status);
+                        if (categoryIds.length > 0) insertTask.bindLong(5, categoryIds[random.nextInt(categoryIds.length)]);
+                        if (priorityIds.length > 0) insertTask.bindLong(6, pickPriority(priorityIds));
+                        insertTask.bindLong(7, userIds[i % userIds.length]);
+                        if (status == TaskStatus.COMPLETED) insertTask.bindLong(8, Math.min(deadline, nowMillis));
+                        long taskId = insertTask.executeInsert();
+                        taskIds[i] = taskId;
+
+                        if (status != TaskStatus.COMPLETED && random.nextDouble() < spec.reminderFraction) {
+                            long notifyAt = deadline - (random.nextBoolean() ? HOUR_MILLIS : DAY_MILLIS);
+                            insertReminder.clearBindings();
+                            insertReminder.bindLong(1, taskId);
+                            insertReminder.bindLong(2, notifyAt);
+                            insertReminder.bindLong(3, notifyAt <= nowMillis ? 1 : 0);
+                            if (insertReminder.executeInsert() != -1L) reminders++;
+                        }
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        } finally {
+            insertTask.close();
+            insertReminder.close();
+        }
+        return reminders;
+    }
+
+    private void insertSessions(SQLiteDatabase db, Spec spec, long[] taskIds, long nowMillis) {
+        SQLiteStatement statement = db.compileStatement("INSERT INTO " + DatabaseContract.StudySessions.TABLE_NAME + " ("
+                + DatabaseContract.StudySessions.COLUMN_TASK_ID + ", "
+                + DatabaseContract.StudySessions.COLUMN_START_TIME + ", "
+                + DatabaseContract.StudySessions.COLUMN_END_TIME + ", "
+                + DatabaseContract.StudySessions.COLUMN_DURATION + ") VALUES (?, ?, ?, ?)");
+        Calendar calendar = Calendar.getInstance();
+        try {
+            for (int chunkStart = 0; chunkStart < spec.sessions; chunkStart += ROWS_PER_TRANSACTION) {
+                int chunkEnd = Math.min(spec.sessions, chunkStart + ROWS_PER_TRANSACTION);
+                db.beginTransaction();
+                try {
+                    for (int i = chunkStart; i < chunkEnd; i++) {
+                        long start = nextSessionStart(calendar, nowMillis);
+                        long duration = nextSessionDuration();
+
+                        statement.clearBindings();
+                        statement.bindLong(1, taskIds[nextSessionTaskIndex(spec.tasks)]);
+                        statement.bindLong(2, start);
+                        statement.bindLong(3, start + duration);
+                        statement.bindLong(4, duration);
+                        statement.executeInsert();
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Roughly a third overdue (up to ~2 months back), the rest due within the next weeks,
+     * clustered on the hour or half hour between 08:00 and 23:30.
+     */
+    private long nextDeadline(Calendar calendar, long nowMillis) {
+        double days = random.nextDouble() < 0.3D
+                ? -exponential(14D)
+                : exponential(10D);
+        int halfHours = 16 + random.nextInt(32);
+
+        calendar.setTimeInMillis(nowMillis + (long) (days * DAY_MILLIS));
+        calendar.set(Calendar.HOUR_OF_DAY, halfHours / 2);
+        calendar.set(Calendar.MINUTE, (halfHours % 2) * 30);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private int nextStatus(boolean overdue) {
+        double roll = random.nextDouble();
+        if (overdue) {
+            if (roll < 0.7D) return TaskStatus.COMPLETED;
+            if (roll < 0.9D) return TaskStatus.NOT_DONE;
+            return TaskStatus.PENDING;
+        }
+        return roll < 0.15D ? TaskStatus.COMPLETED : TaskStatus.PENDING;
+    }
+
+    private long pickPriority(long[] priorityIds) {
+        // Medium is the most common choice, high the rarest.
+        double roll = random.nextDouble();
+        int index = roll < 0.35D ? 0 : roll < 0.85D ? 1 : 2;
+        return priorityIds[Math.min(index, priorityIds.length - 1)];
+    }
+
+    private String nextTitle() {
+        return TITLE_VERBS[random.nextInt(TITLE_VERBS.length)] + " "
+                + TITLE_SUBJECTS[random.nextInt(TITLE_SUBJECTS.length)];
+    }
+
+    /**
+     * Sessions over the last 26 weeks, starting at evening-heavy hours.
+     */
+    private long nextSessionStart(Calendar calendar, long nowMillis) {
+        calendar.setTimeInMillis(nowMillis - (long) (random.nextDouble() * 182D * DAY_MILLIS));
+        calendar.set(Calendar.HOUR_OF_DAY, pickSessionHour());
+        calendar.set(Calendar.MINUTE, random.nextInt(60));
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return Math.min(calendar.getTimeInMillis(), nowMillis - 3L * HOUR_MILLIS);
+    }
+
+    private int pickSessionHour() {
+        int roll = random.nextInt(sessionHourCumulative[sessionHourCumulative.length - 1]);
+        for (int hour = 0; hour < sessionHourCumulative.length; hour++) {
+            if (roll < sessionHourCumulative[hour]) return hour;
+        }
+        return 20;
+    }
+
+    /**
+     * Log-normal around 35 minutes, clamped to 5 minutes .. 3 hours.
+     */
+    private long nextSessionDuration() {
+        double minutes = Math.exp(Math.log(35D) + 0.6D * random.nextGaussian());
+        minutes = Math.max(5D, Math.min(180D, minutes));
+        return (long) (minutes * MINUTE_MILLIS);
+    }
+
+    /**
+     * Squaring a uniform value makes low task indexes (a few busy tasks) more likely.
+     */
+    private int nextSessionTaskIndex(int taskCount) {
+        double u = random.nextDouble();
+        return Math.min(taskCount - 1, (int) (u * u * taskCount));
+    }
+
+    private double exponential(double mean) {
+        return -mean * Math.log(1D - random.nextDouble());
+    }
+
+    /**
+     * Formats as "yyyy-MM-dd HH:mm" without SimpleDateFormat, which dominates at 1M rows.
+     */
+    private static String formatDeadline(Calendar calendar, long millis, char[] buffer) {
+        calendar.setTimeInMillis(millis);
+        writeDigits(buffer, 0, calendar.get(Calendar.YEAR), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, calendar.get(Calendar.MONTH) + 1, 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, calendar.get(Calendar.DAY_OF_MONTH), 2);
+        buffer[10] = ' ';
+        writeDigits(buffer, 11, calendar.get(Calendar.HOUR_OF_DAY), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, calendar.get(Calendar.MINUTE), 2);
+        return new String(buffer, 0, 16);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * The AUTOINCREMENT counter of {@code table}: the largest ID it has ever handed out, 0 if none.
+     */
+    private static long lastAssignedId(SQLiteDatabase db, String table) {
+        Cursor cursor = db.rawQuery("SELECT seq FROM sqlite_sequence WHERE name = ?", new String[]{table});
+        if (cursor != null) {
+            try {
+                if (cursor.moveToFirst()) return cursor.getLong(0);
+            } finally {
+                cursor.close();
+            }
+        }
+        return 0L;
+    }
+
+    private static long[] loadIds(SQLiteDatabase db, String table) {
+        Cursor cursor = db.rawQuery("SELECT " + DatabaseContract.Tasks._ID + " FROM " + table
+                + " ORDER BY " + DatabaseContract.Tasks._ID, null);
+        if (cursor == null) return new long[0];
+        try {
+            long[] ids = new long[cursor.getCount()];
+            int i = 0;
+            while (cursor.moveToNext()) {
+                ids[i++] = cursor.getLong(0);
+            }
+            return ids;
+        } finally {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.studenttaskmanagement.maintenance;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.studenttaskmanagement.database.DatabaseMaintenance;
+
+/**
+ * Runs {@link DatabaseMaintenance} (quick_check, incremental vacuum, PRAGMA optimize).
+ * Scheduled weekly by {@link MaintenanceStartup} for when the device is idle and charging.
+ */
+public class DatabaseMaintenanceWorker extends Worker {
+
+    public static final String OUTPUT_SIZE_BEFORE_BYTES = "size_before_bytes";
+    public static final String OUTPUT_SIZE_AFTER_BYTES = "size_after_bytes";
+    public static final String OUTPUT_ELAPSED_MILLIS = "elapsed_millis";
+    public static final String OUTPUT_INTEGRITY = "integrity";
+
+    private static final String TAG = "DbMaintenanceWorker";
+
+    public DatabaseMaintenanceWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        DatabaseMaintenance.Report report;
+        try {
+            report = new DatabaseMaintenance(getApplicationContext()).run();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Maintenance failed", e);
+            return Result.retry();
+        }
+
+        if (report.isHealthy()) {
+            Log.i(TAG, "Maintenance: " + report);
+        } else {
+            Log.e(TAG, "Maintenance found a damaged database: " + report);
+        }
+
+        Data output = new Data.Builder()
+                .putLong(OUTPUT_SIZE_BEFORE_BYTES, report.getSizeBeforeBytes())
+                .putLong(OUTPUT_SIZE_AFTER_BYTES, report.getSizeAfterBytes())
+                .putLong(OUTPUT_ELAPSED_MILLIS, report.getElapsedMillis())
+                .putString(OUTPUT_INTEGRITY, report.getIntegrityResult())
+                .build();
+        return Result.success(output);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.studenttaskmanagement.maintenance;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the periodic database housekeeping jobs. Safe to call on every launch:
+ * existing schedules are kept.
+ */
+public final class MaintenanceStartup {
+
+    private static final String TASK_ARCHIVE_WORK_NAME = "task_archive_daily_worker";
+    private static final String DATABASE_MAINTENANCE_WORK_NAME = "database_maintenance_weekly_worker";
+
+    private MaintenanceStartup() {}
+
+    public static void schedule(@NonNull Context context) {
+        Context appCtx = context.getApplicationContext();
+
+        // Archival rewrites many rows; keep it away from the user and from low battery.
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresDeviceIdle(true)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        PeriodicWorkRequest archiveWork =
+                new PeriodicWorkRequest.Builder(TaskArchiveWorker.class, 1, TimeUnit.DAYS)
+                        .setConstraints(constraints)
+                        .build();
+
+        WorkManager.getInstance(appCtx).enqueueUniquePeriodicWork(
+                TASK_ARCHIVE_WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP,
+                archiveWork
+        );
+
+        // VACUUM holds the write lock; only run it while the phone sits on the charger.
+        Constraints maintenanceConstraints = new Constraints.Builder()
+                .setRequiresDeviceIdle(true)
+                .setRequiresCharging(true)
+                .build();
+
+        PeriodicWorkRequest maintenanceWork =
+                new PeriodicWorkRequest.Builder(DatabaseMaintenanceWorker.class, 7, TimeUnit.DAYS)
+                        .setConstraints(maintenanceConstraints)
+                        .build();
+
+        WorkManager.getInstance(appCtx).enqueueUniquePeriodicWork(
+                DATABASE_MAINTENANCE_WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP,
+                maintenanceWork
+        );
+    }
+}
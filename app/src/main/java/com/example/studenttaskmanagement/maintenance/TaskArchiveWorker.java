@@ -0,0 +1,42 @@
+package com.example.studenttaskmanagement.maintenance;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.studenttaskmanagement.database.dao.BatchResult;
+import com.example.studenttaskmanagement.database.dao.TaskArchiveDao;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves tasks completed more than {@link #ARCHIVE_AFTER_DAYS} days ago, with their sessions and
+ * attachments, into the archive tables. Scheduled daily by {@link MaintenanceStartup}.
+ */
+public class TaskArchiveWorker extends Worker {
+
+    public static final int ARCHIVE_AFTER_DAYS = 30;
+
+    private static final String TAG = "TaskArchiveWorker";
+
+    public TaskArchiveWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        long cutoffMillis = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(ARCHIVE_AFTER_DAYS);
+        try {
+            BatchResult result = new TaskArchiveDao(getApplicationContext()).archiveCompletedTasks(cutoffMillis);
+            Log.i(TAG, "Archived " + result);
+            return Result.success();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Archival failed", e);
+            return Result.retry();
+        }
+    }
+}
@@ -9,6 +9,8 @@ public class Task {
     private long categoryId;
     private long priorityId;
     private long userId;
+    // Epoch millis, 0 when unknown. Only TaskDao.insertTasks reads it; the DAO keeps completed_at itself otherwise.
+    private long completedAt;
 
     public Task() {
     }
@@ -25,6 +27,12 @@ public class Task {
         this.userId = userId;
     }
 
+    public Task(Task other) {
+        this(other.id, other.title, other.description, other.deadline, other.status,
+                other.categoryId, other.priorityId, other.userId);
+        this.completedAt = other.completedAt;
+    }
+
     public long getId() {
         return id;
     }
@@ -88,4 +96,12 @@ public class Task {
     public void setUserId(long userId) {
         this.userId = userId;
     }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(long completedAt) {
+        this.completedAt = completedAt;
+    }
 }
@@ -18,6 +18,7 @@ import com.example.studenttaskmanagement.database.dao.TaskDao;
 import com.example.studenttaskmanagement.database.dao.TaskNotificationDao;
 import com.example.studenttaskmanagement.model.Task;
 import com.example.studenttaskmanagement.model.TaskNotification;
+import com.example.studenttaskmanagement.utils.Tracer;
 
 import java.util.Date;
 import java.util.List;
@@ -31,8 +32,15 @@ public class TaskReminderWorker extends Worker {
     @NonNull
     @Override
     public Result doWork() {
-        Context context = getApplicationContext();
+        Tracer.begin("TaskReminderWorker.doWork");
+        try {
+            return sendDueReminders(getApplicationContext());
+        } finally {
+            Tracer.end();
+        }
+    }
 
+    private Result sendDueReminders(Context context) {
         // If user turned reminders off, do nothing.
         if (!NotificationPreferences.areRemindersEnabled(context)) {
             return Result.success();
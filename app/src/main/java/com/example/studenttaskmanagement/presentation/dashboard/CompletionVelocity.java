@@ -0,0 +1,83 @@
+package com.example.studenttaskmanagement.presentation.dashboard;
+
+/**
+ * Completion velocity derived from per-day completion counts (oldest day first), as returned by
+ * {@code TaskDao.getDailyCompletionCounts}.
+ *
+ * Besides plain rolling rates over any trailing window, it keeps an exponentially weighted mean
+ * in which a day's weight halves every {@link #HALF_LIFE_DAYS} days, and an 80% confidence band
+ * around it from the weighted variance and the effective number of days.
+ */
+public final class CompletionVelocity {
+
+    public static final double HALF_LIFE_DAYS = 7D;
+
+    // Two-sided 80% normal quantile.
+    private static final double Z_80 = 1.2816D;
+
+    private final int[] dailyCounts;
+    private final double weightedPerDay;
+    private final double standardError;
+
+    public CompletionVelocity(int[] dailyCounts) {
+        this.dailyCounts = dailyCounts;
+
+        double decay = Math.pow(0.5D, 1D / HALF_LIFE_DAYS);
+        double weight = 1D;
+        double weightSum = 0D;
+        double weightSquareSum = 0D;
+        double weightedSum = 0D;
+        for (int i = dailyCounts.length - 1; i >= 0; i--) {
+            weightSum += weight;
+            weightSquareSum += weight * weight;
+            weightedSum += weight * dailyCounts[i];
+            weight *= decay;
+        }
+        double mean = weightSum > 0D ? weightedSum / weightSum : 0D;
+
+        weight = 1D;
+        double weightedSquareDeviation = 0D;
+        for (int i = dailyCounts.length - 1; i >= 0; i--) {
+            double deviation = dailyCounts[i] - mean;
+            weightedSquareDeviation += weight * deviation * deviation;
+            weight *= decay;
+        }
+
+        this.weightedPerDay = mean;
+        if (weightSum > 0D) {
+            double variance = weightedSquareDeviation / weightSum;
+            double effectiveDays = (weightSum * weightSum) / weightSquareSum;
+            this.standardError = Math.sqrt(variance / effectiveDays);
+        } else {
+            this.standardError = 0D;
+        }
+    }
+
+    /**
+     * Completions in the last {@code windowDays} days (capped at the available history).
+     */
+    public int getCompletedInLast(int windowDays) {
+        int total = 0;
+        for (int i = Math.max(0, dailyCounts.length - windowDays); i < dailyCounts.length; i++) {
+            total += dailyCounts[i];
+        }
+        return total;
+    }
+
+    public double getRollingPerDay(int windowDays) {
+        int days = Math.min(windowDays, dailyCounts.length);
+        return days <= 0 ? 0D : getCompletedInLast(days) / (double) days;
+    }
+
+    public double getWeightedPerDay() {
+        return weightedPerDay;
+    }
+
+    public double getLowerPerDay() {
+        return Math.max(0D, weightedPerDay - Z_80 * standardError);
+    }
+
+    public double getUpperPerDay() {
+        return weightedPerDay + Z_80 * standardError;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.studenttaskmanagement.presentation.dashboard;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.studenttaskmanagement.utils.Tracer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the last successfully loaded dashboard in a small binary file so a cold start can
+ * render it before any query runs.
+ *
+ * File layout: magic, format version, CRC32 of the payload, payload length, payload. The
+ * payload holds the user ID, save time, status, message, cards and forecast. A snapshot
+ * belongs to one user and one week: it is ignored after a logout or once the week it
+ * describes is over. Unreadable or corrupt files are treated as missing.
+ */
+public class DashboardSnapshotStore {
+
+    private static final String TAG = "DashboardSnapshotStore";
+    private static final String FILE_NAME = "dashboard_snapshot.bin";
+    private static final int MAGIC = 0x44534831; // "DSH1"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_PAYLOAD_BYTES = 64 * 1024;
+
+    // Single writer thread: saves land in order and never race a clear().
+    private static final ExecutorService WRITE_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private final File file;
+
+    public DashboardSnapshotStore(@NonNull Context context) {
+        this.file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+    }
+
+    /**
+     * Reads the snapshot with a single small read. Returns null if there is none for this user,
+     * if it was saved before {@code notBeforeMillis}, or if it cannot be decoded.
+     */
+    @Nullable
+    public DashboardUiState load(long userId, long notBeforeMillis) {
+        Tracer.begin("DashboardSnapshotStore.load");
+        try {
+            long length = file.length();
+            if (length <= HEADER_BYTES || length > HEADER_BYTES + MAX_PAYLOAD_BYTES) return null;
+
+            byte[] bytes = new byte[(int) length];
+            try (FileInputStream in = new FileInputStream(file)) {
+                int read = 0;
+                while (read < bytes.length) {
+                    int n = in.read(bytes, read, bytes.length - read);
+                    if (n < 0) return null;
+                    read += n;
+                }
+            }
+            return decode(bytes, userId, notBeforeMillis);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Ignoring unreadable dashboard snapshot", e);
+            return null;
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * Writes the state in the background, atomically replacing the previous snapshot.
+     * Only EMPTY and CONTENT states are kept.
+     */
+    public void saveAsync(long userId, @NonNull DashboardUiState state) {
+        if (state.getStatus() != DashboardUiState.Status.CONTENT
+                && state.getStatus() != DashboardUiState.Status.EMPTY) {
+            return;
+        }
+        long savedAtMillis = System.currentTimeMillis();
+        WRITE_EXECUTOR.execute(() -> save(userId, state, savedAtMillis));
+    }
+
+    public void clear() {
+        WRITE_EXECUTOR.execute(() -> {
+            if (file.exists() && !file.delete()) {
+                Log.w(TAG, "Could not delete dashboard snapshot");
+            }
+        });
+    }
+
+    private void save(long userId, DashboardUiState state, long savedAtMillis) {
+        try {
+            byte[] bytes = encode(userId, state, savedAtMillis);
+            File tmp = new File(file.getPath() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                out.write(bytes);
+            }
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+                throw new IOException("Could not replace " + file);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not save dashboard snapshot", e);
+        }
+    }
+
+    static byte[] encode(long userId, DashboardUiState state, long savedAtMillis) throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(512);
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+        payload.writeLong(userId);
+        payload.writeLong(savedAtMillis);
+        payload.writeByte(state.getStatus().ordinal());
+        writeNullableString(payload, state.getMessage());
+
+        List<DashboardKpiCard> cards = state.getCards();
+        payload.writeByte(cards.size());
+        for (DashboardKpiCard card : cards) {
+            writeNullableString(payload, card.getLabel());
+            writeNullableString(payload, card.getValue());
+            writeNullableString(payload, card.getDeltaText());
+            payload.writeByte(card.getTrend() == null ? -1 : card.getTrend().ordinal());
+        }
+
+        ProjectCompletionForecast forecast = state.getCompletionForecast();
+        payload.writeBoolean(forecast != null);
+        if (forecast != null) {
+            writeNullableString(payload, forecast.getCompletionPercentText());
+            writeNullableString(payload, forecast.getEstimatedCompletionDateText());
+            writeNullableString(payload, forecast.getEstimatedRangeText());
+            writeNullableString(payload, forecast.getVelocityText());
+            payload.writeBoolean(forecast.isAtRisk());
+        }
+        payload.flush();
+
+        byte[] payloadArray = payloadBytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payloadArray);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + payloadArray.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt((int) crc.getValue());
+        out.writeInt(payloadArray.length);
+        out.write(payloadArray);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static DashboardUiState decode(byte[] bytes, long userId, long notBeforeMillis) throws IOException {
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(bytes, 0, HEADER_BYTES));
+        if (header.readInt() != MAGIC || header.readInt() != FORMAT_VERSION) return null;
+        int expectedCrc = header.readInt();
+        int payloadLength = header.readInt();
+        if (payloadLength != bytes.length - HEADER_BYTES) return null;
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_BYTES, payloadLength);
+        if ((int) crc.getValue() != expectedCrc) return null;
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, HEADER_BYTES, payloadLength));
+        if (in.readLong() != userId) return null;
+        if (in.readLong() < notBeforeMillis) return null;
+
+        DashboardUiState.Status status = DashboardUiState.Status.values()[in.readUnsignedByte()];
+        String message = readNullableString(in);
+
+        int cardCount = in.readUnsignedByte();
+        List<DashboardKpiCard> cards = new ArrayList<>(cardCount);
+        for (int i = 0; i < cardCount; i++) {
+            String label = readNullableString(in);
+            String value = readNullableString(in);
+            String deltaText = readNullableString(in);
+            int trend = in.readByte();
+            cards.add(new DashboardKpiCard(label, value, deltaText,
+                    trend < 0 ? null : DashboardKpiCard.Trend.values()[trend]));
+        }
+
+        ProjectCompletionForecast forecast = null;
+        if (in.readBoolean()) {
+            String completionPercentText = readNullableString(in);
+            String estimatedCompletionDateText = readNullableString(in);
+            String estimatedRangeText = readNullableString(in);
+            String velocityText = readNullableString(in);
+            forecast = new ProjectCompletionForecast(completionPercentText, estimatedCompletionDateText,
+                    estimatedRangeText, velocityText, in.readBoolean());
+        }
+        return new DashboardUiState(status, message, cards, forecast);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.studenttaskmanagement.presentation.dashboard;
+
+/**
+ * Study trend over consecutive weeks or months, oldest bucket first, as parallel primitive arrays
+ * that charts can draw from directly.
+ */
+public class DashboardTrend {
+
+    public enum Granularity {
+        WEEKS,
+        MONTHS
+    }
+
+    private final Granularity granularity;
+    private final long[] bucketStartMillis;
+    private final String[] labels;
+    private final float[] focusedMinutes;
+    private final float[] sessionCounts;
+    private final float[] completionPercents;
+
+    public DashboardTrend(Granularity granularity, long[] bucketStartMillis, String[] labels,
+                          float[] focusedMinutes, float[] sessionCounts, float[] completionPercents) {
+        this.granularity = granularity;
+        this.bucketStartMillis = bucketStartMillis;
+        this.labels = labels;
+        this.focusedMinutes = focusedMinutes;
+        this.sessionCounts = sessionCounts;
+        this.completionPercents = completionPercents;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public int getBucketCount() {
+        return labels.length;
+    }
+
+    public long[] getBucketStartMillis() {
+        return bucketStartMillis;
+    }
+
+    public String[] getLabels() {
+        return labels;
+    }
+
+    public float[] getFocusedMinutes() {
+        return focusedMinutes;
+    }
+
+    public float[] getSessionCounts() {
+        return sessionCounts;
+    }
+
+    /**
+     * Completed / planned sessions per bucket, 0-100; 0 for buckets without sessions.
+     */
+    public float[] getCompletionPercents() {
+        return completionPercents;
+    }
+}
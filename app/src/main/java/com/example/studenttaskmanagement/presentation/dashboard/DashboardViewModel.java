@@ -1,12 +1,17 @@
 package com.example.studenttaskmanagement.presentation.dashboard;
 
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.ObservableQuery;
 import com.example.studenttaskmanagement.database.dao.StudySessionDao;
 import com.example.studenttaskmanagement.database.dao.TaskDao;
-import com.example.studenttaskmanagement.model.Task;
-import com.example.studenttaskmanagement.model.TaskStatus;
+import com.example.studenttaskmanagement.utils.Tracer;
 import com.example.studenttaskmanagement.utils.WeekTimeUtils;
 
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.WeekFields;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -17,15 +22,154 @@ public class DashboardViewModel {
 
     private static final String DEADLINE_FORMAT = "yyyy-MM-dd HH:mm";
 
+    /**
+     * Rolling windows shown next to the weighted velocity; the longest one sets how much history is read.
+     */
+    private static final int[] VELOCITY_WINDOWS_DAYS = {7, 14, 30};
+    private static final int VELOCITY_HISTORY_DAYS = 30;
+    private static final double MIN_VELOCITY_PER_DAY = 0.01D;
+    private static final int MAX_FORECAST_DAYS = 3650;
+
+    public static final int TREND_BUCKETS = 12;
+    public static final int HEATMAP_DAYS = 366;
+
     private final StudySessionDao studySessionDao;
     private final TaskDao taskDao;
 
+    private volatile DashboardTrend.Granularity trendGranularity = DashboardTrend.Granularity.WEEKS;
+
     public DashboardViewModel(StudySessionDao studySessionDao, TaskDao taskDao) {
         this.studySessionDao = studySessionDao;
         this.taskDao = taskDao;
     }
 
+    /**
+     * Observable variant of {@link #loadWeeklySummary(long)}: re-loads whenever tasks or sessions change.
+     */
+    public ObservableQuery<DashboardUiState> observeWeeklySummary(long userId) {
+        return new ObservableQuery<>(
+                () -> loadWeeklySummary(userId),
+                DatabaseContract.Tasks.TABLE_NAME,
+                DatabaseContract.StudySessions.TABLE_NAME
+        );
+    }
+
     public DashboardUiState loadWeeklySummary(long userId) {
+        Tracer.begin("DashboardViewModel.loadWeeklySummary");
+        try {
+            return buildWeeklySummary(userId);
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    /**
+     * Observable trend for the current {@link #setTrendGranularity granularity}; re-loads when
+     * study sessions change. Call {@link ObservableQuery#refresh()} after switching granularity.
+     */
+    public ObservableQuery<DashboardTrend> observeTrend() {
+        return new ObservableQuery<>(
+                () -> loadTrend(trendGranularity),
+                DatabaseContract.StudySessions.TABLE_NAME
+        );
+    }
+
+    public void setTrendGranularity(DashboardTrend.Granularity granularity) {
+        trendGranularity = granularity;
+    }
+
+    public DashboardTrend.Granularity getTrendGranularity() {
+        return trendGranularity;
+    }
+
+    /**
+     * The last {@link #TREND_BUCKETS} weeks or calendar months up to and including the current one,
+     * from a single grouped query.
+     */
+    public DashboardTrend loadTrend(DashboardTrend.Granularity granularity) {
+        Tracer.begin("DashboardViewModel.loadTrend");
+        try {
+            return buildTrend(granularity, System.currentTimeMillis());
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    private DashboardTrend buildTrend(DashboardTrend.Granularity granularity, long nowMillis) {
+        long[] boundaries = granularity == DashboardTrend.Granularity.MONTHS
+                ? monthBoundaries(nowMillis)
+                : weekBoundaries(nowMillis);
+        StudySessionDao.SessionTrend sessions = studySessionDao.getSessionTrend(boundaries);
+
+        SimpleDateFormat labelFormat = new SimpleDateFormat(
+                granularity == DashboardTrend.Granularity.MONTHS ? "MMM" : "MMM d",
+                Locale.getDefault()
+        );
+        long[] starts = new long[TREND_BUCKETS];
+        String[] labels = new String[TREND_BUCKETS];
+        float[] focusedMinutes = new float[TREND_BUCKETS];
+        float[] sessionCounts = new float[TREND_BUCKETS];
+        float[] completionPercents = new float[TREND_BUCKETS];
+        for (int i = 0; i < TREND_BUCKETS; i++) {
+            starts[i] = boundaries[i];
+            labels[i] = labelFormat.format(new Date(boundaries[i]));
+            focusedMinutes[i] = sessions.getFocusedMinutes()[i];
+            sessionCounts[i] = sessions.getSessionCounts()[i];
+            completionPercents[i] = (float) percentage(sessions.getCompletedCounts()[i], sessions.getSessionCounts()[i]);
+        }
+        return new DashboardTrend(granularity, starts, labels, focusedMinutes, sessionCounts, completionPercents);
+    }
+
+    private long[] weekBoundaries(long nowMillis) {
+        WeekTimeUtils.WeekRange[] weeks = WeekTimeUtils.getWeekRanges(nowMillis, TREND_BUCKETS);
+        long[] boundaries = new long[TREND_BUCKETS + 1];
+        for (int i = 0; i < TREND_BUCKETS; i++) {
+            boundaries[i] = weeks[i].getStartMillis();
+        }
+        boundaries[TREND_BUCKETS] = weeks[TREND_BUCKETS - 1].getEndMillis();
+        return boundaries;
+    }
+
+    private long[] monthBoundaries(long nowMillis) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate firstMonth = Instant.ofEpochMilli(nowMillis).atZone(zone).toLocalDate()
+                .withDayOfMonth(1)
+                .minusMonths(TREND_BUCKETS - 1);
+        long[] boundaries = new long[TREND_BUCKETS + 1];
+        for (int i = 0; i <= TREND_BUCKETS; i++) {
+            boundaries[i] = firstMonth.plusMonths(i).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        return boundaries;
+    }
+
+    /**
+     * Observable variant of {@link #loadHeatmap()}: re-loads when study sessions change.
+     */
+    public ObservableQuery<StudyHeatmap> observeHeatmap() {
+        return new ObservableQuery<>(this::loadHeatmap, DatabaseContract.StudySessions.TABLE_NAME);
+    }
+
+    /**
+     * Focused minutes for each of the last {@link #HEATMAP_DAYS} local days, today last.
+     */
+    public StudyHeatmap loadHeatmap() {
+        Tracer.begin("DashboardViewModel.loadHeatmap");
+        try {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate today = LocalDate.now(zone);
+            LocalDate firstDay = today.minusDays(HEATMAP_DAYS - 1);
+            int firstDayOfWeek = WeekFields.of(Locale.getDefault(Locale.Category.FORMAT)).getFirstDayOfWeek().getValue();
+            int leadingEmptyDays = Math.floorMod(firstDay.getDayOfWeek().getValue() - firstDayOfWeek, 7);
+            return new StudyHeatmap(
+                    studySessionDao.getDailyFocusedMinutes(firstDay, HEATMAP_DAYS, zone),
+                    leadingEmptyDays
+            );
+        } finally {
+            Tracer.end();
+        }
+    }
+
+    private DashboardUiState buildWeeklySummary(long userId) {
         ProjectCompletionForecast forecast = buildProjectForecast(userId);
 
         WeekTimeUtils.WeekRange currentWeek = WeekTimeUtils.getCurrentWeekRange();
@@ -87,59 +231,40 @@ public class DashboardViewModel {
         return DashboardUiState.content(cards, forecast);
     }
 
-    private ProjectCompletionForecast buildProjectForecast(long userId) {
-        List<Task> tasks = taskDao.getAllTasks(userId);
-        if (tasks == null) tasks = new ArrayList<>();
-
-        int total = tasks.size();
-        int completed = 0;
-        int remaining = 0;
-        int completedWithDeadlineInRecentWindow = 0;
-
-        Date nearestPendingDeadline = null;
+    /**
+     * Works from {@link TaskDao#getProjectProgress} and {@link TaskDao#getDailyCompletionCounts},
+     * so the cost does not grow with the number of tasks. The estimate divides the remaining tasks
+     * by the exponentially weighted daily velocity; the range uses the ends of its confidence band.
+     */
+    ProjectCompletionForecast buildProjectForecast(long userId) {
         Date now = new Date();
-        long recentWindowStartMillis = now.getTime() - (14L * 24L * 60L * 60L * 1000L);
-
-        for (Task task : tasks) {
-            boolean isCompleted = task.getStatus() == TaskStatus.COMPLETED;
-            if (isCompleted) {
-                completed++;
-            } else {
-                remaining++;
-            }
-
-            Date deadlineDate = parseDeadline(task.getDeadline());
-            if (deadlineDate == null) {
-                continue;
-            }
-
-            if (!isCompleted && (nearestPendingDeadline == null || deadlineDate.before(nearestPendingDeadline))) {
-                nearestPendingDeadline = deadlineDate;
-            }
-
-            if (isCompleted && deadlineDate.getTime() >= recentWindowStartMillis && deadlineDate.getTime() <= now.getTime()) {
-                completedWithDeadlineInRecentWindow++;
-            }
-        }
+        TaskDao.ProjectProgress progress = taskDao.getProjectProgress(userId);
+        CompletionVelocity velocity = new CompletionVelocity(
+                taskDao.getDailyCompletionCounts(userId, startOfTomorrowMillis(now), VELOCITY_HISTORY_DAYS)
+        );
+
+        int total = progress.getTotalCount();
+        int completed = progress.getCompletedCount();
+        int remaining = total - completed;
+        Date nearestPendingDeadline = parseDeadline(progress.getEarliestPendingDeadline());
 
         double completionPercent = total <= 0 ? 0D : (completed * 100D) / total;
         String completionPercentText = String.format(Locale.getDefault(), "%.0f%% (%d/%d tasks)", completionPercent, completed, total);
 
         String estimatedCompletionDateText = "Insufficient data";
+        String estimatedRangeText = null;
         Date estimatedCompletionDate = null;
         if (remaining <= 0) {
             estimatedCompletionDate = now;
             estimatedCompletionDateText = "Completed";
-        } else {
-            double velocityTasksPerDay = completedWithDeadlineInRecentWindow / 14D;
-            if (velocityTasksPerDay > 0.01D) {
-                int daysToFinish = (int) Math.ceil(remaining / velocityTasksPerDay);
-                Calendar calendar = Calendar.getInstance();
-                calendar.setTime(now);
-                calendar.add(Calendar.DAY_OF_YEAR, daysToFinish);
-                estimatedCompletionDate = calendar.getTime();
-                estimatedCompletionDateText = "~ " + formatDate(estimatedCompletionDate);
-            }
+        } else if (velocity.getWeightedPerDay() > MIN_VELOCITY_PER_DAY) {
+            estimatedCompletionDate = addDaysToFinish(now, remaining, velocity.getWeightedPerDay());
+            estimatedCompletionDateText = "~ " + formatDate(estimatedCompletionDate);
+
+            String earliest = formatDate(addDaysToFinish(now, remaining, velocity.getUpperPerDay()));
+            estimatedRangeText = velocity.getLowerPerDay() > MIN_VELOCITY_PER_DAY
+                    ? earliest + " – " + formatDate(addDaysToFinish(now, remaining, velocity.getLowerPerDay()))
+                    : earliest + " or later";
         }
 
         boolean atRisk = estimatedCompletionDate != null
@@ -149,10 +274,39 @@ public class DashboardViewModel {
         return new ProjectCompletionForecast(
                 completionPercentText,
                 estimatedCompletionDateText,
+                estimatedRangeText,
+                formatVelocity(velocity),
                 atRisk
         );
     }
 
+    private String formatVelocity(CompletionVelocity velocity) {
+        StringBuilder text = new StringBuilder(String.format(Locale.getDefault(),
+                "%.1f tasks/week", velocity.getWeightedPerDay() * 7D));
+        for (int windowDays : VELOCITY_WINDOWS_DAYS) {
+            text.append(String.format(Locale.getDefault(), " · %dd: %d", windowDays, velocity.getCompletedInLast(windowDays)));
+        }
+        return text.toString();
+    }
+
+    private Date addDaysToFinish(Date now, int remaining, double tasksPerDay) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(now);
+        calendar.add(Calendar.DAY_OF_YEAR, (int) Math.min(MAX_FORECAST_DAYS, Math.ceil(remaining / tasksPerDay)));
+        return calendar.getTime();
+    }
+
+    private long startOfTomorrowMillis(Date now) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(now);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.add(Calendar.DAY_OF_YEAR, 1);
+        return calendar.getTimeInMillis();
+    }
+
     private DashboardKpiCard buildCard(String label, String value, double current, double previous) {
         double deltaPercent = calculateDeltaPercent(current, previous);
         DashboardKpiCard.Trend trend;
@@ -4,11 +4,16 @@ public class ProjectCompletionForecast {
 
     private final String completionPercentText;
     private final String estimatedCompletionDateText;
+    private final String estimatedRangeText;
+    private final String velocityText;
     private final boolean atRisk;
 
-    public ProjectCompletionForecast(String completionPercentText, String estimatedCompletionDateText, boolean atRisk) {
+    public ProjectCompletionForecast(String completionPercentText, String estimatedCompletionDateText,
+                                     String estimatedRangeText, String velocityText, boolean atRisk) {
         this.completionPercentText = completionPercentText;
         this.estimatedCompletionDateText = estimatedCompletionDateText;
+        this.estimatedRangeText = estimatedRangeText;
+        this.velocityText = velocityText;
         this.atRisk = atRisk;
     }
 
@@ -20,6 +25,17 @@ public class ProjectCompletionForecast {
         return estimatedCompletionDateText;
     }
 
+    /**
+     * 80% range of the completion date, or null when there is no estimate.
+     */
+    public String getEstimatedRangeText() {
+        return estimatedRangeText;
+    }
+
+    public String getVelocityText() {
+        return velocityText;
+    }
+
     public boolean isAtRisk() {
         return atRisk;
     }
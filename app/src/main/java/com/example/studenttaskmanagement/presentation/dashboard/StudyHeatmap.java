@@ -0,0 +1,45 @@
+package com.example.studenttaskmanagement.presentation.dashboard;
+
+/**
+ * Focused minutes per local day over the last year, oldest day first, ending today.
+ */
+public class StudyHeatmap {
+
+    private final int[] dailyMinutes;
+    private final int leadingEmptyDays;
+    private final long totalMinutes;
+    private final int activeDays;
+
+    public StudyHeatmap(int[] dailyMinutes, int leadingEmptyDays) {
+        this.dailyMinutes = dailyMinutes;
+        this.leadingEmptyDays = leadingEmptyDays;
+        long total = 0L;
+        int active = 0;
+        for (int minutes : dailyMinutes) {
+            total += minutes;
+            if (minutes > 0) active++;
+        }
+        this.totalMinutes = total;
+        this.activeDays = active;
+    }
+
+    public int[] getDailyMinutes() {
+        return dailyMinutes;
+    }
+
+    /**
+     * Days between the start of the first day's week and the first day, so a grid with one
+     * column per week lines up with the locale's first day of the week.
+     */
+    public int getLeadingEmptyDays() {
+        return leadingEmptyDays;
+    }
+
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    public int getActiveDays() {
+        return activeDays;
+    }
+}
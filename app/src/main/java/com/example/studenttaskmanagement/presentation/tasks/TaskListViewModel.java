@@ -0,0 +1,60 @@
+package com.example.studenttaskmanagement.presentation.tasks;
+
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.ObservableQuery;
+import com.example.studenttaskmanagement.database.dao.TaskArchiveDao;
+import com.example.studenttaskmanagement.database.dao.TaskDao;
+import com.example.studenttaskmanagement.model.Task;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TaskListViewModel {
+
+    private final TaskDao taskDao;
+    private final TaskArchiveDao taskArchiveDao;
+    private final TaskRowModelFactory rowModelFactory;
+
+    private volatile boolean showArchived;
+    private ObservableQuery<List<TaskRowModel>> rowsQuery;
+
+    public TaskListViewModel(TaskDao taskDao, TaskArchiveDao taskArchiveDao, TaskRowModelFactory rowModelFactory) {
+        this.taskDao = taskDao;
+        this.taskArchiveDao = taskArchiveDao;
+        this.rowModelFactory = rowModelFactory;
+    }
+
+    /**
+     * Loads the user's tasks (plus archived ones when {@link #setShowArchived(boolean) enabled})
+     * and builds their row models on the query thread.
+     * Re-runs whenever tasks, the archive or the priority/category reference data change.
+     */
+    public ObservableQuery<List<TaskRowModel>> observeTaskRows(long userId) {
+        rowsQuery = new ObservableQuery<>(
+                () -> {
+                    List<Task> archived = showArchived
+                            ? taskArchiveDao.getArchivedTasks(userId)
+                            : Collections.emptyList();
+                    return rowModelFactory.createRows(taskDao.getAllTasks(userId), archived);
+                },
+                DatabaseContract.Tasks.TABLE_NAME,
+                DatabaseContract.ArchivedTasks.TABLE_NAME,
+                DatabaseContract.Priorities.TABLE_NAME,
+                DatabaseContract.Categories.TABLE_NAME
+        );
+        return rowsQuery;
+    }
+
+    public boolean isShowingArchived() {
+        return showArchived;
+    }
+
+    /**
+     * Archived tasks are read only while browsing history, so the default list stays on the hot table.
+     */
+    public void setShowArchived(boolean showArchived) {
+        if (this.showArchived == showArchived) return;
+        this.showArchived = showArchived;
+        if (rowsQuery != null) rowsQuery.refresh();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.studenttaskmanagement.presentation.tasks;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search filtering for the task list, run on every keystroke.
+ */
+public final class TaskRowFilter {
+
+    private TaskRowFilter() {
+    }
+
+    /**
+     * Trimmed, lower-cased form expected by {@link TaskRowModel#matches(String)}.
+     */
+    @NonNull
+    public static String normalizeQuery(@NonNull String rawQuery) {
+        return rawQuery.trim().toLowerCase();
+    }
+
+    /**
+     * Rows matching an already normalized query, in their original order; all rows when the query is empty.
+     */
+    @NonNull
+    public static List<TaskRowModel> filter(@NonNull List<TaskRowModel> rows, @NonNull String query) {
+        if (query.isEmpty()) return new ArrayList<>(rows);
+
+        List<TaskRowModel> filtered = new ArrayList<>();
+        for (TaskRowModel row : rows) {
+            if (row.matches(query)) {
+                filtered.add(row);
+            }
+        }
+        return filtered;
+    }
+}
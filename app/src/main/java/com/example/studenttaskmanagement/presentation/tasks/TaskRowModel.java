@@ -0,0 +1,115 @@
+package com.example.studenttaskmanagement.presentation.tasks;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Display-ready values for one row of the task list.
+ * Built off the main thread by {@link TaskRowModelFactory}; binding only assigns these fields.
+ */
+public class TaskRowModel {
+
+    private final long taskId;
+    private final String title;
+    private final String deadlineText;
+    private final String dueText;
+    private final String statusLabel;
+    private final String priorityText;
+    @ColorInt
+    private final int priorityColor;
+    private final String searchText;
+
+    public TaskRowModel(
+            long taskId,
+            @NonNull String title,
+            @NonNull String deadlineText,
+            @Nullable String dueText,
+            @NonNull String statusLabel,
+            @NonNull String priorityText,
+            @ColorInt int priorityColor,
+            @NonNull String searchText
+    ) {
+        this.taskId = taskId;
+        this.title = title;
+        this.deadlineText = deadlineText;
+        this.dueText = dueText;
+        this.statusLabel = statusLabel;
+        this.priorityText = priorityText;
+        this.priorityColor = priorityColor;
+        this.searchText = searchText;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    @NonNull
+    public String getTitle() {
+        return title;
+    }
+
+    @NonNull
+    public String getDeadlineText() {
+        return deadlineText;
+    }
+
+    /**
+     * Relative due text such as "Due in 2 days", or null when the task is completed
+     * or has no parseable deadline.
+     */
+    @Nullable
+    public String getDueText() {
+        return dueText;
+    }
+
+    @NonNull
+    public String getStatusLabel() {
+        return statusLabel;
+    }
+
+    @NonNull
+    public String getPriorityText() {
+        return priorityText;
+    }
+
+    @ColorInt
+    public int getPriorityColor() {
+        return priorityColor;
+    }
+
+    /**
+     * Whether both rows render identically; used by the list diff.
+     */
+    public boolean hasSameContent(@NonNull TaskRowModel other) {
+        return taskId == other.taskId
+                && priorityColor == other.priorityColor
+                && title.equals(other.title)
+                && deadlineText.equals(other.deadlineText)
+                && Objects.equals(dueText, other.dueText)
+                && statusLabel.equals(other.statusLabel)
+                && priorityText.equals(other.priorityText);
+    }
+
+    /**
+     * Text searched by {@link #matches(String)}: title, description and deadline, lower-cased.
+     */
+    @NonNull
+    public static String buildSearchText(@Nullable String title, @Nullable String description, @Nullable String deadline) {
+        return safeLower(title) + '\n' + safeLower(description) + '\n' + safeLower(deadline);
+    }
+
+    private static String safeLower(String s) {
+        return s == null ? "" : s.toLowerCase();
+    }
+
+    /**
+     * Returns true if the lower-cased title, description or deadline contains the query.
+     * The query must already be trimmed and lower-cased.
+     */
+    public boolean matches(@NonNull String lowerCaseQuery) {
+        return lowerCaseQuery.isEmpty() || searchText.contains(lowerCaseQuery);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.studenttaskmanagement.presentation.tasks;
+
+import android.content.Context;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.core.content.ContextCompat;
+
+import com.example.studenttaskmanagement.database.dao.ReferenceDataCache;
+import com.example.studenttaskmanagement.model.Priority;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns {@link Task} models into {@link TaskRowModel}s for the task list.
+ *
+ * Priority texts and colours are resolved once per reference-data snapshot, and the date
+ * formatters are reused across rows. Not thread-safe: use one instance per loading thread.
+ */
+public class TaskRowModelFactory {
+
+    private static final String DEADLINE_FORMAT = "yyyy-MM-dd HH:mm";
+    private static final String DEFAULT_PRIORITY_LABEL = "Low";
+    static final String ARCHIVED_STATUS_LABEL = "Archived";
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
+    private final Context context;
+    private final SimpleDateFormat deadlineParser = new SimpleDateFormat(DEADLINE_FORMAT, Locale.getDefault());
+    private final SimpleDateFormat deadlineFormatter = new SimpleDateFormat("MMM d, yyyy HH:mm", Locale.getDefault());
+
+    // Indexed like snapshot.getPriorities(); rebuilt when the snapshot version changes.
+    private long priorityVersion = -1L;
+    private String[] priorityTexts = new String[0];
+    private int[] priorityColors = new int[0];
+    private final String defaultPriorityText;
+    @ColorInt
+    private final int defaultPriorityColor;
+
+    public TaskRowModelFactory(@NonNull Context context) {
+        this.context = context.getApplicationContext();
+        this.deadlineParser.setLenient(false);
+        this.defaultPriorityText = "Priority: " + DEFAULT_PRIORITY_LABEL;
+        this.defaultPriorityColor = resolvePriorityColor(DEFAULT_PRIORITY_LABEL);
+    }
+
+    @WorkerThread
+    @NonNull
+    public List<TaskRowModel> createRows(@NonNull List<Task> tasks) {
+        return createRows(tasks, Collections.emptyList());
+    }
+
+    /**
+     * Rows for active tasks followed by rows for archived ones, which are labelled "Archived".
+     */
+    @WorkerThread
+    @NonNull
+    public List<TaskRowModel> createRows(@NonNull List<Task> tasks, @NonNull List<Task> archivedTasks) {
+        ReferenceDataCache.Snapshot referenceData = ReferenceDataCache.get(context);
+        preparePriorities(referenceData);
+
+        long todayStart = startOfDay(System.currentTimeMillis());
+        List<TaskRowModel> rows = new ArrayList<>(tasks.size() + archivedTasks.size());
+        for (Task task : tasks) {
+            rows.add(createRow(task, referenceData, todayStart, false));
+        }
+        for (Task task : archivedTasks) {
+            rows.add(createRow(task, referenceData, todayStart, true));
+        }
+        return rows;
+    }
+
+    private TaskRowModel createRow(Task task, ReferenceDataCache.Snapshot referenceData, long todayStart, boolean archived) {
+        String title = task.getTitle() != null ? task.getTitle() : "Untitled Task";
+
+        Date deadline = parseDeadline(task.getDeadline());
+        String deadlineText;
+        if (deadline != null) {
+            deadlineText = deadlineFormatter.format(deadline);
+        } else {
+            deadlineText = task.getDeadline() != null ? task.getDeadline() : "No deadline";
+        }
+
+        String dueText = null;
+        if (deadline != null && !archived && task.getStatus() != TaskStatus.COMPLETED) {
+            dueText = formatDueText(daysBetween(todayStart, startOfDay(deadline.getTime())));
+        }
+
+        int priorityIndex = referenceData.indexOfPriority(task.getPriorityId());
+        String priorityText = priorityIndex >= 0 ? priorityTexts[priorityIndex] : defaultPriorityText;
+        int priorityColor = priorityIndex >= 0 ? priorityColors[priorityIndex] : defaultPriorityColor;
+
+        return new TaskRowModel(
+                task.getId(),
+                title,
+                deadlineText,
+                dueText,
+                archived ? ARCHIVED_STATUS_LABEL : TaskStatus.getLabel(task.getStatus()),
+                priorityText,
+                priorityColor,
+                TaskRowModel.buildSearchText(task.getTitle(), task.getDescription(), task.getDeadline())
+        );
+    }
+
+    private void preparePriorities(ReferenceDataCache.Snapshot referenceData) {
+        if (referenceData.getVersion() == priorityVersion) return;
+
+        List<Priority> priorities = referenceData.getPriorities();
+        priorityTexts = new String[priorities.size()];
+        priorityColors = new int[priorities.size()];
+        for (int i = 0; i < priorities.size(); i++) {
+            String label = normalizeLabel(priorities.get(i));
+            priorityTexts[i] = "Priority: " + label;
+            priorityColors[i] = resolvePriorityColor(label);
+        }
+        priorityVersion = referenceData.getVersion();
+    }
+
+    static String formatDueText(int days) {
+        if (days < -1) return "Overdue by " + (-days) + " days";
+        if (days == -1) return "Overdue by 1 day";
+        if (days == 0) return "Due today";
+        if (days == 1) return "Due tomorrow";
+        return "Due in " + days + " days";
+    }
+
+    private Date parseDeadline(String deadline) {
+        if (deadline == null || deadline.trim().isEmpty()) return null;
+        try {
+            return deadlineParser.parse(deadline.trim());
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static long startOfDay(long epochMillis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(epochMillis);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private static int daysBetween(long fromDayStart, long toDayStart) {
+        // Round so that DST shifts (23h/25h days) do not lose or gain a day.
+        return (int) Math.round((toDayStart - fromDayStart) / (double) DAY_MILLIS);
+    }
+
+    private String normalizeLabel(Priority priority) {
+        if (priority == null || priority.getLabel() == null || priority.getLabel().trim().isEmpty()) {
+            return DEFAULT_PRIORITY_LABEL;
+        }
+        return priority.getLabel().trim();
+    }
+
+    @ColorInt
+    private int resolvePriorityColor(String priorityLabel) {
+        String normalized = priorityLabel == null ? "" : priorityLabel.toLowerCase(Locale.ROOT);
+
+        if (normalized.contains("high")) {
+            return ContextCompat.getColor(context, android.R.color.holo_red_dark);
+        }
+        if (normalized.contains("medium")) {
+            return ContextCompat.getColor(context, android.R.color.holo_orange_dark);
+        }
+        return ContextCompat.getColor(context, android.R.color.holo_green_dark);
+    }
+}
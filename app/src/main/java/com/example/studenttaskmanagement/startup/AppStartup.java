@@ -0,0 +1,151 @@
+package com.example.studenttaskmanagement.startup;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.maintenance.MaintenanceStartup;
+import com.example.studenttaskmanagement.notifications.NotificationStartup;
+import com.example.studenttaskmanagement.utils.Tracer;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cold-start pipeline.
+ *
+ * Only what the first frame needs runs on the main thread. {@link #prewarmDatabase(Context)}
+ * opens the shared database (and runs any migration) in the background while the first
+ * activity inflates. {@link #runAfterFirstFrame(Activity)} then runs the rest (notification channel,
+ * WorkManager schedules) after the first frame is drawn. Each step runs at most once per process.
+ *
+ * Time to first frame and time to dashboard are measured from process start
+ * (or from class initialization before API 24) and logged under {@value #TAG}.
+ */
+public final class AppStartup {
+
+    private static final String TAG = "AppStartup";
+
+    private static final AppStartup INSTANCE = new AppStartup();
+
+    private final long processStartUptimeMillis = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+            ? Process.getStartUptimeMillis()
+            : SystemClock.uptimeMillis();
+
+    private final ExecutorService startupExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean databasePrewarmStarted = new AtomicBoolean(false);
+    private final AtomicBoolean firstFrameSeen = new AtomicBoolean(false);
+    private final AtomicBoolean dashboardSeen = new AtomicBoolean(false);
+
+    private volatile long timeToFirstFrameMillis = -1L;
+    private volatile long timeToDashboardMillis = -1L;
+    private volatile long databaseOpenMillis = -1L;
+
+    private AppStartup() {
+    }
+
+    public static AppStartup getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Opens the shared database connection in the background so the first DAO query does not pay for it.
+     */
+    public void prewarmDatabase(@NonNull Context context) {
+        if (!databasePrewarmStarted.compareAndSet(false, true)) return;
+
+        Context appContext = context.getApplicationContext();
+        startupExecutor.execute(() -> {
+            Tracer.begin("AppStartup.prewarmDatabase");
+            try {
+                long start = SystemClock.uptimeMillis();
+                AppDatabaseHelper.getInstance(appContext).getWritableDatabase();
+                databaseOpenMillis = SystemClock.uptimeMillis() - start;
+            } catch (RuntimeException e) {
+                // The first DAO call will open it (and surface the error) instead.
+                Log.w(TAG, "Database prewarm failed", e);
+            } finally {
+                Tracer.end();
+            }
+        });
+    }
+
+    /**
+     * Records time to first frame once the activity's first frame is drawn and then runs the
+     * deferred initialization in the background. Call from onCreate after setContentView.
+     */
+    @MainThread
+    public void runAfterFirstFrame(@NonNull Activity activity) {
+        Context appContext = activity.getApplicationContext();
+        View decorView = activity.getWindow().getDecorView();
+        decorView.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                decorView.getViewTreeObserver().removeOnPreDrawListener(this);
+                // Runs after the traversal that draws this frame.
+                decorView.post(() -> firstFrameDrawn(appContext));
+                return true;
+            }
+        });
+    }
+
+    private void firstFrameDrawn(Context appContext) {
+        if (!firstFrameSeen.compareAndSet(false, true)) return;
+
+        timeToFirstFrameMillis = SystemClock.uptimeMillis() - processStartUptimeMillis;
+        Log.i(TAG, "Time to first frame: " + timeToFirstFrameMillis + " ms");
+
+        startupExecutor.execute(() -> {
+            Tracer.begin("AppStartup.deferredInit");
+            try {
+                NotificationStartup.initialize(appContext);
+                MaintenanceStartup.schedule(appContext);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Deferred startup failed", e);
+            } finally {
+                Tracer.end();
+            }
+        });
+    }
+
+    /**
+     * Call when the dashboard first shows real content; only the first call per process counts.
+     */
+    public void onDashboardShown() {
+        if (!dashboardSeen.compareAndSet(false, true)) return;
+
+        timeToDashboardMillis = SystemClock.uptimeMillis() - processStartUptimeMillis;
+        Log.i(TAG, "Time to dashboard: " + timeToDashboardMillis + " ms");
+    }
+
+    /**
+     * -1 until measured.
+     */
+    public long getTimeToFirstFrameMillis() {
+        return timeToFirstFrameMillis;
+    }
+
+    /**
+     * -1 until measured.
+     */
+    public long getTimeToDashboardMillis() {
+        return timeToDashboardMillis;
+    }
+
+    @NonNull
+    public String getSummary() {
+        return String.format(Locale.US, "Startup ttff=%dms dashboard=%dms dbOpen=%dms",
+                timeToFirstFrameMillis, timeToDashboardMillis, databaseOpenMillis);
+    }
+}
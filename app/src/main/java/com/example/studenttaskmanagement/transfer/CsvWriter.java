@@ -0,0 +1,84 @@
+package com.example.studenttaskmanagement.transfer;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming RFC 4180 writer: fields are quoted only when they contain a comma,
+ * quote or line break, and rows end with CRLF.
+ */
+final class CsvWriter implements Closeable, Flushable {
+
+    private final Writer out;
+    private boolean atRowStart = true;
+
+    CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    CsvWriter writeField(String value) throws IOException {
+        separate();
+        if (value == null) return this;
+
+        if (needsQuoting(value)) {
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') out.write('"');
+                out.write(c);
+            }
+            out.write('"');
+        } else {
+            out.write(value);
+        }
+        return this;
+    }
+
+    CsvWriter writeField(long value) throws IOException {
+        separate();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    CsvWriter writeEmptyField() throws IOException {
+        separate();
+        return this;
+    }
+
+    void endRow() throws IOException {
+        out.write("\r\n");
+        atRowStart = true;
+    }
+
+    void writeRow(String... values) throws IOException {
+        for (String value : values) {
+            writeField(value);
+        }
+        endRow();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void separate() throws IOException {
+        if (!atRowStart) out.write(',');
+        atRowStart = false;
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.studenttaskmanagement.transfer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Remembers how far the last unfinished import got, so it can resume after the app is killed.
+ *
+ * Only one import is tracked at a time. A checkpoint is written after every committed chunk and
+ * cleared when the import completes. It only applies to the same source, user and conflict
+ * strategy: the same file imported for another user, or with the other strategy, starts over.
+ */
+public final class ImportCheckpointStore {
+
+    private static final String PREF_FILE = "task_import_prefs";
+    private static final String KEY_IMPORT_KEY = "import_key";
+    private static final String KEY_TASKS_PROCESSED = "tasks_processed";
+    private static final String KEY_SESSIONS_PROCESSED = "sessions_processed";
+
+    private final SharedPreferences prefs;
+
+    public ImportCheckpointStore(@NonNull Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREF_FILE, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Returns the checkpoint for the given import, or null if there is none.
+     */
+    @Nullable
+    public Checkpoint load(@NonNull String sourceId, long userId, @NonNull TaskDataImporter.ConflictStrategy strategy) {
+        if (!importKey(sourceId, userId, strategy).equals(prefs.getString(KEY_IMPORT_KEY, null))) return null;
+        return new Checkpoint(
+                prefs.getLong(KEY_TASKS_PROCESSED, 0L),
+                prefs.getLong(KEY_SESSIONS_PROCESSED, 0L)
+        );
+    }
+
+    void save(
+            @NonNull String sourceId,
+            long userId,
+            @NonNull TaskDataImporter.ConflictStrategy strategy,
+            long tasksProcessed,
+            long sessionsProcessed
+    ) {
+        prefs.edit()
+                .putString(KEY_IMPORT_KEY, importKey(sourceId, userId, strategy))
+                .putLong(KEY_TASKS_PROCESSED, tasksProcessed)
+                .putLong(KEY_SESSIONS_PROCESSED, sessionsProcessed)
+                .commit();
+    }
+
+    public void clear() {
+        prefs.edit().clear().commit();
+    }
+
+    private static String importKey(String sourceId, long userId, TaskDataImporter.ConflictStrategy strategy) {
+        return userId + "|" + strategy.name() + "|" + sourceId;
+    }
+
+    /**
+     * Number of task and session records (valid or not) already handled from the start of the file.
+     */
+    public static final class Checkpoint {
+        private final long tasksProcessed;
+        private final long sessionsProcessed;
+
+        Checkpoint(long tasksProcessed, long sessionsProcessed) {
+            this.tasksProcessed = tasksProcessed;
+            this.sessionsProcessed = sessionsProcessed;
+        }
+
+        public long getTasksProcessed() {
+            return tasksProcessed;
+        }
+
+        public long getSessionsProcessed() {
+            return sessionsProcessed;
+        }
+
+        public long getRowsProcessed() {
+            return tasksProcessed + sessionsProcessed;
+        }
+    }
+}
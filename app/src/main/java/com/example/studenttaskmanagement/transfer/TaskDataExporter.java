@@ -0,0 +1,409 @@
+package com.example.studenttaskmanagement.transfer;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.CancellationSignal;
+import android.provider.BaseColumns;
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.ReadSnapshot;
+import com.example.studenttaskmanagement.database.dao.StudySessionDao;
+import com.example.studenttaskmanagement.database.dao.TaskArchiveDao;
+import com.example.studenttaskmanagement.database.dao.TaskDao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams a user's tasks and study sessions to an output stream, archived ones included: they
+ * follow the current rows in the same arrays and files, keeping their IDs, which never collide
+ * with current ones. An import brings them back as completed tasks, and the archive job moves them
+ * to the archive again.
+ *
+ * All reads run in one {@link ReadSnapshot}, a read transaction on a separate read-only
+ * connection, so the counts and every table reflect the same moment even while the archive job,
+ * a bulk delete or an edit commits. Writers are not blocked. Each table is read in keyset pages
+ * ({@code _id > last ID ORDER BY _id LIMIT} {@value #PAGE_ROWS}). Each page fits one cursor
+ * window, so no query is re-run to refill a window.
+ *
+ * Rows are copied straight from those cursors to the writer, one at a time, so memory use does
+ * not grow with the number of rows; the progress total comes from COUNT queries, because asking
+ * a cursor for its count would read every row up front. NULL columns are written as JSON null or
+ * an empty CSV field. JSON produces one document with "tasks" and "sessions"
+ * arrays; CSV produces a ZIP with tasks.csv and study_sessions.csv. The stream is not closed.
+ */
+public class TaskDataExporter {
+
+    /** 2 added completedAt to tasks. */
+    public static final int FORMAT_VERSION = 2;
+
+    static final String FIELD_VERSION = "version";
+    static final String FIELD_EXPORTED_AT = "exportedAt";
+    static final String FIELD_TASKS = "tasks";
+    static final String FIELD_SESSIONS = "sessions";
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_DESCRIPTION = "description";
+    static final String FIELD_DEADLINE = "deadline";
+    static final String FIELD_STATUS = "status";
+    static final String FIELD_CATEGORY_ID = "categoryId";
+    static final String FIELD_PRIORITY_ID = "priorityId";
+    static final String FIELD_COMPLETED_AT = "completedAt";
+    static final String FIELD_TASK_ID = "taskId";
+    static final String FIELD_START_TIME = "startTime";
+    static final String FIELD_END_TIME = "endTime";
+    static final String FIELD_DURATION = "duration";
+
+    private static final int PROGRESS_INTERVAL_ROWS = 1_000;
+    private static final int PAGE_ROWS = 500;
+
+    public enum Format {
+        JSON("application/json", "json"),
+        CSV("application/zip", "zip");
+
+        private final String mimeType;
+        private final String fileExtension;
+
+        Format(String mimeType, String fileExtension) {
+            this.mimeType = mimeType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
+    /**
+     * Called on the exporting thread every {@value #PROGRESS_INTERVAL_ROWS} rows and once at the end.
+     */
+    public interface ProgressListener {
+        void onProgress(long rowsWritten, long totalRows);
+    }
+
+    private final Context appContext;
+    private final TaskDao taskDao;
+    private final StudySessionDao studySessionDao;
+    private final TaskArchiveDao taskArchiveDao;
+
+    public TaskDataExporter(@NonNull Context context) {
+        this(context, new TaskDao(context), new StudySessionDao(context), new TaskArchiveDao(context));
+    }
+
+    public TaskDataExporter(
+            @NonNull Context context,
+            @NonNull TaskDao taskDao,
+            @NonNull StudySessionDao studySessionDao,
+            @NonNull TaskArchiveDao taskArchiveDao
+    ) {
+        this.appContext = context.getApplicationContext();
+        this.taskDao = taskDao;
+        this.studySessionDao = studySessionDao;
+        this.taskArchiveDao = taskArchiveDao;
+    }
+
+    /**
+     * Writes all data of the user (all users when userId is 0).
+     *
+     * @throws android.os.OperationCanceledException if the signal is cancelled; the output is then incomplete.
+     */
+    @WorkerThread
+    @NonNull
+    public Result export(
+            @NonNull OutputStream output,
+            @NonNull Format format,
+            long userId,
+            @Nullable ProgressListener listener,
+            @Nullable CancellationSignal cancellationSignal
+    ) throws IOException {
+        long startedAt = System.nanoTime();
+
+        try (ReadSnapshot snapshot = ReadSnapshot.open(appContext)) {
+            SQLiteDatabase db = snapshot.getDatabase();
+            long totalRows = taskDao.countTasks(db, userId) + taskArchiveDao.countArchivedTasks(db, userId)
+                    + studySessionDao.countSessions(db, userId) + taskArchiveDao.countArchivedSessions(db, userId);
+            // Current rows first, then archived ones.
+            PageQuery[] tasks = {
+                    (afterId, limit) -> taskDao.queryTasksPage(db, userId, afterId, limit, cancellationSignal),
+                    (afterId, limit) -> taskArchiveDao.queryArchivedTasksPage(db, userId, afterId, limit, cancellationSignal)
+            };
+            PageQuery[] sessions = {
+                    (afterId, limit) -> studySessionDao.querySessionsPage(db, userId, afterId, limit, cancellationSignal),
+                    (afterId, limit) -> taskArchiveDao.queryArchivedSessionsPage(db, userId, afterId, limit, cancellationSignal)
+            };
+
+            Progress progress = new Progress(listener, cancellationSignal, totalRows);
+            int taskRows;
+            if (format == Format.JSON) {
+                taskRows = writeJson(output, tasks, sessions, progress);
+            } else {
+                taskRows = writeCsvZip(output, tasks, sessions, progress);
+            }
+            progress.finish();
+            return new Result(taskRows, (int) (progress.rowsWritten - taskRows), System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Reads one page of rows with IDs above afterId, in ID order.
+     */
+    private interface PageQuery {
+        Cursor query(long afterId, int limit);
+    }
+
+    /**
+     * Writes the current row of a page; columns are looked up once per page.
+     */
+    private interface RowWriter<C> {
+        void write(Cursor cursor, C columns) throws IOException;
+    }
+
+    private interface ColumnsFactory<C> {
+        C create(Cursor cursor);
+    }
+
+    /**
+     * Feeds every row of each query to the writer, page by page. IDs start at 1, and a short page
+     * is the last one.
+     */
+    private static <C> void forEachRow(PageQuery[] queries, ColumnsFactory<C> columnsFactory, RowWriter<C> writer) throws IOException {
+        for (PageQuery query : queries) {
+            long afterId = 0L;
+            int rows;
+            do {
+                rows = 0;
+                Cursor cursor = query.query(afterId, PAGE_ROWS);
+                try {
+                    C columns = columnsFactory.create(cursor);
+                    int id = cursor.getColumnIndexOrThrow(BaseColumns._ID);
+                    while (cursor.moveToNext()) {
+                        writer.write(cursor, columns);
+                        afterId = cursor.getLong(id);
+                        rows++;
+                    }
+                } finally {
+                    cursor.close();
+                }
+            } while (rows == PAGE_ROWS);
+        }
+    }
+
+    /**
+     * @return the number of task rows written
+     */
+    private int writeJson(OutputStream output, PageQuery[] taskQueries, PageQuery[] sessionQueries, Progress progress) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        JsonWriter json = new JsonWriter(writer);
+
+        json.beginObject();
+        json.name(FIELD_VERSION).value(FORMAT_VERSION);
+        json.name(FIELD_EXPORTED_AT).value(System.currentTimeMillis());
+
+        json.name(FIELD_TASKS).beginArray();
+        forEachRow(taskQueries, TaskColumns::new, (tasks, t) -> {
+            json.beginObject();
+            json.name(FIELD_ID).value(tasks.getLong(t.id));
+            json.name(FIELD_TITLE).value(stringOrNull(tasks, t.title));
+            json.name(FIELD_DESCRIPTION).value(stringOrNull(tasks, t.description));
+            json.name(FIELD_DEADLINE).value(stringOrNull(tasks, t.deadline));
+            json.name(FIELD_STATUS).value(tasks.getInt(t.status));
+            writeLongOrNull(json.name(FIELD_CATEGORY_ID), tasks, t.categoryId);
+            writeLongOrNull(json.name(FIELD_PRIORITY_ID), tasks, t.priorityId);
+            writeLongOrNull(json.name(FIELD_COMPLETED_AT), tasks, t.completedAt);
+            json.endObject();
+            progress.onRow();
+        });
+        json.endArray();
+        int taskRows = (int) progress.rowsWritten;
+
+        json.name(FIELD_SESSIONS).beginArray();
+        forEachRow(sessionQueries, SessionColumns::new, (sessions, s) -> {
+            json.beginObject();
+            json.name(FIELD_ID).value(sessions.getLong(s.id));
+            json.name(FIELD_TASK_ID).value(sessions.getLong(s.taskId));
+            json.name(FIELD_START_TIME).value(sessions.getLong(s.startTime));
+            writeLongOrNull(json.name(FIELD_END_TIME), sessions, s.endTime);
+            writeLongOrNull(json.name(FIELD_DURATION), sessions, s.duration);
+            json.endObject();
+            progress.onRow();
+        });
+        json.endArray();
+
+        json.endObject();
+        json.flush();
+        return taskRows;
+    }
+
+    /**
+     * @return the number of task rows written
+     */
+    private int writeCsvZip(OutputStream output, PageQuery[] taskQueries, PageQuery[] sessionQueries, Progress progress) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output);
+        CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024));
+
+        zip.putNextEntry(new ZipEntry("tasks.csv"));
+        csv.writeRow(FIELD_ID, FIELD_TITLE, FIELD_DESCRIPTION, FIELD_DEADLINE, FIELD_STATUS, FIELD_CATEGORY_ID, FIELD_PRIORITY_ID, FIELD_COMPLETED_AT);
+        forEachRow(taskQueries, TaskColumns::new, (tasks, t) -> {
+            csv.writeField(tasks.getLong(t.id))
+                    .writeField(stringOrNull(tasks, t.title))
+                    .writeField(stringOrNull(tasks, t.description))
+                    .writeField(stringOrNull(tasks, t.deadline))
+                    .writeField(tasks.getLong(t.status));
+            writeOptionalLong(csv, tasks, t.categoryId);
+            writeOptionalLong(csv, tasks, t.priorityId);
+            writeOptionalLong(csv, tasks, t.completedAt);
+            csv.endRow();
+            progress.onRow();
+        });
+        csv.flush();
+        zip.closeEntry();
+        int taskRows = (int) progress.rowsWritten;
+
+        zip.putNextEntry(new ZipEntry("study_sessions.csv"));
+        csv.writeRow(FIELD_ID, FIELD_TASK_ID, FIELD_START_TIME, FIELD_END_TIME, FIELD_DURATION);
+        forEachRow(sessionQueries, SessionColumns::new, (sessions, s) -> {
+            csv.writeField(sessions.getLong(s.id))
+                    .writeField(sessions.getLong(s.taskId))
+                    .writeField(sessions.getLong(s.startTime));
+            writeOptionalLong(csv, sessions, s.endTime);
+            writeOptionalLong(csv, sessions, s.duration);
+            csv.endRow();
+            progress.onRow();
+        });
+        csv.flush();
+        zip.closeEntry();
+        zip.finish();
+        return taskRows;
+    }
+
+    private static void writeLongOrNull(JsonWriter json, Cursor cursor, int index) throws IOException {
+        if (cursor.isNull(index)) {
+            json.nullValue();
+        } else {
+            json.value(cursor.getLong(index));
+        }
+    }
+
+    private static void writeOptionalLong(CsvWriter csv, Cursor cursor, int index) throws IOException {
+        if (cursor.isNull(index)) {
+            csv.writeEmptyField();
+        } else {
+            csv.writeField(cursor.getLong(index));
+        }
+    }
+
+    private static String stringOrNull(Cursor cursor, int index) {
+        return cursor.isNull(index) ? null : cursor.getString(index);
+    }
+
+    private static final class TaskColumns {
+        final int id;
+        final int title;
+        final int description;
+        final int deadline;
+        final int status;
+        final int categoryId;
+        final int priorityId;
+        final int completedAt;
+
+        TaskColumns(Cursor cursor) {
+            id = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks._ID);
+            title = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_TITLE);
+            description = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_DESCRIPTION);
+            deadline = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_DEADLINE);
+            status = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_STATUS);
+            categoryId = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_CATEGORY_ID);
+            priorityId = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_PRIORITY_ID);
+            completedAt = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_COMPLETED_AT);
+        }
+    }
+
+    private static final class SessionColumns {
+        final int id;
+        final int taskId;
+        final int startTime;
+        final int endTime;
+        final int duration;
+
+        SessionColumns(Cursor cursor) {
+            id = cursor.getColumnIndexOrThrow(DatabaseContract.StudySessions._ID);
+            taskId = cursor.getColumnIndexOrThrow(DatabaseContract.StudySessions.COLUMN_TASK_ID);
+            startTime = cursor.getColumnIndexOrThrow(DatabaseContract.StudySessions.COLUMN_START_TIME);
+            endTime = cursor.getColumnIndexOrThrow(DatabaseContract.StudySessions.COLUMN_END_TIME);
+            duration = cursor.getColumnIndexOrThrow(DatabaseContract.StudySessions.COLUMN_DURATION);
+        }
+    }
+
+    private static final class Progress {
+        private final ProgressListener listener;
+        private final CancellationSignal cancellationSignal;
+        private final long totalRows;
+        private long rowsWritten;
+
+        Progress(ProgressListener listener, CancellationSignal cancellationSignal, long totalRows) {
+            this.listener = listener;
+            this.cancellationSignal = cancellationSignal;
+            this.totalRows = totalRows;
+        }
+
+        void onRow() {
+            rowsWritten++;
+            if (rowsWritten % PROGRESS_INTERVAL_ROWS != 0) return;
+
+            if (cancellationSignal != null) cancellationSignal.throwIfCanceled();
+            if (listener != null) listener.onProgress(rowsWritten, totalRows);
+        }
+
+        void finish() {
+            if (listener != null) listener.onProgress(rowsWritten, totalRows);
+        }
+    }
+
+    public static final class Result {
+        private final int tasks;
+        private final int sessions;
+        private final long elapsedNanos;
+
+        Result(int tasks, int sessions, long elapsedNanos) {
+            this.tasks = tasks;
+            this.sessions = sessions;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getTasks() {
+            return tasks;
+        }
+
+        public int getSessions() {
+            return sessions;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000L;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d tasks, %d sessions in %d ms", tasks, sessions, getElapsedMillis());
+        }
+    }
+}
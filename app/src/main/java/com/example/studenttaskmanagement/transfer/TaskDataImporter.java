@@ -0,0 +1,606 @@
+package com.example.studenttaskmanagement.transfer;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.CancellationSignal;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.LongSparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.dao.ReferenceDataCache;
+import com.example.studenttaskmanagement.database.dao.StudySessionDao;
+import com.example.studenttaskmanagement.database.dao.TaskArchiveDao;
+import com.example.studenttaskmanagement.database.dao.TaskDao;
+import com.example.studenttaskmanagement.model.StudySession;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a JSON file written by {@link TaskDataExporter} into the database of one user.
+ *
+ * The file is parsed record by record and written in chunks, one transaction per chunk, through
+ * the batch DAO APIs, so memory does not grow with the file size (apart from the old-to-new task
+ * ID map). Existing rows are matched on natural keys: tasks on title + deadline, sessions on
+ * task + start time. Invalid rows are counted and skipped. A task that matches an archived task
+ * is skipped with its sessions under either strategy; imports do not rewrite the archive.
+ *
+ * After every committed chunk the position is stored in {@link ImportCheckpointStore}. Running
+ * the same source again skips the records before that position; the task ID map for them is
+ * rebuilt from the natural keys, which also makes a chunk committed just before a crash harmless.
+ */
+public class TaskDataImporter {
+
+    private static final int TASK_CHUNK_SIZE = 500;
+    private static final int SESSION_CHUNK_SIZE = 2_000;
+    private static final int PROGRESS_INTERVAL_ROWS = 1_000;
+    // Stands in for the local ID of a task that is already in the archive.
+    private static final long ARCHIVED_TASK_ID = -1L;
+
+    /**
+     * What to do with an imported task whose title and deadline match an existing task.
+     */
+    public enum ConflictStrategy {
+        /** Keep the existing task; imported sessions are attached to it. */
+        KEEP_EXISTING,
+        /** Overwrite the existing task's fields with the imported ones. */
+        REPLACE_EXISTING
+    }
+
+    /**
+     * Called on the importing thread every {@value #PROGRESS_INTERVAL_ROWS} records and once at the end.
+     * The total is not known up front because the file is streamed.
+     */
+    public interface ProgressListener {
+        void onProgress(long rowsProcessed);
+    }
+
+    private final Context appContext;
+    private final TaskDao taskDao;
+    private final StudySessionDao studySessionDao;
+    private final TaskArchiveDao taskArchiveDao;
+    private final ImportCheckpointStore checkpointStore;
+
+    public TaskDataImporter(@NonNull Context context) {
+        this.appContext = context.getApplicationContext();
+        this.taskDao = new TaskDao(appContext);
+        this.studySessionDao = new StudySessionDao(appContext);
+        this.taskArchiveDao = new TaskArchiveDao(appContext);
+        this.checkpointStore = new ImportCheckpointStore(appContext);
+    }
+
+    /**
+     * Imports the file into the given user's data.
+     *
+     * @param sourceId identifies the file (e.g. URI plus size); a checkpoint is only reused for the same
+     *                 input, user and strategy
+     * @throws android.os.OperationCanceledException if the signal is cancelled; committed chunks are kept and
+     *                                               the next run with the same source resumes after them
+     * @throws IOException                           if the file cannot be read, is malformed or has a newer format version
+     */
+    @WorkerThread
+    @NonNull
+    public Result importJson(
+            @NonNull InputStream input,
+            @NonNull String sourceId,
+            long userId,
+            @NonNull ConflictStrategy strategy,
+            @Nullable ProgressListener listener,
+            @Nullable CancellationSignal cancellationSignal
+    ) throws IOException {
+        if (userId <= 0) throw new IllegalArgumentException("Import needs a user");
+
+        ImportCheckpointStore.Checkpoint checkpoint = checkpointStore.load(sourceId, userId, strategy);
+        Run run = new Run(
+                sourceId,
+                userId,
+                strategy,
+                checkpoint,
+                ReferenceDataCache.get(appContext),
+                listener,
+                cancellationSignal
+        );
+        run.loadExistingTaskKeys();
+
+        JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024));
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (TaskDataExporter.FIELD_VERSION.equals(name)) {
+                    int version = reader.nextInt();
+                    if (version > TaskDataExporter.FORMAT_VERSION) {
+                        throw new IOException("Unsupported export version " + version);
+                    }
+                } else if (TaskDataExporter.FIELD_TASKS.equals(name)) {
+                    run.readTasks(reader);
+                } else if (TaskDataExporter.FIELD_SESSIONS.equals(name)) {
+                    run.readSessions(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            // JsonReader reports unexpected token types this way.
+            throw new IOException("Malformed import file", e);
+        }
+
+        checkpointStore.clear();
+        return run.finish();
+    }
+
+    /**
+     * State of one import. Not thread-safe; lives on the importing thread only.
+     */
+    private final class Run {
+        private final String sourceId;
+        private final long userId;
+        private final ConflictStrategy strategy;
+        private final long tasksToSkip;
+        private final long sessionsToSkip;
+        private final ReferenceDataCache.Snapshot referenceData;
+        private final ProgressListener listener;
+        private final CancellationSignal cancellationSignal;
+        private final long startedAt = System.nanoTime();
+
+        // Natural key -> ID of the user's tasks, including the ones inserted by this run.
+        private final Map<String, Long> taskIdsByKey = new HashMap<>();
+        private final Set<String> archivedTaskKeys = new HashSet<>();
+        // Exported task ID -> local task ID or ARCHIVED_TASK_ID. Exports list current and then
+        // archived tasks, each ordered by ID, so most puts are appends.
+        private final LongSparseArray<Long> taskIdMap = new LongSparseArray<>();
+
+        private final List<Task> pendingInserts = new ArrayList<>(TASK_CHUNK_SIZE);
+        private final List<Long> pendingInsertOldIds = new ArrayList<>(TASK_CHUNK_SIZE);
+        private final Set<String> pendingInsertKeys = new HashSet<>();
+        private final List<Task> pendingUpdates = new ArrayList<>();
+        private final List<StudySession> pendingSessions = new ArrayList<>(SESSION_CHUNK_SIZE);
+
+        private long tasksProcessed;
+        private long sessionsProcessed;
+        private int tasksInserted;
+        private int tasksUpdated;
+        private int tasksSkipped;
+        private int sessionsInserted;
+        private int sessionsSkipped;
+        private int invalidRows;
+
+        Run(
+                String sourceId,
+                long userId,
+                ConflictStrategy strategy,
+                @Nullable ImportCheckpointStore.Checkpoint checkpoint,
+                ReferenceDataCache.Snapshot referenceData,
+                ProgressListener listener,
+                CancellationSignal cancellationSignal
+        ) {
+            this.sourceId = sourceId;
+            this.userId = userId;
+            this.strategy = strategy;
+            this.tasksToSkip = checkpoint == null ? 0L : checkpoint.getTasksProcessed();
+            this.sessionsToSkip = checkpoint == null ? 0L : checkpoint.getSessionsProcessed();
+            this.referenceData = referenceData;
+            this.listener = listener;
+            this.cancellationSignal = cancellationSignal;
+        }
+
+        void loadExistingTaskKeys() {
+            Cursor cursor = taskDao.queryTasksCursor(userId, cancellationSignal);
+            try {
+                int id = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks._ID);
+                int title = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_TITLE);
+                int deadline = cursor.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_DEADLINE);
+                while (cursor.moveToNext()) {
+                    String key = taskKey(cursor.getString(title), cursor.isNull(deadline) ? null : cursor.getString(deadline));
+                    taskIdsByKey.put(key, cursor.getLong(id));
+                }
+            } finally {
+                cursor.close();
+            }
+
+            Cursor archived = taskArchiveDao.queryArchivedTasksCursor(userId, cancellationSignal);
+            try {
+                int title = archived.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_TITLE);
+                int deadline = archived.getColumnIndexOrThrow(DatabaseContract.Tasks.COLUMN_DEADLINE);
+                while (archived.moveToNext()) {
+                    archivedTaskKeys.add(taskKey(archived.getString(title), archived.isNull(deadline) ? null : archived.getString(deadline)));
+                }
+            } finally {
+                archived.close();
+            }
+        }
+
+        void readTasks(JsonReader reader) throws IOException {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                long oldId = 0L;
+                Task task = new Task();
+                task.setUserId(userId);
+                task.setStatus(-1);
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (TaskDataExporter.FIELD_ID.equals(name)) {
+                        oldId = nextLongOrZero(reader);
+                    } else if (TaskDataExporter.FIELD_TITLE.equals(name)) {
+                        task.setTitle(nextStringOrNull(reader));
+                    } else if (TaskDataExporter.FIELD_DESCRIPTION.equals(name)) {
+                        task.setDescription(nextStringOrNull(reader));
+                    } else if (TaskDataExporter.FIELD_DEADLINE.equals(name)) {
+                        String deadline = nextStringOrNull(reader);
+                        task.setDeadline(deadline == null || deadline.isEmpty() ? null : deadline);
+                    } else if (TaskDataExporter.FIELD_STATUS.equals(name)) {
+                        task.setStatus((int) nextLongOrZero(reader));
+                    } else if (TaskDataExporter.FIELD_CATEGORY_ID.equals(name)) {
+                        task.setCategoryId(nextLongOrZero(reader));
+                    } else if (TaskDataExporter.FIELD_PRIORITY_ID.equals(name)) {
+                        task.setPriorityId(nextLongOrZero(reader));
+                    } else if (TaskDataExporter.FIELD_COMPLETED_AT.equals(name)) {
+                        // Missing in version 1 files; inserted completed tasks then get the import time.
+                        task.setCompletedAt(nextLongOrZero(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+
+                onTask(oldId, task);
+                tasksProcessed++;
+                if (pendingInserts.size() + pendingUpdates.size() >= TASK_CHUNK_SIZE) flushTasks();
+                onRowProcessed();
+            }
+            reader.endArray();
+            flushTasks();
+        }
+
+        private void onTask(long oldId, Task task) {
+            boolean alreadyImported = tasksProcessed < tasksToSkip;
+            if (!isValid(task)) {
+                if (!alreadyImported) invalidRows++;
+                return;
+            }
+
+            // References to categories or priorities this device does not have are dropped.
+            if (task.getCategoryId() > 0 && referenceData.findCategory(task.getCategoryId()) == null) task.setCategoryId(0L);
+            if (task.getPriorityId() > 0 && referenceData.findPriority(task.getPriorityId()) == null) task.setPriorityId(0L);
+
+            String key = taskKey(task.getTitle(), task.getDeadline());
+            Long existingId = taskIdsByKey.get(key);
+            if (existingId == null && archivedTaskKeys.contains(key)) {
+                taskIdMap.put(oldId, ARCHIVED_TASK_ID);
+                if (!alreadyImported) tasksSkipped++;
+                return;
+            }
+            if (alreadyImported) {
+                // Committed by an earlier run; only the ID mapping is needed.
+                if (existingId != null) taskIdMap.put(oldId, existingId);
+                return;
+            }
+
+            if (existingId == null && pendingInsertKeys.contains(key)) {
+                // Same task twice in one chunk: commit the first so the second resolves to it.
+                flushTasks();
+                existingId = taskIdsByKey.get(key);
+            }
+
+            if (existingId != null) {
+                taskIdMap.put(oldId, existingId);
+                if (strategy == ConflictStrategy.REPLACE_EXISTING) {
+                    task.setId(existingId);
+                    pendingUpdates.add(task);
+                } else {
+                    tasksSkipped++;
+                }
+                return;
+            }
+
+            pendingInserts.add(task);
+            pendingInsertOldIds.add(oldId);
+            pendingInsertKeys.add(key);
+        }
+
+        private void flushTasks() {
+            if (!pendingInserts.isEmpty()) {
+                tasksInserted += taskDao.insertTasks(pendingInserts).getRows();
+                for (int i = 0; i < pendingInserts.size(); i++) {
+                    Task task = pendingInserts.get(i);
+                    if (task.getId() <= 0) continue;
+                    taskIdMap.put(pendingInsertOldIds.get(i), task.getId());
+                    taskIdsByKey.put(taskKey(task.getTitle(), task.getDeadline()), task.getId());
+                }
+            }
+            if (!pendingUpdates.isEmpty()) {
+                tasksUpdated += taskDao.updateTasks(pendingUpdates).getRows();
+            }
+            pendingInserts.clear();
+            pendingInsertOldIds.clear();
+            pendingInsertKeys.clear();
+            pendingUpdates.clear();
+            saveCheckpoint();
+        }
+
+        void readSessions(JsonReader reader) throws IOException {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (sessionsProcessed < sessionsToSkip) {
+                    reader.skipValue();
+                    sessionsProcessed++;
+                    onRowProcessed();
+                    continue;
+                }
+
+                long oldTaskId = 0L;
+                StudySession session = new StudySession();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (TaskDataExporter.FIELD_TASK_ID.equals(name)) {
+                        oldTaskId = nextLongOrZero(reader);
+                    } else if (TaskDataExporter.FIELD_START_TIME.equals(name)) {
+                        session.setStartTime(nextLongOrZero(reader));
+                    } else if (TaskDataExporter.FIELD_END_TIME.equals(name)) {
+                        session.setEndTime(nextLongOrZero(reader));
+                    } else if (TaskDataExporter.FIELD_DURATION.equals(name)) {
+                        session.setDuration(nextLongOrZero(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+
+                Long taskId = taskIdMap.get(oldTaskId);
+                if (taskId == null || !isValid(session)) {
+                    invalidRows++;
+                } else if (taskId == ARCHIVED_TASK_ID) {
+                    sessionsSkipped++;
+                } else {
+                    session.setTaskId(taskId);
+                    pendingSessions.add(session);
+                }
+                sessionsProcessed++;
+                if (pendingSessions.size() >= SESSION_CHUNK_SIZE) flushSessions();
+                onRowProcessed();
+            }
+            reader.endArray();
+            flushSessions();
+        }
+
+        private void flushSessions() {
+            if (pendingSessions.isEmpty()) {
+                saveCheckpoint();
+                return;
+            }
+
+            long[] startTimes = new long[pendingSessions.size()];
+            for (int i = 0; i < startTimes.length; i++) {
+                startTimes[i] = pendingSessions.get(i).getStartTime();
+            }
+            Set<String> seen = new HashSet<>();
+            for (StudySession existing : studySessionDao.findSessionsByStartTimes(startTimes)) {
+                seen.add(sessionKey(existing.getTaskId(), existing.getStartTime()));
+            }
+
+            List<StudySession> inserts = new ArrayList<>(pendingSessions.size());
+            for (StudySession session : pendingSessions) {
+                if (seen.add(sessionKey(session.getTaskId(), session.getStartTime()))) {
+                    inserts.add(session);
+                } else {
+                    sessionsSkipped++;
+                }
+            }
+            sessionsInserted += studySessionDao.insertSessions(inserts).getRows();
+            pendingSessions.clear();
+            saveCheckpoint();
+        }
+
+        private void saveCheckpoint() {
+            checkpointStore.save(sourceId, userId, strategy, tasksProcessed, sessionsProcessed);
+        }
+
+        private void onRowProcessed() {
+            long rows = tasksProcessed + sessionsProcessed;
+            if (rows % PROGRESS_INTERVAL_ROWS != 0) return;
+
+            if (cancellationSignal != null) cancellationSignal.throwIfCanceled();
+            if (listener != null) listener.onProgress(rows);
+        }
+
+        Result finish() {
+            long rows = tasksProcessed + sessionsProcessed;
+            if (listener != null) listener.onProgress(rows);
+            return new Result(
+                    tasksInserted,
+                    tasksUpdated,
+                    tasksSkipped,
+                    sessionsInserted,
+                    sessionsSkipped,
+                    invalidRows,
+                    tasksToSkip + sessionsToSkip,
+                    rows,
+                    System.nanoTime() - startedAt
+            );
+        }
+    }
+
+    private static boolean isValid(Task task) {
+        if (task.getTitle() == null || task.getTitle().trim().isEmpty()) return false;
+        if (task.getStatus() < TaskStatus.PENDING || task.getStatus() > TaskStatus.NOT_DONE) return false;
+        return task.getDeadline() == null || isValidDeadline(task.getDeadline());
+    }
+
+    private static boolean isValid(StudySession session) {
+        if (session.getStartTime() <= 0 || session.getDuration() < 0) return false;
+        return session.getEndTime() == 0 || session.getEndTime() >= session.getStartTime();
+    }
+
+    /**
+     * Checks the stored "yyyy-MM-dd HH:mm" shape and field ranges without a SimpleDateFormat per row.
+     */
+    static boolean isValidDeadline(String deadline) {
+        if (deadline.length() != 16) return false;
+        if (deadline.charAt(4) != '-' || deadline.charAt(7) != '-' || deadline.charAt(10) != ' ' || deadline.charAt(13) != ':') {
+            return false;
+        }
+        int month = digits(deadline, 5, 7);
+        int day = digits(deadline, 8, 10);
+        int hour = digits(deadline, 11, 13);
+        int minute = digits(deadline, 14, 16);
+        return digits(deadline, 0, 4) >= 0
+                && month >= 1 && month <= 12
+                && day >= 1 && day <= 31
+                && hour >= 0 && hour <= 23
+                && minute >= 0 && minute <= 59;
+    }
+
+    private static int digits(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static String taskKey(String title, @Nullable String deadline) {
+        return title + '\u001F' + (deadline == null ? "" : deadline);
+    }
+
+    private static String sessionKey(long taskId, long startTime) {
+        return taskId + ":" + startTime;
+    }
+
+    @Nullable
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static long nextLongOrZero(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0L;
+        }
+        return reader.nextLong();
+    }
+
+    public static final class Result {
+        private final int tasksInserted;
+        private final int tasksUpdated;
+        private final int tasksSkipped;
+        private final int sessionsInserted;
+        private final int sessionsSkipped;
+        private final int invalidRows;
+        private final long resumedRows;
+        private final long rowsProcessed;
+        private final long elapsedNanos;
+
+        Result(
+                int tasksInserted,
+                int tasksUpdated,
+                int tasksSkipped,
+                int sessionsInserted,
+                int sessionsSkipped,
+                int invalidRows,
+                long resumedRows,
+                long rowsProcessed,
+                long elapsedNanos
+        ) {
+            this.tasksInserted = tasksInserted;
+            this.tasksUpdated = tasksUpdated;
+            this.tasksSkipped = tasksSkipped;
+            this.sessionsInserted = sessionsInserted;
+            this.sessionsSkipped = sessionsSkipped;
+            this.invalidRows = invalidRows;
+            this.resumedRows = resumedRows;
+            this.rowsProcessed = rowsProcessed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getTasksInserted() {
+            return tasksInserted;
+        }
+
+        public int getTasksUpdated() {
+            return tasksUpdated;
+        }
+
+        /**
+         * Tasks that matched an existing one and were kept as they are.
+         */
+        public int getTasksSkipped() {
+            return tasksSkipped;
+        }
+
+        public int getSessionsInserted() {
+            return sessionsInserted;
+        }
+
+        /**
+         * Sessions that already existed for the same task and start time.
+         */
+        public int getSessionsSkipped() {
+            return sessionsSkipped;
+        }
+
+        public int getInvalidRows() {
+            return invalidRows;
+        }
+
+        /**
+         * Records skipped because an earlier, interrupted run had already committed them.
+         */
+        public long getResumedRows() {
+            return resumedRows;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000L;
+        }
+
+        /**
+         * Records read per second, including skipped and invalid ones.
+         */
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0L ? 0d : rowsProcessed * 1_000_000_000d / elapsedNanos;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(
+                    Locale.US,
+                    "%d tasks added, %d updated, %d kept; %d sessions added, %d duplicates; %d invalid; %.0f rows/s",
+                    tasksInserted,
+                    tasksUpdated,
+                    tasksSkipped,
+                    sessionsInserted,
+                    sessionsSkipped,
+                    invalidRows,
+                    getRowsPerSecond()
+            );
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.studenttaskmanagement.utils;
+
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Begin/end trace sections for the app's hot paths.
+ *
+ * On a device sections go to {@link Trace} and show up in Perfetto / systrace under the app's
+ * process. On a plain JVM (unit tests, benchmarks) they go to a {@link RingBuffer} instead.
+ * When disabled, {@link #begin(String)} and {@link #end()} return after a single volatile read.
+ *
+ * Sections must be closed on the thread that opened them, so always pair them with try/finally:
+ * <pre>
+ * Tracer.begin("TaskDao.getAllTasks");
+ * try {
+ *     ...
+ * } finally {
+ *     Tracer.end();
+ * }
+ * </pre>
+ * Section names should be compile-time constants; Android truncates them at 127 characters.
+ */
+public final class Tracer {
+
+    /**
+     * Destination for trace sections. Calls arrive on the thread that opened the section.
+     */
+    public interface Sink {
+        void begin(@NonNull String section);
+
+        void end();
+    }
+
+    public static final int DEFAULT_RING_BUFFER_CAPACITY = 4096;
+
+    private static volatile boolean enabled = true;
+    private static volatile Sink sink = isAndroidRuntime()
+            ? new AndroidTraceSink()
+            : new RingBuffer(DEFAULT_RING_BUFFER_CAPACITY);
+
+    private Tracer() {
+    }
+
+    public static void begin(@NonNull String section) {
+        if (!enabled) return;
+        sink.begin(section);
+    }
+
+    public static void end() {
+        if (!enabled) return;
+        sink.end();
+    }
+
+    /**
+     * Only toggle between sections: a section opened while enabled must also be closed while enabled.
+     */
+    public static void setEnabled(boolean enabled) {
+        Tracer.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setSink(@NonNull Sink sink) {
+        Tracer.sink = sink;
+    }
+
+    @NonNull
+    public static Sink getSink() {
+        return sink;
+    }
+
+    private static boolean isAndroidRuntime() {
+        String vmName = System.getProperty("java.vm.name");
+        return vmName != null && vmName.startsWith("Dalvik");
+    }
+
+    private static final class AndroidTraceSink implements Sink {
+        @Override
+        public void begin(@NonNull String section) {
+            Trace.beginSection(section);
+        }
+
+        @Override
+        public void end() {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Keeps the most recent completed sections in preallocated arrays.
+     * Sections still open on a thread are not visible until they end.
+     */
+    public static final class RingBuffer implements Sink {
+
+        private static final int MAX_DEPTH = 64;
+
+        private final String[] names;
+        private final long[] startNanos;
+        private final long[] durationNanos;
+        private final long[] threadIds;
+        private final int[] depths;
+        private long written;
+
+        private final ThreadLocal<OpenSections> openSections = new ThreadLocal<OpenSections>() {
+            @Override
+            protected OpenSections initialValue() {
+                return new OpenSections();
+            }
+        };
+
+        public RingBuffer(int capacity) {
+            names = new String[capacity];
+            startNanos = new long[capacity];
+            durationNanos = new long[capacity];
+            threadIds = new long[capacity];
+            depths = new int[capacity];
+        }
+
+        @Override
+        public void begin(@NonNull String section) {
+            OpenSections open = openSections.get();
+            if (open.depth < MAX_DEPTH) {
+                open.names[open.depth] = section;
+                open.starts[open.depth] = System.nanoTime();
+            }
+            open.depth++;
+        }
+
+        @Override
+        public void end() {
+            long now = System.nanoTime();
+            OpenSections open = openSections.get();
+            if (open.depth == 0) return;
+
+            open.depth--;
+            if (open.depth >= MAX_DEPTH) return;
+
+            String name = open.names[open.depth];
+            open.names[open.depth] = null;
+            synchronized (this) {
+                int slot = (int) (written % names.length);
+                names[slot] = name;
+                startNanos[slot] = open.starts[open.depth];
+                durationNanos[slot] = now - open.starts[open.depth];
+                threadIds[slot] = Thread.currentThread().getId();
+                depths[slot] = open.depth;
+                written++;
+            }
+        }
+
+        /**
+         * Completed sections still in the buffer, oldest first.
+         */
+        @NonNull
+        public synchronized List<Section> getSections() {
+            int count = (int) Math.min(written, names.length);
+            List<Section> sections = new ArrayList<>(count);
+            for (long i = written - count; i < written; i++) {
+                int slot = (int) (i % names.length);
+                sections.add(new Section(names[slot], startNanos[slot], durationNanos[slot],
+                        threadIds[slot], depths[slot]));
+            }
+            return sections;
+        }
+
+        /**
+         * Sum of the durations of all buffered sections with the given name, in nanoseconds.
+         */
+        public synchronized long getTotalNanos(@NonNull String section) {
+            long total = 0L;
+            int count = (int) Math.min(written, names.length);
+            for (long i = written - count; i < written; i++) {
+                int slot = (int) (i % names.length);
+                if (section.equals(names[slot])) total += durationNanos[slot];
+            }
+            return total;
+        }
+
+        public synchronized void clear() {
+            written = 0L;
+            for (int i = 0; i < names.length; i++) {
+                names[i] = null;
+            }
+        }
+
+        private static final class OpenSections {
+            final String[] names = new String[MAX_DEPTH];
+            final long[] starts = new long[MAX_DEPTH];
+            int depth;
+        }
+    }
+
+    public static final class Section {
+        private final String name;
+        private final long startNanos;
+        private final long durationNanos;
+        private final long threadId;
+        private final int depth;
+
+        Section(String name, long startNanos, long durationNanos, long threadId, int depth) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.threadId = threadId;
+            this.depth = depth;
+        }
+
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public long getThreadId() {
+            return threadId;
+        }
+
+        /**
+         * Nesting level on its thread; 0 for a top-level section.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s %.3fms (thread %d, depth %d)",
+                    name, durationNanos / 1_000_000d, threadId, depth);
+        }
+    }
+}
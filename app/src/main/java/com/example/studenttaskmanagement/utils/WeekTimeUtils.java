@@ -1,44 +1,117 @@
 package com.example.studenttaskmanagement.utils;
 
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.WeekFields;
+import java.util.Locale;
 
+/**
+ * Week boundaries in the default time zone, starting on the default locale's first day of the week.
+ *
+ * Weeks are numbered from the epoch ("epoch week"), so aligning an instant to its week is
+ * integer arithmetic on the local epoch day. Only turning a week start back into millis goes
+ * through java.time, which takes care of DST. The most recent ranges are cached by epoch week
+ * and dropped when the time zone or locale changes, so the current and previous week are
+ * usually served without any date math.
+ */
 public final class WeekTimeUtils {
 
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+    private static final int CACHE_SIZE = 16;
+
+    private static volatile WeekCache cache;
+
     private WeekTimeUtils() {
     }
 
     public static WeekRange getCurrentWeekRange() {
-        Calendar now = Calendar.getInstance();
-        return getWeekRangeFor(now.getTimeInMillis());
+        return getWeekRangeFor(System.currentTimeMillis());
     }
 
     public static WeekRange getPreviousWeekRange() {
-        WeekRange current = getCurrentWeekRange();
-        Calendar previousAnchor = Calendar.getInstance();
-        previousAnchor.setTimeInMillis(current.getStartMillis());
-        previousAnchor.add(Calendar.WEEK_OF_YEAR, -1);
-        return getWeekRangeFor(previousAnchor.getTimeInMillis());
+        WeekCache weeks = currentCache();
+        return weeks.range(weeks.epochWeekOf(System.currentTimeMillis()) - 1L);
     }
 
     public static WeekRange getWeekRangeFor(long epochMillis) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(epochMillis);
-        calendar.setFirstDayOfWeek(Calendar.getInstance().getFirstDayOfWeek());
+        WeekCache weeks = currentCache();
+        return weeks.range(weeks.epochWeekOf(epochMillis));
+    }
 
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
+    /**
+     * {@code count} consecutive weeks, oldest first; the last one contains {@code epochMillis}.
+     * Each range ends exactly where the next one starts.
+     */
+    public static WeekRange[] getWeekRanges(long epochMillis, int count) {
+        WeekCache weeks = currentCache();
+        long lastWeek = weeks.epochWeekOf(epochMillis);
+        WeekRange[] ranges = new WeekRange[count];
+        for (int i = 0; i < count; i++) {
+            ranges[i] = weeks.range(lastWeek - (count - 1) + i);
+        }
+        return ranges;
+    }
 
-        while (calendar.get(Calendar.DAY_OF_WEEK) != calendar.getFirstDayOfWeek()) {
-            calendar.add(Calendar.DAY_OF_MONTH, -1);
+    private static WeekCache currentCache() {
+        ZoneId zone = ZoneId.systemDefault();
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        WeekCache current = cache;
+        if (current == null || !current.zone.equals(zone) || !current.locale.equals(locale)) {
+            current = new WeekCache(zone, locale);
+            cache = current;
         }
+        return current;
+    }
 
-        long startMillis = calendar.getTimeInMillis();
-        calendar.add(Calendar.WEEK_OF_YEAR, 1);
-        long endMillis = calendar.getTimeInMillis();
+    /**
+     * Ranges of one zone and week start, in a small ring keyed by epoch week.
+     */
+    private static final class WeekCache {
+        final ZoneId zone;
+        final Locale locale;
+        // Epoch day 0 (1970-01-01) is a Thursday; weeks start on epoch days d with (d + offset) % 7 == 0.
+        private final int weekStartOffset;
 
-        return new WeekRange(startMillis, endMillis);
+        private final long[] epochWeeks = new long[CACHE_SIZE];
+        private final WeekRange[] ranges = new WeekRange[CACHE_SIZE];
+        private int next;
+
+        WeekCache(ZoneId zone, Locale locale) {
+            this.zone = zone;
+            this.locale = locale;
+            int firstDayOfWeek = WeekFields.of(locale).getFirstDayOfWeek().getValue(); // ISO: Monday = 1
+            this.weekStartOffset = Math.floorMod(4 - firstDayOfWeek, 7);
+        }
+
+        synchronized long epochWeekOf(long epochMillis) {
+            for (int i = 0; i < CACHE_SIZE; i++) {
+                WeekRange range = ranges[i];
+                if (range != null && epochMillis >= range.getStartMillis() && epochMillis < range.getEndMillis()) {
+                    return epochWeeks[i];
+                }
+            }
+            long offsetMillis = zone.getRules().getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000L;
+            long localEpochDay = Math.floorDiv(epochMillis + offsetMillis, DAY_MILLIS);
+            return Math.floorDiv(localEpochDay + weekStartOffset, 7L);
+        }
+
+        synchronized WeekRange range(long epochWeek) {
+            for (int i = 0; i < CACHE_SIZE; i++) {
+                if (ranges[i] != null && epochWeeks[i] == epochWeek) return ranges[i];
+            }
+
+            long startEpochDay = epochWeek * 7L - weekStartOffset;
+            WeekRange range = new WeekRange(startOfDayMillis(startEpochDay), startOfDayMillis(startEpochDay + 7L));
+            epochWeeks[next] = epochWeek;
+            ranges[next] = range;
+            next = (next + 1) % CACHE_SIZE;
+            return range;
+        }
+
+        private long startOfDayMillis(long epochDay) {
+            return LocalDate.ofEpochDay(epochDay).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
     }
 
     public static final class WeekRange {
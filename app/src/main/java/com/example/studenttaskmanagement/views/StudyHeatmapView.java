@@ -0,0 +1,161 @@
+package com.example.studenttaskmanagement.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.material.color.MaterialColors;
+
+import java.util.Arrays;
+
+/**
+ * Year heatmap of daily values, one column per week and one row per weekday, oldest day first.
+ *
+ * The cells are rendered once into a bitmap, and onDraw only blits it. The bitmap is re-rendered
+ * when {@link #setData(int[], int)} brings different values or the view is resized. Re-sending
+ * the same buckets after a refresh does not even invalidate.
+ */
+public class StudyHeatmapView extends View {
+
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int DEFAULT_WEEKS = 53;
+    private static final float CELL_GAP_FRACTION = 0.2f;
+    private static final int[] LEVEL_ALPHAS = {40, 100, 170, 255};
+
+    private final Paint emptyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint[] levelPaints = new Paint[LEVEL_ALPHAS.length];
+    private final RectF cell = new RectF();
+
+    private int[] values = new int[0];
+    private int leadingEmptyDays;
+    private int maxValue;
+
+    private Bitmap bitmap;
+    private boolean bitmapDirty = true;
+
+    public StudyHeatmapView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public StudyHeatmapView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+
+        int cellColor = MaterialColors.getColor(this, com.google.android.material.R.attr.colorPrimary);
+        emptyPaint.setColor(MaterialColors.getColor(this, com.google.android.material.R.attr.colorOnSurface));
+        emptyPaint.setAlpha(20);
+        for (int i = 0; i < LEVEL_ALPHAS.length; i++) {
+            levelPaints[i] = new Paint(Paint.ANTI_ALIAS_FLAG);
+            levelPaints[i].setColor(cellColor);
+            levelPaints[i].setAlpha(LEVEL_ALPHAS[i]);
+        }
+    }
+
+    /**
+     * @param dailyValues      one value per day, oldest first; copied.
+     * @param leadingEmptyDays blank cells before the first day so columns start on the first day of the week.
+     */
+    public void setData(@NonNull int[] dailyValues, int leadingEmptyDays) {
+        if (leadingEmptyDays == this.leadingEmptyDays && Arrays.equals(dailyValues, values)) return;
+
+        boolean resized = columnCount(dailyValues.length, leadingEmptyDays) != columnCount(values.length, this.leadingEmptyDays);
+        if (dailyValues.length == values.length) {
+            System.arraycopy(dailyValues, 0, values, 0, dailyValues.length);
+        } else {
+            values = dailyValues.clone();
+        }
+        this.leadingEmptyDays = leadingEmptyDays;
+        int max = 0;
+        for (int value : values) {
+            if (value > max) max = value;
+        }
+        maxValue = max;
+        bitmapDirty = true;
+        if (resized) requestLayout();
+        invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        float pitch = (float) (width - getPaddingLeft() - getPaddingRight()) / columnCount(values.length, leadingEmptyDays);
+        int height = resolveSize((int) Math.ceil(pitch * DAYS_PER_WEEK) + getPaddingTop() + getPaddingBottom(), heightMeasureSpec);
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        releaseBitmap();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        releaseBitmap();
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+
+        if (bitmap == null) {
+            bitmap = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
+            bitmapDirty = true;
+        }
+        if (bitmapDirty) {
+            bitmap.eraseColor(0);
+            renderCells(new Canvas(bitmap));
+            bitmapDirty = false;
+        }
+        canvas.drawBitmap(bitmap, 0f, 0f, null);
+    }
+
+    private void renderCells(Canvas target) {
+        int columns = columnCount(values.length, leadingEmptyDays);
+        float left = getPaddingLeft();
+        float top = getPaddingTop();
+        float pitch = Math.min(
+                (getWidth() - getPaddingLeft() - getPaddingRight()) / (float) columns,
+                (getHeight() - getPaddingTop() - getPaddingBottom()) / (float) DAYS_PER_WEEK
+        );
+        float size = pitch * (1f - CELL_GAP_FRACTION);
+        float radius = size / 5f;
+
+        for (int i = 0; i < values.length; i++) {
+            int slot = leadingEmptyDays + i;
+            float x = left + (slot / DAYS_PER_WEEK) * pitch;
+            float y = top + (slot % DAYS_PER_WEEK) * pitch;
+            cell.set(x, y, x + size, y + size);
+            target.drawRoundRect(cell, radius, radius, paintFor(values[i]));
+        }
+    }
+
+    /**
+     * Empty cells for zero; otherwise one of four levels, each a quarter of the largest value.
+     */
+    private Paint paintFor(int value) {
+        if (value <= 0 || maxValue <= 0) return emptyPaint;
+        int level = (int) (((long) value * LEVEL_ALPHAS.length - 1L) / maxValue);
+        return levelPaints[Math.min(LEVEL_ALPHAS.length - 1, level)];
+    }
+
+    private static int columnCount(int days, int leadingEmptyDays) {
+        return days == 0 ? DEFAULT_WEEKS : (leadingEmptyDays + days + DAYS_PER_WEEK - 1) / DAYS_PER_WEEK;
+    }
+
+    private void releaseBitmap() {
+        if (bitmap != null) {
+            bitmap.recycle();
+            bitmap = null;
+        }
+        bitmapDirty = true;
+    }
+}
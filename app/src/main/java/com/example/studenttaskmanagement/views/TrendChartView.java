@@ -0,0 +1,137 @@
+package com.example.studenttaskmanagement.views;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.material.color.MaterialColors;
+
+import java.util.Locale;
+
+/**
+ * Small bar chart for a short series such as 12 weeks or months, oldest first.
+ *
+ * Draws straight from the arrays passed to {@link #setData(float[], String[])}; paints and the
+ * bar rect are allocated once, so drawing allocates nothing. The last bar (the period in
+ * progress) is drawn lighter. The top-left caption shows the largest value.
+ */
+public class TrendChartView extends View {
+
+    private static final int DEFAULT_HEIGHT_DP = 88;
+    private static final float BAR_GAP_FRACTION = 0.25f;
+    private static final int CURRENT_BAR_ALPHA = 110;
+
+    private final Paint barPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint currentBarPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint axisPaint = new Paint();
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF bar = new RectF();
+
+    private float[] values = new float[0];
+    private String[] labels = new String[0];
+    private float maxValue;
+    private String maxCaption = "";
+    private String valueFormat = "%.0f";
+
+    public TrendChartView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public TrendChartView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+
+        int barColor = MaterialColors.getColor(this, com.google.android.material.R.attr.colorPrimary);
+        int textColor = MaterialColors.getColor(this, com.google.android.material.R.attr.colorOnSurface);
+        barPaint.setColor(barColor);
+        currentBarPaint.setColor(barColor);
+        currentBarPaint.setAlpha(CURRENT_BAR_ALPHA);
+        axisPaint.setColor(textColor);
+        axisPaint.setAlpha(80);
+        axisPaint.setStrokeWidth(dp(1));
+        textPaint.setColor(textColor);
+        textPaint.setTextSize(TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, 10, getResources().getDisplayMetrics()));
+    }
+
+    /**
+     * Format for the max-value caption, e.g. {@code "%.0f min"}.
+     */
+    public void setValueFormat(@NonNull String valueFormat) {
+        this.valueFormat = valueFormat;
+        updateCaption();
+        invalidate();
+    }
+
+    /**
+     * The arrays are kept, not copied; pass new ones rather than mutating them.
+     */
+    public void setData(@NonNull float[] values, @Nullable String[] labels) {
+        this.values = values;
+        this.labels = labels == null ? new String[0] : labels;
+        float max = 0f;
+        for (float value : values) {
+            if (value > max) max = value;
+        }
+        maxValue = max;
+        updateCaption();
+        invalidate();
+    }
+
+    private void updateCaption() {
+        maxCaption = values.length == 0 ? "" : "max " + String.format(Locale.getDefault(), valueFormat, maxValue);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = resolveSize((int) dp(DEFAULT_HEIGHT_DP), heightMeasureSpec);
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+
+        float textHeight = textPaint.getFontSpacing();
+        float left = getPaddingLeft();
+        float right = getWidth() - getPaddingRight();
+        float top = getPaddingTop() + textHeight;
+        float baseline = getHeight() - getPaddingBottom() - textHeight;
+
+        canvas.drawLine(left, baseline, right, baseline, axisPaint);
+        int count = values.length;
+        if (count == 0 || right <= left) return;
+
+        textPaint.setTextAlign(Paint.Align.LEFT);
+        canvas.drawText(maxCaption, left, getPaddingTop() - textPaint.ascent(), textPaint);
+
+        float slot = (right - left) / count;
+        float gap = slot * BAR_GAP_FRACTION;
+        float chartHeight = baseline - top;
+        // Label every bar when there is room, otherwise every third one, always including the last.
+        int labelStep = slot >= textPaint.measureText("MMM 00") ? 1 : 3;
+
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        for (int i = 0; i < count; i++) {
+            float barLeft = left + i * slot + gap / 2f;
+            float height = maxValue > 0f ? (values[i] / maxValue) * chartHeight : 0f;
+            bar.set(barLeft, baseline - height, barLeft + slot - gap, baseline);
+            canvas.drawRect(bar, i == count - 1 ? currentBarPaint : barPaint);
+
+            if (i < labels.length && labels[i] != null && (count - 1 - i) % labelStep == 0) {
+                canvas.drawText(labels[i], bar.centerX(), getHeight() - getPaddingBottom() - textPaint.descent(), textPaint);
+            }
+        }
+    }
+
+    private float dp(float value) {
+        return value * getResources().getDisplayMetrics().density;
+    }
+}
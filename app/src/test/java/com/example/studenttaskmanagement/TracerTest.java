@@ -0,0 +1,71 @@
+package com.example.studenttaskmanagement;
+
+import com.example.studenttaskmanagement.utils.Tracer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TracerTest {
+
+    private Tracer.Sink originalSink;
+    private Tracer.RingBuffer buffer;
+
+    @Before
+    public void setUp() {
+        originalSink = Tracer.getSink();
+        buffer = new Tracer.RingBuffer(4);
+        Tracer.setSink(buffer);
+        Tracer.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        Tracer.setSink(originalSink);
+        Tracer.setEnabled(true);
+    }
+
+    @Test
+    public void nestedSections_areRecordedInCompletionOrderWithDepth() {
+        Tracer.begin("outer");
+        try {
+            Tracer.begin("inner");
+            Tracer.end();
+        } finally {
+            Tracer.end();
+        }
+
+        List<Tracer.Section> sections = buffer.getSections();
+        Assert.assertEquals(2, sections.size());
+        Assert.assertEquals("inner", sections.get(0).getName());
+        Assert.assertEquals(1, sections.get(0).getDepth());
+        Assert.assertEquals("outer", sections.get(1).getName());
+        Assert.assertEquals(0, sections.get(1).getDepth());
+        Assert.assertTrue(sections.get(1).getDurationNanos() >= sections.get(0).getDurationNanos());
+    }
+
+    @Test
+    public void ringBuffer_keepsOnlyMostRecentSections() {
+        for (int i = 0; i < 6; i++) {
+            Tracer.begin("section" + i);
+            Tracer.end();
+        }
+
+        List<Tracer.Section> sections = buffer.getSections();
+        Assert.assertEquals(4, sections.size());
+        Assert.assertEquals("section2", sections.get(0).getName());
+        Assert.assertEquals("section5", sections.get(3).getName());
+    }
+
+    @Test
+    public void disabled_recordsNothing() {
+        Tracer.setEnabled(false);
+        Tracer.begin("ignored");
+        Tracer.end();
+
+        Assert.assertTrue(buffer.getSections().isEmpty());
+    }
+}
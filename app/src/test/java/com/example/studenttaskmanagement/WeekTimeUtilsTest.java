@@ -6,6 +6,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Calendar;
+import java.util.Locale;
 import java.util.TimeZone;
 
 public class WeekTimeUtilsTest {
@@ -35,4 +36,66 @@ public class WeekTimeUtilsTest {
             TimeZone.setDefault(original);
         }
     }
+
+    @Test
+    public void weekRanges_areConsecutiveAndEndWithTheGivenWeek() {
+        long now = System.currentTimeMillis();
+
+        WeekTimeUtils.WeekRange[] ranges = WeekTimeUtils.getWeekRanges(now, 12);
+
+        Assert.assertEquals(12, ranges.length);
+        for (int i = 1; i < ranges.length; i++) {
+            Assert.assertEquals(ranges[i - 1].getEndMillis(), ranges[i].getStartMillis());
+        }
+        Assert.assertEquals(WeekTimeUtils.getWeekRangeFor(now).getStartMillis(), ranges[11].getStartMillis());
+        Assert.assertEquals(WeekTimeUtils.getPreviousWeekRange().getStartMillis(), ranges[10].getStartMillis());
+    }
+
+    @Test
+    public void weekRange_spanningDstChange_isShorterByAnHour() {
+        TimeZone originalZone = TimeZone.getDefault();
+        Locale originalLocale = Locale.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            Locale.setDefault(Locale.US);
+
+            Calendar sample = Calendar.getInstance();
+            sample.set(2025, Calendar.MARCH, 12, 15, 45, 0); // the week clocks moved forward (Sun Mar 9)
+
+            WeekTimeUtils.WeekRange range = WeekTimeUtils.getWeekRangeFor(sample.getTimeInMillis());
+
+            Assert.assertEquals(7L * 24L - 1L, (range.getEndMillis() - range.getStartMillis()) / (60L * 60L * 1000L));
+        } finally {
+            TimeZone.setDefault(originalZone);
+            Locale.setDefault(originalLocale);
+        }
+    }
+
+    @Test
+    public void weekRange_followsLocaleAndZoneChanges() {
+        TimeZone originalZone = TimeZone.getDefault();
+        Locale originalLocale = Locale.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+            Locale.setDefault(Locale.US);
+            long instant = System.currentTimeMillis();
+            long sundayStart = WeekTimeUtils.getWeekRangeFor(instant).getStartMillis();
+
+            Locale.setDefault(Locale.GERMANY);
+            long mondayStart = WeekTimeUtils.getWeekRangeFor(instant).getStartMillis();
+            Calendar start = Calendar.getInstance();
+            start.setTimeInMillis(mondayStart);
+            Assert.assertEquals(Calendar.MONDAY, start.get(Calendar.DAY_OF_WEEK));
+            Assert.assertNotEquals(sundayStart, mondayStart);
+
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            start = Calendar.getInstance();
+            start.setTimeInMillis(WeekTimeUtils.getWeekRangeFor(instant).getStartMillis());
+            Assert.assertEquals(Calendar.MONDAY, start.get(Calendar.DAY_OF_WEEK));
+            Assert.assertEquals(0, start.get(Calendar.HOUR_OF_DAY));
+        } finally {
+            TimeZone.setDefault(originalZone);
+            Locale.setDefault(originalLocale);
+        }
+    }
 }
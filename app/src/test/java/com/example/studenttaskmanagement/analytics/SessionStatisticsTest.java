@@ -0,0 +1,110 @@
+package com.example.studenttaskmanagement.analytics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+public class SessionStatisticsTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final ZoneId UTC = ZoneOffset.UTC;
+
+    @Test
+    public void percentiles_useNearestRank_andSkipRunningSessions() {
+        SessionColumns columns = new SessionColumns(0);
+        for (int minutes = 10; minutes <= 100; minutes += 10) {
+            add(columns, LocalDate.of(2024, 3, 1), 9, minutes);
+        }
+        columns.add(millis(LocalDate.of(2024, 3, 2), 9), 0L, 0L, 1L); // still running
+
+        long[] percentiles = SessionStatistics.durationPercentiles(columns, 0D, 50D, 90D, 100D);
+
+        Assert.assertArrayEquals(new long[]{10 * MINUTE, 50 * MINUTE, 90 * MINUTE, 100 * MINUTE}, percentiles);
+        Assert.assertEquals(50 * MINUTE, SessionStatistics.medianDuration(columns));
+        Assert.assertEquals(0L, SessionStatistics.medianDuration(new SessionColumns(0)));
+    }
+
+    @Test
+    public void histogram_putsLongSessionsInLastBucket() {
+        SessionColumns columns = new SessionColumns(0);
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        add(columns, day, 8, 5);
+        add(columns, day, 9, 25);
+        add(columns, day, 10, 29);
+        add(columns, day, 11, 240);
+
+        int[] histogram = SessionStatistics.durationHistogram(columns, 15 * MINUTE, 3);
+
+        Assert.assertArrayEquals(new int[]{1, 2, 1}, histogram);
+    }
+
+    @Test
+    public void hourDistribution_splitsAcrossHourBoundaries() {
+        SessionColumns columns = new SessionColumns(0);
+        long start = millis(LocalDate.of(2024, 3, 1), 10) + 40 * MINUTE;
+        columns.add(start, start + 40 * MINUTE, 40 * MINUTE, 1L);
+        long lateStart = millis(LocalDate.of(2024, 3, 1), 23) + 30 * MINUTE;
+        columns.add(lateStart, lateStart + 60 * MINUTE, 60 * MINUTE, 1L);
+
+        long[] hours = SessionStatistics.focusByHourOfDay(columns, UTC);
+
+        Assert.assertEquals(20 * MINUTE, hours[10]);
+        Assert.assertEquals(20 * MINUTE, hours[11]);
+        Assert.assertEquals(30 * MINUTE, hours[23]);
+        Assert.assertEquals(30 * MINUTE, hours[0]);
+    }
+
+    @Test
+    public void hourDistribution_usesLocalTime() {
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        SessionColumns columns = new SessionColumns(0);
+        long start = LocalDate.of(2024, 7, 1).atTime(9, 0).atZone(zone).toInstant().toEpochMilli();
+        columns.add(start, start + 30 * MINUTE, 30 * MINUTE, 1L);
+
+        Assert.assertEquals(30 * MINUTE, SessionStatistics.focusByHourOfDay(columns, zone)[9]);
+    }
+
+    @Test
+    public void streaks_findLongestAndCurrentRuns() {
+        SessionColumns columns = new SessionColumns(0);
+        LocalDate today = LocalDate.of(2024, 3, 20);
+        for (int i = 10; i >= 6; i--) add(columns, today.minusDays(i), 9, 30); // 5-day run
+        add(columns, today.minusDays(6), 18, 30); // second session on the same day
+        add(columns, today.minusDays(2), 9, 30);
+        add(columns, today.minusDays(1), 9, 30);
+
+        SessionStatistics.Streaks streaks = SessionStatistics.streaks(columns, UTC, millis(today, 8));
+
+        Assert.assertEquals(5, streaks.getLongestDays());
+        Assert.assertEquals(2, streaks.getCurrentDays()); // ends yesterday; today is not over yet
+        Assert.assertEquals(7, streaks.getActiveDays());
+
+        SessionStatistics.Streaks later = SessionStatistics.streaks(columns, UTC, millis(today.plusDays(1), 8));
+        Assert.assertEquals(0, later.getCurrentDays());
+    }
+
+    @Test
+    public void columns_growPastInitialCapacity() {
+        SessionColumns columns = new SessionColumns(0);
+        for (int i = 0; i < 1000; i++) {
+            columns.add(i, i + 1L, 1L, i % 7);
+        }
+
+        Assert.assertEquals(1000, columns.size());
+        Assert.assertEquals(999L, columns.getStartTime(999));
+        Assert.assertEquals(999L % 7, columns.getTaskId(999));
+        Assert.assertTrue(columns.isEnded(0));
+    }
+
+    private static void add(SessionColumns columns, LocalDate day, int hour, int minutes) {
+        long start = millis(day, hour);
+        columns.add(start, start + minutes * MINUTE, minutes * MINUTE, 1L);
+    }
+
+    private static long millis(LocalDate day, int hour) {
+        return day.atTime(hour, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
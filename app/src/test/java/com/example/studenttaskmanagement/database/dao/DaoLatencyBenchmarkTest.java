@@ -0,0 +1,279 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.seed.SyntheticDataGenerator;
+import com.example.studenttaskmanagement.model.StudySession;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+import com.example.studenttaskmanagement.presentation.dashboard.DashboardTrend;
+import com.example.studenttaskmanagement.presentation.dashboard.DashboardViewModel;
+import com.example.studenttaskmanagement.utils.WeekTimeUtils;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Latency baseline for the real DAOs on a real SQLite file (Robolectric native SQLite).
+ *
+ * Skipped unless enabled, because seeding the larger datasets takes minutes:
+ * {@code ./gradlew :app:testDebugUnitTest --tests '*DaoLatencyBenchmarkTest' -PdaoBenchmark
+ * -PdaoBenchmarkSizes=1000,10000,100000}. Each task gets ten sessions, capped at one million.
+ * Percentiles are printed and written as JSON to {@code app/build/reports/dao-benchmark/}.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class DaoLatencyBenchmarkTest {
+
+    private static final int SESSIONS_PER_TASK = 10;
+    private static final int MAX_SESSIONS = 1_000_000;
+    private static final long USER_ID = 1L;
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
+    private final int taskCount;
+    private final int sessionCount;
+    private final int iterations = Integer.getInteger("dao.benchmark.iterations", 50);
+    private final int warmup = Integer.getInteger("dao.benchmark.warmup", 5);
+    private final Random random = new Random(42L);
+
+    private Context context;
+    private TaskDao taskDao;
+    private StudySessionDao studySessionDao;
+    private TaskNotificationDao notificationDao;
+    private final List<LatencyStats> results = new ArrayList<>();
+
+    public DaoLatencyBenchmarkTest(int taskCount) {
+        this.taskCount = taskCount;
+        this.sessionCount = (int) Math.min((long) taskCount * SESSIONS_PER_TASK, MAX_SESSIONS);
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "tasks={0}")
+    public static Collection<Object[]> sizes() {
+        List<Object[]> sizes = new ArrayList<>();
+        for (String size : System.getProperty("dao.benchmark.sizes", "1000").split(",")) {
+            if (!size.trim().isEmpty()) sizes.add(new Object[]{Integer.parseInt(size.trim())});
+        }
+        return sizes;
+    }
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue("DAO benchmarks are opt-in (-PdaoBenchmark)", Boolean.getBoolean("dao.benchmark"));
+
+        context = ApplicationProvider.getApplicationContext();
+        SyntheticDataGenerator.Result seeded = new SyntheticDataGenerator(42L).generate(
+                AppDatabaseHelper.getInstance(context).getWritableDatabase(),
+                SyntheticDataGenerator.Spec.of(taskCount, sessionCount),
+                System.currentTimeMillis()
+        );
+        System.out.println("Seeded " + seeded);
+
+        taskDao = new TaskDao(context);
+        studySessionDao = new StudySessionDao(context);
+        notificationDao = new TaskNotificationDao(context);
+    }
+
+    @After
+    public void tearDown() {
+        // The shared helper and the task cache are static; Robolectric gives each run a new database file.
+        AppDatabaseHelper.resetSharedInstance();
+        TaskDao.invalidateCache();
+    }
+
+    @Test
+    public void measureDaoLatencies() throws IOException {
+        long now = System.currentTimeMillis();
+        WeekTimeUtils.WeekRange week = WeekTimeUtils.getCurrentWeekRange();
+
+        // TaskDao reads
+        measure("TaskDao.getAllTasks(userId)", () -> taskDao.getAllTasks(USER_ID));
+        measure("TaskDao.getTasksOrderedByPriority", () -> taskDao.getTasksOrderedByPriority(USER_ID));
+        measure("TaskDao.getProjectProgress", () -> taskDao.getProjectProgress(USER_ID));
+        measure("TaskDao.getDailyCompletionCounts", () -> taskDao.getDailyCompletionCounts(USER_ID, now, 30));
+        measure("TaskDao.getTaskById (cold cache)", () -> {
+            TaskCache.getInstance().clear();
+            return taskDao.getTaskById(randomTaskId());
+        });
+        measure("TaskDao.getTaskById (warm cache)", () -> taskDao.getTaskById(1L));
+
+        // TaskDao writes
+        measure("TaskDao.updateTask", () -> {
+            Task task = taskDao.getTaskById(randomTaskId());
+            task.setStatus(task.getStatus() == TaskStatus.COMPLETED ? TaskStatus.PENDING : TaskStatus.COMPLETED);
+            return task;
+        }, task -> taskDao.updateTask(task));
+        List<Long> insertedIds = new ArrayList<>();
+        measure("TaskDao.insertTask", () -> {
+            long id = taskDao.insertTask(newTask("Benchmark task"));
+            insertedIds.add(id);
+            return id;
+        });
+        measure("TaskDao.deleteTask", () -> insertedIds.isEmpty() ? 0 : taskDao.deleteTask(insertedIds.remove(0)));
+
+        // StudySessionDao
+        measure("StudySessionDao.getSessionsForTask", () -> studySessionDao.getSessionsForTask(randomTaskId()));
+        measure("StudySessionDao.getSessionsInCurrentWeek", () -> studySessionDao.getSessionsInCurrentWeek());
+        measure("StudySessionDao.loadSessionColumns (all)",
+                () -> studySessionDao.loadSessionColumns(0L, Long.MAX_VALUE).size());
+        measure("StudySessionDao.getTotalFocusedMinutes",
+                () -> studySessionDao.getTotalFocusedMinutes(week.getStartMillis(), week.getEndMillis()));
+        measure("StudySessionDao.getAverageSessionDurationMinutes",
+                () -> studySessionDao.getAverageSessionDurationMinutes(week.getStartMillis(), week.getEndMillis()));
+        measure("StudySessionDao.getPlannedVsCompletedSessionCount",
+                () -> studySessionDao.getPlannedVsCompletedSessionCount(week.getStartMillis(), week.getEndMillis()));
+        long[] twelveWeeks = new long[13];
+        WeekTimeUtils.WeekRange[] weeks = WeekTimeUtils.getWeekRanges(now, 12);
+        for (int i = 0; i < 12; i++) twelveWeeks[i] = weeks[i].getStartMillis();
+        twelveWeeks[12] = weeks[11].getEndMillis();
+        measure("StudySessionDao.getSessionTrend (12 weeks)", () -> studySessionDao.getSessionTrend(twelveWeeks));
+        measure("StudySessionDao.getDailyFocusedMinutes (366 days)", () -> studySessionDao.getDailyFocusedMinutes(
+                LocalDate.now().minusDays(365), 366, ZoneId.systemDefault()));
+        measure("StudySessionDao.getCompletedSessionCountForTask",
+                () -> studySessionDao.getCompletedSessionCountForTask(randomTaskId()));
+        measure("StudySessionDao.startSession+endSession", () -> {
+            long sessionId = studySessionDao.startSession(randomTaskId(), now);
+            return studySessionDao.endSession(sessionId, now + 25L * 60_000L);
+        });
+
+        // TaskNotificationDao
+        measure("TaskNotificationDao.getNotificationByTaskId",
+                () -> notificationDao.getNotificationByTaskId(randomTaskId()));
+        measure("TaskNotificationDao.upsertNotificationForTask",
+                () -> notificationDao.upsertNotificationForTask(randomTaskId(), now + DAY_MILLIS));
+        measure("TaskNotificationDao.getPendingNotifications", () -> notificationDao.getPendingNotifications(now));
+
+        // Whole dashboard load
+        DashboardViewModel viewModel = new DashboardViewModel(studySessionDao, taskDao);
+        measure("DashboardViewModel.loadWeeklySummary", () -> viewModel.loadWeeklySummary(USER_ID));
+        measure("DashboardViewModel.loadTrend (months)",
+                () -> viewModel.loadTrend(DashboardTrend.Granularity.MONTHS));
+        measure("DashboardViewModel.loadHeatmap", () -> viewModel.loadHeatmap());
+
+        report();
+    }
+
+    @Test
+    public void measureBatchThroughput() {
+        int batchSize = Math.max(1, taskCount / 10);
+        long now = System.currentTimeMillis();
+
+        List<Task> tasks = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            tasks.add(newTask("Batch task " + i));
+        }
+        BatchResult inserted = taskDao.insertTasks(tasks);
+
+        long[] ids = new long[tasks.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tasks.get(i).getId();
+        }
+
+        List<StudySession> sessions = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            StudySession session = new StudySession();
+            session.setTaskId(ids[i]);
+            session.setStartTime(now - 400L * DAY_MILLIS);
+            session.setEndTime(now - 400L * DAY_MILLIS + 30L * 60_000L);
+            session.setDuration(30L * 60_000L);
+            sessions.add(session);
+        }
+
+        System.out.println("Batch throughput, tasks=" + taskCount + ", batch=" + batchSize);
+        System.out.println("TaskDao.insertTasks                 " + inserted);
+        System.out.println("StudySessionDao.insertSessions      " + studySessionDao.insertSessions(sessions));
+        System.out.println("TaskDao.updateTaskStatuses          " + taskDao.updateTaskStatuses(ids, TaskStatus.COMPLETED));
+        System.out.println("StudySessionDao.deleteSessionsOlderThan " + studySessionDao.deleteSessionsOlderThan(now - 365L * DAY_MILLIS));
+        System.out.println("TaskDao.deleteTasks                 " + taskDao.deleteTasks(ids));
+    }
+
+    private interface Operation {
+        Object run();
+    }
+
+    private interface Setup<T> {
+        T prepare();
+    }
+
+    private interface PreparedOperation<T> {
+        Object run(T input);
+    }
+
+    private void measure(String name, Operation operation) {
+        measure(name, () -> null, input -> operation.run());
+    }
+
+    /**
+     * Runs {@code setup} before each iteration, outside the timed region.
+     */
+    private <T> void measure(String name, Setup<T> setup, PreparedOperation<T> operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.run(setup.prepare());
+        }
+
+        LatencyStats stats = new LatencyStats(name);
+        for (int i = 0; i < iterations; i++) {
+            T input = setup.prepare();
+            long start = System.nanoTime();
+            operation.run(input);
+            stats.record(System.nanoTime() - start);
+        }
+        results.add(stats);
+    }
+
+    private void report() throws IOException {
+        System.out.println("DAO latency, tasks=" + taskCount + ", sessions=" + sessionCount);
+        for (LatencyStats stats : results) {
+            System.out.println(stats.toSummaryLine());
+        }
+
+        File outputDir = new File(System.getProperty("dao.benchmark.outputDir", "build/reports/dao-benchmark"));
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create " + outputDir);
+        }
+        try (Writer writer = new FileWriter(new File(outputDir, "dao-latency-" + taskCount + ".json"))) {
+            writer.write("{\"tasks\":" + taskCount + ",\"sessions\":" + sessionCount + ",\"results\":[");
+            for (int i = 0; i < results.size(); i++) {
+                if (i > 0) writer.write(',');
+                writer.write(results.get(i).toJson());
+            }
+            writer.write("]}\n");
+        }
+    }
+
+    private long randomTaskId() {
+        return 1L + random.nextInt(taskCount);
+    }
+
+    private Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Created by DaoLatencyBenchmarkTest");
+        task.setDeadline("2030-01-01 09:00");
+        task.setStatus(TaskStatus.PENDING);
+        task.setCategoryId(1L);
+        task.setPriorityId(2L);
+        task.setUserId(USER_ID);
+        return task;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Collects call latencies for one operation and reports nearest-rank percentiles.
+ */
+final class LatencyStats {
+
+    private final String name;
+    private long[] samples = new long[64];
+    private int count;
+
+    LatencyStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void record(long elapsedNanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = elapsedNanos;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds; {@code percentile} is in (0, 100].
+     */
+    double percentileMillis(double percentile) {
+        if (count == 0) return 0D;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100D * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000D;
+    }
+
+    String toSummaryLine() {
+        return String.format(Locale.US, "%-48s n=%-5d p50=%9.3fms p95=%9.3fms p99=%9.3fms",
+                name, count, percentileMillis(50), percentileMillis(95), percentileMillis(99));
+    }
+
+    String toJson() {
+        return String.format(Locale.US,
+                "{\"name\":\"%s\",\"count\":%d,\"p50Ms\":%.4f,\"p95Ms\":%.4f,\"p99Ms\":%.4f}",
+                name, count, percentileMillis(50), percentileMillis(95), percentileMillis(99));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.studenttaskmanagement.analytics.SessionColumns;
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.model.StudySession;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class StudySessionDaoTest {
+
+    private static final long USER_ID = 1L;
+    private static final long MINUTE = 60_000L;
+    private static final long DAY = 24L * 60L * MINUTE;
+    private static final ZoneId UTC = ZoneOffset.UTC;
+
+    private TaskDao taskDao;
+    private StudySessionDao studySessionDao;
+    private TaskArchiveDao archiveDao;
+    private long now;
+    private LocalDate firstDay;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        taskDao = new TaskDao(context);
+        studySessionDao = new StudySessionDao(context);
+        archiveDao = new TaskArchiveDao(context);
+        now = System.currentTimeMillis();
+        firstDay = LocalDate.now(UTC).minusDays(6);
+
+        long done = taskDao.insertTask(new Task(0L, "Essay", null, "2024-05-01 10:00", TaskStatus.COMPLETED, 0L, 0L, USER_ID));
+        long open = taskDao.insertTask(new Task(0L, "Lab report", null, "2024-06-01 10:00", TaskStatus.PENDING, 0L, 0L, USER_ID));
+        List<StudySession> sessions = new ArrayList<>();
+        sessions.add(session(done, now - 3 * DAY, 45));
+        sessions.add(session(done, now - 2 * DAY, 30));
+        sessions.add(session(open, now - 2 * DAY + 60 * MINUTE, 20));
+        studySessionDao.insertSessions(sessions);
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabaseHelper.resetSharedInstance();
+        TaskDao.invalidateCache();
+    }
+
+    @Test
+    public void dailyFocusedMinutes_unchangedByArchiving() {
+        int[] before = studySessionDao.getDailyFocusedMinutes(firstDay, 7, UTC);
+
+        Assert.assertEquals(1, archiveDao.archiveCompletedTasks(now + DAY).getRows());
+
+        int[] after = studySessionDao.getDailyFocusedMinutes(firstDay, 7, UTC);
+        Assert.assertEquals(95, sum(before));
+        Assert.assertArrayEquals(before, after);
+    }
+
+    @Test
+    public void sessionColumns_mergeArchivedSessionsInStartOrder() {
+        Assert.assertEquals(1, archiveDao.archiveCompletedTasks(now + DAY).getRows());
+
+        SessionColumns columns = studySessionDao.loadSessionColumns(now - 7 * DAY, now);
+
+        Assert.assertEquals(3, columns.size());
+        Assert.assertEquals(now - 3 * DAY, columns.getStartTime(0));
+        Assert.assertEquals(now - 2 * DAY, columns.getStartTime(1));
+        Assert.assertEquals(now - 2 * DAY + 60 * MINUTE, columns.getStartTime(2));
+        Assert.assertEquals(45 * MINUTE, columns.getDuration(0));
+    }
+
+    private static StudySession session(long taskId, long start, int minutes) {
+        return new StudySession(0L, taskId, start, start + minutes * MINUTE, minutes * MINUTE);
+    }
+
+    private static int sum(int[] values) {
+        int sum = 0;
+        for (int value : values) sum += value;
+        return sum;
+    }
+}
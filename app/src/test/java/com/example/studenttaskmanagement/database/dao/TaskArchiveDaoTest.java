@@ -0,0 +1,136 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.model.StudySession;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class TaskArchiveDaoTest {
+
+    private static final long USER_ID = 1L;
+    private static final long HOUR = 60L * 60L * 1000L;
+    private static final long DAY = 24L * HOUR;
+
+    private SQLiteDatabase db;
+    private TaskDao taskDao;
+    private StudySessionDao studySessionDao;
+    private TaskArchiveDao archiveDao;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = AppDatabaseHelper.getInstance(context).getWritableDatabase();
+        taskDao = new TaskDao(context);
+        studySessionDao = new StudySessionDao(context);
+        archiveDao = new TaskArchiveDao(context);
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabaseHelper.resetSharedInstance();
+        TaskDao.invalidateCache();
+    }
+
+    @Test
+    public void archiveAndRestore_moveTaskSessionsAndAttachmentsWithTheirIds() {
+        long now = System.currentTimeMillis();
+        long taskId = taskDao.insertTask(new Task(0L, "Essay", "draft", "2024-05-01 10:00", TaskStatus.COMPLETED, 0L, 0L, USER_ID));
+        long pendingId = taskDao.insertTask(new Task(0L, "Lab report", null, "2024-06-01 10:00", TaskStatus.PENDING, 0L, 0L, USER_ID));
+        List<StudySession> sessions = new ArrayList<>();
+        sessions.add(new StudySession(0L, taskId, now - 3 * HOUR, now - 2 * HOUR, HOUR));
+        sessions.add(new StudySession(0L, taskId, now - 2 * HOUR, now - HOUR, HOUR));
+        studySessionDao.insertSessions(sessions);
+        long[] sessionIds = {sessions.get(0).getId(), sessions.get(1).getId()};
+        long attachmentId = insertAttachment(taskId);
+        Assert.assertNotNull(taskDao.getTaskById(taskId)); // now cached
+
+        Assert.assertEquals(1, archiveDao.archiveCompletedTasks(now + DAY).getRows());
+
+        Assert.assertNull(taskDao.getTaskById(taskId));
+        Assert.assertNotNull(taskDao.getTaskById(pendingId));
+        Assert.assertTrue(studySessionDao.getSessionsForTask(taskId).isEmpty());
+        Assert.assertEquals(0L, count(DatabaseContract.Attachments.TABLE_NAME, attachmentId));
+        Task archived = archiveDao.getArchivedTaskById(taskId);
+        Assert.assertEquals("Essay", archived.getTitle());
+        Assert.assertEquals(2, archiveDao.getArchivedCompletedSessionCountForTask(taskId));
+        Assert.assertEquals(1L, count(DatabaseContract.ArchivedAttachments.TABLE_NAME, attachmentId));
+
+        Assert.assertTrue(archiveDao.restoreTask(taskId));
+
+        Task restored = taskDao.getTaskById(taskId);
+        Assert.assertEquals("Essay", restored.getTitle());
+        Assert.assertEquals(TaskStatus.COMPLETED, restored.getStatus());
+        long[] restoredSessionIds = studySessionDao.getSessionsForTask(taskId).stream().mapToLong(StudySession::getId).sorted().toArray();
+        Arrays.sort(sessionIds);
+        Assert.assertArrayEquals(sessionIds, restoredSessionIds);
+        Assert.assertEquals(1L, count(DatabaseContract.Attachments.TABLE_NAME, attachmentId));
+        Assert.assertNull(archiveDao.getArchivedTaskById(taskId));
+        Assert.assertEquals(0L, archiveDao.countArchivedSessions(USER_ID));
+        Assert.assertEquals(0L, count(DatabaseContract.ArchivedAttachments.TABLE_NAME, attachmentId));
+        Assert.assertFalse(archiveDao.restoreTask(taskId));
+    }
+
+    @Test
+    public void archive_skipsTasksWithSessionsEndingAfterTheCutoff() {
+        long now = System.currentTimeMillis();
+        long taskId = taskDao.insertTask(new Task(0L, "Essay", null, "2024-05-01 10:00", TaskStatus.COMPLETED, 0L, 0L, USER_ID));
+        List<StudySession> sessions = new ArrayList<>();
+        sessions.add(new StudySession(0L, taskId, now - HOUR, 0L, 0L)); // still running
+        studySessionDao.insertSessions(sessions);
+
+        Assert.assertEquals(0, archiveDao.archiveCompletedTasks(now + DAY).getRows());
+        Assert.assertNotNull(taskDao.getTaskById(taskId));
+    }
+
+    @Test
+    public void projectProgress_countsArchivedTasks() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 9; i++) {
+            taskDao.insertTask(new Task(0L, "Done " + i, null, "2024-05-01 10:00", TaskStatus.COMPLETED, 0L, 0L, USER_ID));
+        }
+        taskDao.insertTask(new Task(0L, "Open", null, "2024-06-01 10:00", TaskStatus.PENDING, 0L, 0L, USER_ID));
+        Assert.assertEquals(9, archiveDao.archiveCompletedTasks(now + DAY).getRows());
+
+        TaskDao.ProjectProgress progress = taskDao.getProjectProgress(USER_ID);
+
+        Assert.assertEquals(10, progress.getTotalCount());
+        Assert.assertEquals(9, progress.getCompletedCount());
+        Assert.assertEquals("2024-06-01 10:00", progress.getEarliestPendingDeadline());
+    }
+
+    private long insertAttachment(long taskId) {
+        ContentValues values = new ContentValues();
+        values.put(DatabaseContract.Attachments.COLUMN_TASK_ID, taskId);
+        values.put(DatabaseContract.Attachments.COLUMN_FILE_PATH, "/files/essay.pdf");
+        values.put(DatabaseContract.Attachments.COLUMN_TYPE, "application/pdf");
+        return db.insert(DatabaseContract.Attachments.TABLE_NAME, null, values);
+    }
+
+    private long count(String table, long id) {
+        return DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM " + table + " WHERE _id = ?", new String[]{String.valueOf(id)});
+    }
+}
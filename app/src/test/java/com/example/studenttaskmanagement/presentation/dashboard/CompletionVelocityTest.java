@@ -0,0 +1,58 @@
+package com.example.studenttaskmanagement.presentation.dashboard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class CompletionVelocityTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void steadyPace_hasNoSpread() {
+        int[] daily = new int[30];
+        Arrays.fill(daily, 2);
+
+        CompletionVelocity velocity = new CompletionVelocity(daily);
+
+        Assert.assertEquals(2D, velocity.getWeightedPerDay(), DELTA);
+        Assert.assertEquals(2D, velocity.getLowerPerDay(), DELTA);
+        Assert.assertEquals(2D, velocity.getUpperPerDay(), DELTA);
+        Assert.assertEquals(14, velocity.getCompletedInLast(7));
+        Assert.assertEquals(2D, velocity.getRollingPerDay(14), DELTA);
+    }
+
+    @Test
+    public void recentDays_weighMoreThanOldOnes() {
+        int[] daily = new int[30];
+        daily[29] = 3; // today
+        int[] old = new int[30];
+        old[0] = 3;
+
+        Assert.assertTrue(new CompletionVelocity(daily).getWeightedPerDay()
+                > new CompletionVelocity(old).getWeightedPerDay());
+        Assert.assertEquals(3D / 30D, new CompletionVelocity(daily).getRollingPerDay(30), DELTA);
+    }
+
+    @Test
+    public void bandContainsEstimate_andNeverGoesNegative() {
+        int[] daily = {0, 0, 4, 0, 1, 0, 0, 5, 0, 0, 0, 2, 0, 0};
+
+        CompletionVelocity velocity = new CompletionVelocity(daily);
+
+        Assert.assertTrue(velocity.getLowerPerDay() >= 0D);
+        Assert.assertTrue(velocity.getLowerPerDay() < velocity.getWeightedPerDay());
+        Assert.assertTrue(velocity.getUpperPerDay() > velocity.getWeightedPerDay());
+        Assert.assertEquals(12, velocity.getCompletedInLast(60));
+    }
+
+    @Test
+    public void noHistory_isZero() {
+        CompletionVelocity velocity = new CompletionVelocity(new int[0]);
+
+        Assert.assertEquals(0D, velocity.getWeightedPerDay(), DELTA);
+        Assert.assertEquals(0D, velocity.getUpperPerDay(), DELTA);
+        Assert.assertEquals(0D, velocity.getRollingPerDay(7), DELTA);
+    }
+}
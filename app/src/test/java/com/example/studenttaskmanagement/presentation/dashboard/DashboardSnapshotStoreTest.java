@@ -0,0 +1,52 @@
+package com.example.studenttaskmanagement.presentation.dashboard;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class DashboardSnapshotStoreTest {
+
+    private static final long USER_ID = 7L;
+    private static final long SAVED_AT = 1_700_000_000_000L;
+
+    @Test
+    public void roundTrip_restoresCardsAndForecast() throws IOException {
+        DashboardUiState state = DashboardUiState.content(
+                Arrays.asList(
+                        new DashboardKpiCard("Sessions this week", "4", "+1 vs last week", DashboardKpiCard.Trend.UP),
+                        new DashboardKpiCard("Focused minutes", "95", null, DashboardKpiCard.Trend.NEUTRAL)
+                ),
+                new ProjectCompletionForecast("60%", "~ Mar 30, 2026", "Mar 24, 2026 – Apr 12, 2026", null, true)
+        );
+
+        DashboardUiState restored = DashboardSnapshotStore.decode(fileBytes(state), USER_ID, SAVED_AT);
+
+        Assert.assertNotNull(restored);
+        Assert.assertEquals(DashboardUiState.Status.CONTENT, restored.getStatus());
+        Assert.assertEquals(2, restored.getCards().size());
+        Assert.assertEquals("95", restored.getCards().get(1).getValue());
+        Assert.assertNull(restored.getCards().get(1).getDeltaText());
+        Assert.assertEquals(DashboardKpiCard.Trend.UP, restored.getCards().get(0).getTrend());
+        Assert.assertEquals("~ Mar 30, 2026", restored.getCompletionForecast().getEstimatedCompletionDateText());
+        Assert.assertEquals("Mar 24, 2026 – Apr 12, 2026", restored.getCompletionForecast().getEstimatedRangeText());
+        Assert.assertNull(restored.getCompletionForecast().getVelocityText());
+        Assert.assertTrue(restored.getCompletionForecast().isAtRisk());
+    }
+
+    @Test
+    public void decode_rejectsOtherUserStaleAndCorruptSnapshots() throws IOException {
+        byte[] bytes = fileBytes(DashboardUiState.empty("No study sessions yet this week.", null));
+
+        Assert.assertNull(DashboardSnapshotStore.decode(bytes, USER_ID + 1, SAVED_AT));
+        Assert.assertNull(DashboardSnapshotStore.decode(bytes, USER_ID, SAVED_AT + 1));
+
+        bytes[bytes.length - 1] ^= 0x01;
+        Assert.assertNull(DashboardSnapshotStore.decode(bytes, USER_ID, SAVED_AT));
+    }
+
+    private static byte[] fileBytes(DashboardUiState state) throws IOException {
+        return DashboardSnapshotStore.encode(USER_ID, state, SAVED_AT);
+    }
+}
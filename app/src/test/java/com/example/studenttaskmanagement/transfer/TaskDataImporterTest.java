@@ -0,0 +1,220 @@
+package com.example.studenttaskmanagement.transfer;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.database.dao.StudySessionDao;
+import com.example.studenttaskmanagement.database.dao.TaskArchiveDao;
+import com.example.studenttaskmanagement.database.dao.TaskDao;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class TaskDataImporterTest {
+
+    private static final long USER_ID = 1L;
+    private static final String SOURCE_ID = "content://exports/tasks.json:1234";
+    private static final String DEADLINE = "2024-05-01 10:00";
+    private static final long START = 1_714_550_400_000L;
+    private static final long MINUTE = 60_000L;
+
+    private Context context;
+    private TaskDao taskDao;
+    private StudySessionDao studySessionDao;
+    private ImportCheckpointStore checkpointStore;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        taskDao = new TaskDao(context);
+        studySessionDao = new StudySessionDao(context);
+        checkpointStore = new ImportCheckpointStore(context);
+    }
+
+    @After
+    public void tearDown() {
+        checkpointStore.clear();
+        AppDatabaseHelper.resetSharedInstance();
+        TaskDao.invalidateCache();
+    }
+
+    @Test
+    public void keepExisting_leavesMatchingTaskAndAttachesItsSessions() throws IOException {
+        long existingId = insertExistingTask();
+        String file = export(
+                task(7, "Essay", "imported", TaskStatus.COMPLETED) + "," + task(8, "Lab report", "new", TaskStatus.PENDING),
+                session(7, START) + "," + session(8, START + 60 * MINUTE)
+        );
+
+        TaskDataImporter.Result result = importJson(file, TaskDataImporter.ConflictStrategy.KEEP_EXISTING);
+
+        Assert.assertEquals(1, result.getTasksInserted());
+        Assert.assertEquals(1, result.getTasksSkipped());
+        Assert.assertEquals(0, result.getTasksUpdated());
+        Assert.assertEquals(2, result.getSessionsInserted());
+        Task existing = taskDao.getTaskById(existingId);
+        Assert.assertEquals("old", existing.getDescription());
+        Assert.assertEquals(TaskStatus.PENDING, existing.getStatus());
+        Assert.assertEquals(1, studySessionDao.getSessionsForTask(existingId).size());
+        Assert.assertEquals(2L, taskDao.countTasks(USER_ID));
+    }
+
+    @Test
+    public void replaceExisting_overwritesMatchingTask() throws IOException {
+        long existingId = insertExistingTask();
+        String file = export(task(7, "Essay", "imported", TaskStatus.COMPLETED), session(7, START));
+
+        TaskDataImporter.Result result = importJson(file, TaskDataImporter.ConflictStrategy.REPLACE_EXISTING);
+
+        Assert.assertEquals(0, result.getTasksInserted());
+        Assert.assertEquals(1, result.getTasksUpdated());
+        Task replaced = taskDao.getTaskById(existingId);
+        Assert.assertEquals("imported", replaced.getDescription());
+        Assert.assertEquals(TaskStatus.COMPLETED, replaced.getStatus());
+        Assert.assertEquals(1, studySessionDao.getSessionsForTask(existingId).size());
+        Assert.assertEquals(1L, taskDao.countTasks(USER_ID));
+    }
+
+    @Test
+    public void completedTask_keepsExportedCompletionTime() throws IOException {
+        String file = export(task(1, "Essay", "a", TaskStatus.COMPLETED) + "," + task(2, "Lab report", "b", TaskStatus.PENDING), "");
+
+        importJson(file, TaskDataImporter.ConflictStrategy.KEEP_EXISTING);
+
+        Assert.assertEquals(START, completedAt("Essay"));
+        Assert.assertEquals(0L, completedAt("Lab report"));
+    }
+
+    @Test
+    public void replaceExisting_keepsExportedCompletionTime() throws IOException {
+        long existingId = insertExistingTask();
+        String file = export(task(7, "Essay", "imported", TaskStatus.COMPLETED), "");
+
+        importJson(file, TaskDataImporter.ConflictStrategy.REPLACE_EXISTING);
+
+        Assert.assertEquals(START, completedAt("Essay"));
+        Assert.assertEquals(START, taskDao.getTaskById(existingId).getCompletedAt());
+    }
+
+    @Test
+    public void duplicateKeyWithinOneChunk_resolvesToOneTask() throws IOException {
+        String file = export(
+                task(1, "Quiz", "first", TaskStatus.PENDING) + "," + task(2, "Quiz", "second", TaskStatus.PENDING),
+                session(1, START) + "," + session(2, START + 60 * MINUTE)
+        );
+
+        TaskDataImporter.Result result = importJson(file, TaskDataImporter.ConflictStrategy.KEEP_EXISTING);
+
+        Assert.assertEquals(1, result.getTasksInserted());
+        Assert.assertEquals(1, result.getTasksSkipped());
+        List<Task> tasks = taskDao.getAllTasks(USER_ID);
+        Assert.assertEquals(1, tasks.size());
+        Assert.assertEquals("first", tasks.get(0).getDescription());
+        Assert.assertEquals(2, studySessionDao.getSessionsForTask(tasks.get(0).getId()).size());
+    }
+
+    @Test
+    public void taskMatchingArchivedTask_isSkippedWithItsSessions() throws IOException {
+        taskDao.insertTask(new Task(0L, "Essay", "old", DEADLINE, TaskStatus.COMPLETED, 0L, 0L, USER_ID));
+        Assert.assertEquals(1, new TaskArchiveDao(context).archiveCompletedTasks(System.currentTimeMillis() + 60 * MINUTE).getRows());
+        String file = export(task(7, "Essay", "imported", TaskStatus.COMPLETED), session(7, START));
+
+        TaskDataImporter.Result result = importJson(file, TaskDataImporter.ConflictStrategy.REPLACE_EXISTING);
+
+        Assert.assertEquals(0, result.getTasksInserted());
+        Assert.assertEquals(0, result.getTasksUpdated());
+        Assert.assertEquals(1, result.getTasksSkipped());
+        Assert.assertEquals(1, result.getSessionsSkipped());
+        Assert.assertEquals(0, result.getInvalidRows());
+        Assert.assertEquals(0L, taskDao.countTasks(USER_ID));
+    }
+
+    @Test
+    public void resumeAfterChunkCommittedBeforeCheckpoint_doesNotDuplicateRows() throws IOException {
+        String file = export(
+                task(1, "Essay", "a", TaskStatus.PENDING) + "," + task(2, "Lab report", "b", TaskStatus.COMPLETED),
+                session(1, START) + "," + session(2, START + 60 * MINUTE)
+        );
+        importJson(file, TaskDataImporter.ConflictStrategy.KEEP_EXISTING);
+        long tasksBefore = taskDao.countTasks(USER_ID);
+        long sessionsBefore = studySessionDao.countSessions(USER_ID);
+
+        // Everything is committed, but the last saved checkpoint only covers the first task.
+        checkpointStore.save(SOURCE_ID, USER_ID, TaskDataImporter.ConflictStrategy.KEEP_EXISTING, 1L, 0L);
+        TaskDataImporter.Result resumed = importJson(file, TaskDataImporter.ConflictStrategy.KEEP_EXISTING);
+
+        Assert.assertEquals(1L, resumed.getResumedRows());
+        Assert.assertEquals(0, resumed.getTasksInserted());
+        Assert.assertEquals(0, resumed.getSessionsInserted());
+        Assert.assertEquals(2, resumed.getSessionsSkipped());
+        Assert.assertEquals(tasksBefore, taskDao.countTasks(USER_ID));
+        Assert.assertEquals(sessionsBefore, studySessionDao.countSessions(USER_ID));
+        Assert.assertNull(checkpointStore.load(SOURCE_ID, USER_ID, TaskDataImporter.ConflictStrategy.KEEP_EXISTING));
+    }
+
+    @Test
+    public void checkpoint_onlyAppliesToSameUserAndStrategy() {
+        checkpointStore.save(SOURCE_ID, USER_ID, TaskDataImporter.ConflictStrategy.KEEP_EXISTING, 500L, 0L);
+
+        Assert.assertEquals(500L, checkpointStore.load(SOURCE_ID, USER_ID, TaskDataImporter.ConflictStrategy.KEEP_EXISTING).getTasksProcessed());
+        Assert.assertNull(checkpointStore.load(SOURCE_ID, USER_ID, TaskDataImporter.ConflictStrategy.REPLACE_EXISTING));
+        Assert.assertNull(checkpointStore.load(SOURCE_ID, USER_ID + 1L, TaskDataImporter.ConflictStrategy.KEEP_EXISTING));
+        Assert.assertNull(checkpointStore.load("other" + SOURCE_ID, USER_ID, TaskDataImporter.ConflictStrategy.KEEP_EXISTING));
+    }
+
+    private long completedAt(String title) {
+        return DatabaseUtils.longForQuery(
+                AppDatabaseHelper.getInstance(context).getReadableDatabase(),
+                "SELECT IFNULL(" + DatabaseContract.Tasks.COLUMN_COMPLETED_AT + ", 0) FROM " + DatabaseContract.Tasks.TABLE_NAME
+                        + " WHERE " + DatabaseContract.Tasks.COLUMN_TITLE + " = ?",
+                new String[]{title}
+        );
+    }
+
+    private long insertExistingTask() {
+        return taskDao.insertTask(new Task(0L, "Essay", "old", DEADLINE, TaskStatus.PENDING, 0L, 0L, USER_ID));
+    }
+
+    private TaskDataImporter.Result importJson(String json, TaskDataImporter.ConflictStrategy strategy) throws IOException {
+        InputStream input = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        return new TaskDataImporter(context).importJson(input, SOURCE_ID, USER_ID, strategy, null, null);
+    }
+
+    private static String export(String tasks, String sessions) {
+        return "{\"version\":" + TaskDataExporter.FORMAT_VERSION
+                + ",\"tasks\":[" + tasks + "],\"sessions\":[" + sessions + "]}";
+    }
+
+    private static String task(long id, String title, String description, int status) {
+        return "{\"id\":" + id + ",\"title\":\"" + title + "\",\"description\":\"" + description
+                + "\",\"deadline\":\"" + DEADLINE + "\",\"status\":" + status
+                + ",\"categoryId\":null,\"priorityId\":null,\"completedAt\":"
+                + (status == TaskStatus.COMPLETED ? String.valueOf(START) : "null") + "}";
+    }
+
+    private static String session(long taskId, long startTime) {
+        return "{\"id\":" + startTime + ",\"taskId\":" + taskId + ",\"startTime\":" + startTime
+                + ",\"endTime\":" + (startTime + 30 * MINUTE) + ",\"duration\":" + 30 * MINUTE + "}";
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.studenttaskmanagement.analytics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics over in-memory session columns; roughly 3 sessions a day, so 100000 rows is ~90 years.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionStatisticsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private final ZoneId zone = ZoneId.of("Europe/Berlin");
+    private SessionColumns columns;
+    private long nowMillis;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        columns = new SessionColumns(rows);
+        long start = 1_000_000_000_000L;
+        for (int i = 0; i < rows; i++) {
+            long duration = (5L + random.nextInt(115)) * 60_000L;
+            boolean ended = random.nextInt(20) != 0;
+            columns.add(start, ended ? start + duration : 0L, ended ? duration : 0L, 1L + random.nextInt(200));
+            start += duration + (1L + random.nextInt(14)) * 3_600_000L;
+        }
+        nowMillis = start;
+    }
+
+    @Benchmark
+    public long[] durationPercentiles() {
+        return SessionStatistics.durationPercentiles(columns, 50D, 90D, 99D);
+    }
+
+    @Benchmark
+    public int[] durationHistogram() {
+        return SessionStatistics.durationHistogram(columns, 15L * 60_000L, 8);
+    }
+
+    @Benchmark
+    public long[] focusByHourOfDay() {
+        return SessionStatistics.focusByHourOfDay(columns, zone);
+    }
+
+    @Benchmark
+    public SessionStatistics.Streaks streaks() {
+        return SessionStatistics.streaks(columns, zone, nowMillis);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.studenttaskmanagement.benchmark;
+
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Deterministic task data for benchmarks, so runs on different commits see the same input.
+ */
+public final class BenchmarkData {
+
+    private static final String[] WORDS = {
+            "essay", "lab", "report", "quiz", "reading", "project", "exam", "review",
+            "math", "physics", "history", "chemistry", "draft", "final", "group", "notes"
+    };
+
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Tasks with deadlines spread over roughly -30..+60 days around now,
+     * about a third completed and a few with missing or malformed deadlines.
+     */
+    public static List<Task> tasks(int count, long seed) {
+        Random random = new Random(seed);
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.US);
+        long now = System.currentTimeMillis();
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId(i + 1L);
+            task.setTitle(words(random, 2 + random.nextInt(3)));
+            task.setDescription(words(random, 5 + random.nextInt(10)));
+
+            int roll = random.nextInt(50);
+            if (roll == 0) {
+                task.setDeadline(null);
+            } else if (roll == 1) {
+                task.setDeadline("tomorrow-ish");
+            } else {
+                long offset = (long) ((random.nextDouble() * 90D - 30D) * DAY_MILLIS);
+                task.setDeadline(format.format(new Date(now + offset)));
+            }
+
+            task.setStatus(random.nextInt(3) == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING);
+            task.setCategoryId(1L + random.nextInt(5));
+            task.setPriorityId(1L + random.nextInt(3));
+            task.setUserId(1L);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import android.database.MatrixCursor;
+
+import com.example.studenttaskmanagement.analytics.SessionColumns;
+import com.example.studenttaskmanagement.benchmark.BenchmarkData;
+import com.example.studenttaskmanagement.database.DatabaseContract;
+import com.example.studenttaskmanagement.model.StudySession;
+import com.example.studenttaskmanagement.model.Task;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning cursor rows into models, without SQLite itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CursorMappingBenchmark {
+
+    private static final String[] TASK_COLUMNS = {
+            DatabaseContract.Tasks._ID,
+            DatabaseContract.Tasks.COLUMN_TITLE,
+            DatabaseContract.Tasks.COLUMN_DESCRIPTION,
+            DatabaseContract.Tasks.COLUMN_DEADLINE,
+            DatabaseContract.Tasks.COLUMN_STATUS,
+            DatabaseContract.Tasks.COLUMN_CATEGORY_ID,
+            DatabaseContract.Tasks.COLUMN_PRIORITY_ID,
+            DatabaseContract.Tasks.COLUMN_USER_ID
+    };
+
+    private static final String[] SESSION_COLUMNS = {
+            DatabaseContract.StudySessions._ID,
+            DatabaseContract.StudySessions.COLUMN_TASK_ID,
+            DatabaseContract.StudySessions.COLUMN_START_TIME,
+            DatabaseContract.StudySessions.COLUMN_END_TIME,
+            DatabaseContract.StudySessions.COLUMN_DURATION
+    };
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private MatrixCursor taskCursor;
+    private MatrixCursor sessionCursor;
+
+    @Setup
+    public void setUp() {
+        List<Task> tasks = BenchmarkData.tasks(rows, 7L);
+        taskCursor = new MatrixCursor(TASK_COLUMNS, rows);
+        for (Task task : tasks) {
+            taskCursor.addRow(new Object[]{
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDescription(),
+                    task.getDeadline(),
+                    task.getStatus(),
+                    task.getCategoryId(),
+                    task.getPriorityId(),
+                    task.getUserId()
+            });
+        }
+
+        sessionCursor = new MatrixCursor(SESSION_COLUMNS, rows);
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < rows; i++) {
+            long duration = 5L * 60_000L + (i % 90) * 60_000L;
+            sessionCursor.addRow(new Object[]{i + 1L, (i % 50) + 1L, start, start + duration, duration});
+            start += duration + 3_600_000L;
+        }
+    }
+
+    @Benchmark
+    public void mapTasks(Blackhole blackhole) {
+        taskCursor.moveToPosition(-1);
+        while (taskCursor.moveToNext()) {
+            Task task = TaskDao.mapCursorToTask(taskCursor);
+            blackhole.consume(task);
+        }
+    }
+
+    @Benchmark
+    public void mapSessions(Blackhole blackhole) {
+        sessionCursor.moveToPosition(-1);
+        while (sessionCursor.moveToNext()) {
+            StudySession session = StudySessionDao.mapCursorToStudySession(sessionCursor);
+            blackhole.consume(session);
+        }
+    }
+
+    @Benchmark
+    public SessionColumns loadSessionColumns() {
+        sessionCursor.moveToPosition(-1);
+        return SessionColumns.fromCursor(sessionCursor);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.model.StudySession;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * StudySessionDao without a database; every query returns no sessions.
+ */
+public class FakeStudySessionDao extends StudySessionDao {
+
+    public FakeStudySessionDao() {
+        super((AppDatabaseHelper) null);
+    }
+
+    @Override
+    public List<StudySession> getSessionsInRange(long startMillisInclusive, long endMillisExclusive) {
+        return Collections.emptyList();
+    }
+}
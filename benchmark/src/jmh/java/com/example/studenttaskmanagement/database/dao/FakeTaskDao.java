@@ -0,0 +1,73 @@
+package com.example.studenttaskmanagement.database.dao;
+
+import com.example.studenttaskmanagement.database.AppDatabaseHelper;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TaskDao that serves a fixed list from memory instead of SQLite.
+ *
+ * The aggregates are computed once up front, as SQLite answers them from its indexes. Completed
+ * tasks count as completed at their deadline (the same backfill the version 7 migration uses),
+ * bucketed over the days before construction; the requested bounds are ignored.
+ */
+public class FakeTaskDao extends TaskDao {
+
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+    private static final int HISTORY_DAYS = 30;
+
+    private final List<Task> tasks;
+    private final ProjectProgress progress;
+    private final int[] dailyCompletions = new int[HISTORY_DAYS];
+
+    public FakeTaskDao(List<Task> tasks) {
+        super((AppDatabaseHelper) null);
+        this.tasks = tasks;
+
+        int completed = 0;
+        String earliestPendingDeadline = null;
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.US);
+        long windowStart = System.currentTimeMillis() - HISTORY_DAYS * DAY_MILLIS;
+        for (Task task : tasks) {
+            String deadline = task.getDeadline();
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                completed++;
+                long day = (parse(format, deadline) - windowStart) / DAY_MILLIS;
+                if (day >= 0 && day < HISTORY_DAYS) dailyCompletions[(int) day]++;
+            } else if (deadline != null && !deadline.isEmpty()
+                    && (earliestPendingDeadline == null || deadline.compareTo(earliestPendingDeadline) < 0)) {
+                earliestPendingDeadline = deadline;
+            }
+        }
+        this.progress = new ProjectProgress(tasks.size(), completed, earliestPendingDeadline);
+    }
+
+    @Override
+    public List<Task> getAllTasks(long userId) {
+        return tasks;
+    }
+
+    @Override
+    public ProjectProgress getProjectProgress(long userId) {
+        return progress;
+    }
+
+    @Override
+    public int[] getDailyCompletionCounts(long userId, long endMillisExclusive, int days) {
+        return dailyCompletions;
+    }
+
+    private static long parse(SimpleDateFormat format, String deadline) {
+        if (deadline == null) return -1L;
+        try {
+            return format.parse(deadline).getTime();
+        } catch (ParseException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.studenttaskmanagement.presentation.dashboard;
+
+import com.example.studenttaskmanagement.benchmark.BenchmarkData;
+import com.example.studenttaskmanagement.database.dao.FakeStudySessionDao;
+import com.example.studenttaskmanagement.database.dao.FakeTaskDao;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardViewModel.buildProjectForecast over a pre-aggregated in-memory task list. Since the
+ * forecast reads aggregates, the score should stay flat across task counts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectForecastBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int tasks;
+
+    private DashboardViewModel viewModel;
+
+    @Setup
+    public void setUp() {
+        viewModel = new DashboardViewModel(
+                new FakeStudySessionDao(),
+                new FakeTaskDao(BenchmarkData.tasks(tasks, 11L))
+        );
+    }
+
+    @Benchmark
+    public ProjectCompletionForecast buildProjectForecast() {
+        return viewModel.buildProjectForecast(1L);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.studenttaskmanagement.presentation.tasks;
+
+import com.example.studenttaskmanagement.benchmark.BenchmarkData;
+import com.example.studenttaskmanagement.model.Task;
+import com.example.studenttaskmanagement.model.TaskStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search filtering as done by TasksActivity.applyFilter, once per keystroke.
+ * Rows are built directly because TaskRowModelFactory needs a Context for its colours; their
+ * search text comes from the same {@link TaskRowModel#buildSearchText} the factory uses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskFilterBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int tasks;
+
+    @Param({"", "lab", "physics final", "zzz"})
+    public String query;
+
+    private final List<TaskRowModel> rows = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        rows.clear();
+        for (Task task : BenchmarkData.tasks(tasks, 13L)) {
+            rows.add(new TaskRowModel(
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDeadline() != null ? task.getDeadline() : "No deadline",
+                    null,
+                    TaskStatus.getLabel(task.getStatus()),
+                    "Priority: Low",
+                    0,
+                    TaskRowModel.buildSearchText(task.getTitle(), task.getDescription(), task.getDeadline())
+            ));
+        }
+    }
+
+    @Benchmark
+    public List<TaskRowModel> filterRows() {
+        return TaskRowFilter.filter(rows, TaskRowFilter.normalizeQuery(query));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.studenttaskmanagement.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordUtilsBenchmark {
+
+    @Param({"8", "64"})
+    public int passwordLength;
+
+    private String password;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < passwordLength; i++) {
+            sb.append((char) ('a' + (i % 26)));
+        }
+        password = sb.toString();
+    }
+
+    @Benchmark
+    public String sha256() {
+        return PasswordUtils.sha256(password);
+    }
+}
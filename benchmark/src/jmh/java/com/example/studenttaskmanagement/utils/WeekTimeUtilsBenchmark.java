@@ -0,0 +1,54 @@
+package com.example.studenttaskmanagement.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WeekTimeUtilsBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final long[] instants = new long[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        long now = System.currentTimeMillis();
+        long year = 365L * 24L * 60L * 60L * 1000L;
+        for (int i = 0; i < SAMPLES; i++) {
+            instants[i] = now - year + (long) (random.nextDouble() * 2 * year);
+        }
+    }
+
+    @Benchmark
+    public WeekTimeUtils.WeekRange weekRangeFor() {
+        next = (next + 1) & (SAMPLES - 1);
+        return WeekTimeUtils.getWeekRangeFor(instants[next]);
+    }
+
+    @Benchmark
+    public WeekTimeUtils.WeekRange currentWeekRange() {
+        return WeekTimeUtils.getCurrentWeekRange();
+    }
+
+    @Benchmark
+    public WeekTimeUtils.WeekRange previousWeekRange() {
+        return WeekTimeUtils.getPreviousWeekRange();
+    }
+
+    @Benchmark
+    public WeekTimeUtils.WeekRange[] twelveWeekRanges() {
+        return WeekTimeUtils.getWeekRanges(System.currentTimeMillis(), 12);
+    }
+}